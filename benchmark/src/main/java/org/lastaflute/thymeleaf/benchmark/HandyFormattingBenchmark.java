@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.lastaflute.thymeleaf.expression.HandyDateExpressionObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The benchmark of #handy date formatting for table cells: format() per cell vs formatProperty() for all rows. <br>
+ * The score is average time per cell (operations per invocation is the row count).
+ * <pre>
+ * e.g. java -jar target/benchmarks.jar HandyFormattingBenchmark -p pattern=yyyy/MM/dd
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandyFormattingBenchmark {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int ROW_COUNT = 1000; // operations per invocation needs constant
+
+    // ===================================================================================
+    //                                                                           Parameter
+    //                                                                           =========
+    @Param({ "yyyy/MM/dd", "yyyy-MM-dd HH:mm" })
+    public String pattern;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected HandyDateExpressionObject handy;
+    protected List<OrderRow> rowList;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup(Level.Trial)
+    public void setup() {
+        handy = new HandyDateExpressionObject();
+        rowList = new ArrayList<OrderRow>(ROW_COUNT);
+        final LocalDate baseDate = LocalDate.of(2006, 9, 26);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            final OrderRow row = new OrderRow();
+            row.orderDate = i % 10 == 0 ? null : baseDate.plusDays(i); // some empty cells
+            rowList.add(row);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    /**
+     * Format each cell by #handy.format(), same as th:text="${#handy.format(row.orderDate, 'yyyy/MM/dd')}" in th:each.
+     * @param blackhole The consumer of formatted cells. (NotNull)
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void formatPerCell(Blackhole blackhole) {
+        for (OrderRow row : rowList) {
+            blackhole.consume(handy.format(row.orderDate, pattern));
+        }
+    }
+
+    /**
+     * Format all cells by #handy.formatProperty() at once, and the list is read in th:each.
+     * @return The list of formatted cells, consumed by JMH. (NotNull)
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public List<String> formatProperty() {
+        return handy.formatProperty(rowList, "orderDate", pattern);
+    }
+
+    public static class OrderRow {
+
+        public LocalDate orderDate;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.lastaflute.thymeleaf.benchmark.support.BenchmarkRendering;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of rendering pipeline: ThymeleafHtmlRenderer with Lasta dialect processors. <br>
+ * Throughput and latency percentiles (sample time) are reported, and allocation per operation with GC profiler.
+ * <pre>
+ * templatePath:
+ *  form.html           : form with many la:property fields, la:errors and la:optionCls select
+ *  errors.html         : la:errors blocks with validation errors
+ *  classification.html : la:optionCls selects, #cls and #handy expressions
+ *  table.html          : large th:each table with #cls and #handy in each row
+ *  plain.html          : large th:each table without Lasta attributes (overhead of Lasta processors for other elements)
+ *
+ * processorMode:
+ *  rewriting : default, Lasta attributes are rewritten to th:* attributes
+ *  direct    : generated expressions are evaluated directly (evaluateGeneratedExpressionDirectly())
+ *  unified   : one processor pass for Lasta attributes of one element (unifyLastaProcessors())
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RenderingBenchmark {
+
+    // ===================================================================================
+    //                                                                           Parameter
+    //                                                                           =========
+    @Param({ "form.html", "errors.html", "classification.html", "table.html", "plain.html" })
+    public String templatePath;
+
+    @Param({ "rewriting", "direct", "unified" })
+    public String processorMode;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected BenchmarkRendering rendering;
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    @Setup(Level.Trial)
+    public void setup() {
+        rendering = new BenchmarkRendering(prepareDialectSetupper());
+        render(); // fails fast if broken template or stand-in
+    }
+
+    protected Consumer<LastaThymeleafDialect> prepareDialectSetupper() {
+        if ("rewriting".equals(processorMode)) {
+            return null; // default
+        } else if ("direct".equals(processorMode)) {
+            return dialect -> dialect.evaluateGeneratedExpressionDirectly();
+        } else if ("unified".equals(processorMode)) {
+            return dialect -> dialect.unifyLastaProcessors();
+        } else {
+            throw new IllegalStateException("Unknown processor mode: " + processorMode);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Benchmark
+    //                                                                           =========
+    /**
+     * Render the template as one request, including request creation and errors export.
+     * @return The rendered HTML, consumed by JMH. (NotNull)
+     */
+    @Benchmark
+    public String render() {
+        return rendering.render(templatePath);
+    }
+
+    // for checking rendered HTML of templates without JMH
+    public static void main(String[] args) {
+        final RenderingBenchmark benchmark = new RenderingBenchmark();
+        benchmark.templatePath = args.length > 0 ? args[0] : "form.html";
+        benchmark.processorMode = args.length > 1 ? args[1] : "rewriting";
+        benchmark.setup();
+        System.out.println(benchmark.render());
+    }
+}
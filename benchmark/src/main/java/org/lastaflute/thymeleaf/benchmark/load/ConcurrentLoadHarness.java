@@ -0,0 +1,292 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.lastaflute.thymeleaf.benchmark.support.BenchmarkRendering;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The concurrent load-test harness of rendering, which renders through the rendering provider from N threads. <br>
+ * Each request provides a renderer from the provider (so lazy initialization of engine is also contended),
+ * and renders the templates in rotation. Rendered HTML is verified with the single-thread result.
+ * <pre>
+ * java -cp target/benchmarks.jar org.lastaflute.thymeleaf.benchmark.load.ConcurrentLoadHarness
+ *   -threads 1,2,4,8,16,32,64  : thread counts of steps (default)
+ *   -duration 3000             : measurement milliseconds per step (after warm-up of each step)
+ *   -warmup 1000               : warm-up milliseconds per step
+ *   -minEfficiency 0.5         : fails (exit code 1) if scaling efficiency is lower within CPU cores (default 0: no check)
+ *   -minRetention 0.7          : fails if throughput over CPU cores is lower than this ratio of the best (default 0: no check)
+ *
+ * In CI, 'mvn test' of this module runs short steps by ConcurrentLoadHarnessTest (see the test for options).
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ConcurrentLoadHarness {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentLoadHarness.class);
+
+    public static final List<Integer> DEFAULT_THREAD_COUNTS = Arrays.asList(1, 2, 4, 8, 16, 32, 64);
+    public static final List<String> DEFAULT_TEMPLATE_PATHS =
+            Arrays.asList("form.html", "errors.html", "classification.html", "table.html", "plain.html");
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final BenchmarkRendering rendering;
+    protected final List<String> templatePathList;
+    protected final Map<String, String> expectedHtmlMap = new LinkedHashMap<String, String>(); // single-thread result
+    protected long warmupMillis = 1000L;
+    protected long durationMillis = 3000L;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ConcurrentLoadHarness(BenchmarkRendering rendering, List<String> templatePathList) {
+        this.rendering = rendering;
+        this.templatePathList = templatePathList;
+    }
+
+    public ConcurrentLoadHarness warmupMillis(long warmupMillis) {
+        this.warmupMillis = warmupMillis;
+        return this;
+    }
+
+    public ConcurrentLoadHarness durationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                                Run
+    //                                                                                ===
+    /**
+     * Run the load steps of the thread counts in order.
+     * @param threadCountList The list of thread count for each step, e.g. 1, 2, 4. (NotNull)
+     * @return The list of step result, same order as the thread counts. (NotNull)
+     */
+    public List<LoadResult> runScaling(List<Integer> threadCountList) {
+        prepareExpectedHtml();
+        final List<LoadResult> resultList = new ArrayList<LoadResult>();
+        for (Integer threadCount : threadCountList) {
+            runStep(threadCount, warmupMillis); // JIT and caches for the thread count
+            final LoadResult result = runStep(threadCount, durationMillis);
+            resultList.add(result);
+        }
+        return resultList;
+    }
+
+    protected void prepareExpectedHtml() {
+        if (!expectedHtmlMap.isEmpty()) {
+            return;
+        }
+        for (String templatePath : templatePathList) {
+            expectedHtmlMap.put(templatePath, rendering.render(templatePath)); // also fails fast if broken
+        }
+    }
+
+    protected LoadResult runStep(int threadCount, long millis) {
+        final ExecutorService service = Executors.newFixedThreadPool(threadCount);
+        try {
+            final CountDownLatch ready = new CountDownLatch(threadCount);
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Long>> futureList = new ArrayList<Future<Long>>();
+            final long[] deadline = new long[1]; // set before start (visible by latch)
+            for (int i = 0; i < threadCount; i++) {
+                final int offset = i; // each thread starts from different template
+                futureList.add(service.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return renderUntil(deadline[0], offset);
+                }));
+            }
+            ready.await();
+            final long begin = System.nanoTime();
+            deadline[0] = begin + TimeUnit.MILLISECONDS.toNanos(millis);
+            start.countDown();
+            long totalCount = 0L;
+            for (Future<Long> future : futureList) {
+                totalCount += future.get(); // throws if broken rendering
+            }
+            final long elapsed = System.nanoTime() - begin;
+            return new LoadResult(threadCount, totalCount, elapsed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted the load step: threads=" + threadCount, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render in the load step: threads=" + threadCount, e.getCause());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    protected long renderUntil(long deadline, int offset) {
+        final int templateSize = templatePathList.size();
+        long count = 0L;
+        while (System.nanoTime() < deadline) {
+            final String templatePath = templatePathList.get((int) ((count + offset) % templateSize));
+            final String html = rendering.render(templatePath); // renderer is provided per request
+            if (!html.equals(expectedHtmlMap.get(templatePath))) { // e.g. broken shared cache
+                throw new IllegalStateException("Different HTML from single-thread rendering: " + templatePath);
+            }
+            ++count;
+        }
+        return count;
+    }
+
+    // ===================================================================================
+    //                                                                              Result
+    //                                                                              ======
+    public static class LoadResult {
+
+        protected final int threadCount;
+        protected final long renderCount;
+        protected final long elapsedNanos;
+
+        public LoadResult(int threadCount, long renderCount, long elapsedNanos) {
+            this.threadCount = threadCount;
+            this.renderCount = renderCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getThroughput() { // renders per second
+            return renderCount / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        public int getThreadCount() {
+            return threadCount;
+        }
+
+        public long getRenderCount() {
+            return renderCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Verify scalability of the results, and returns the problems.
+     * @param resultList The list of step result, the first is basis of efficiency (basically one thread). (NotNull)
+     * @param coreCount The count of CPU cores, efficiency is checked within it. (NotNull)
+     * @param minEfficiency The minimum efficiency, speed-up per thread. (zero means no check)
+     * @param minRetention The minimum ratio of throughput over cores to the best one. (zero means no check)
+     * @return The list of problem messages. (NotNull, EmptyAllowed: no problem)
+     */
+    public static List<String> verifyScaling(List<LoadResult> resultList, int coreCount, double minEfficiency, double minRetention) {
+        final List<String> problemList = new ArrayList<String>();
+        if (resultList.isEmpty()) {
+            return problemList;
+        }
+        final LoadResult basis = resultList.get(0);
+        double bestThroughput = 0.0;
+        for (LoadResult result : resultList) {
+            if (result.getThreadCount() <= coreCount) {
+                final double efficiency = calculateEfficiency(basis, result, coreCount);
+                if (efficiency < minEfficiency) {
+                    problemList.add(String.format("efficiency %.2f < %.2f at %d threads", efficiency, minEfficiency, result.getThreadCount()));
+                }
+            }
+            bestThroughput = Math.max(bestThroughput, result.getThroughput());
+        }
+        for (LoadResult result : resultList) {
+            if (result.getThreadCount() > coreCount) {
+                final double retention = result.getThroughput() / bestThroughput;
+                if (retention < minRetention) {
+                    problemList.add(String.format("retention %.2f < %.2f at %d threads", retention, minRetention, result.getThreadCount()));
+                }
+            }
+        }
+        return problemList;
+    }
+
+    public static double calculateEfficiency(LoadResult basis, LoadResult result, int coreCount) {
+        final int basisThreads = basis.getThreadCount();
+        final double idealSpeedup = (double) Math.min(result.getThreadCount(), coreCount) / Math.min(basisThreads, coreCount);
+        return (result.getThroughput() / basis.getThroughput()) / idealSpeedup;
+    }
+
+    public static String buildReport(List<LoadResult> resultList, int coreCount) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%8s %12s %10s %10s %12s", "threads", "renders/s", "speedup", "efficiency", "renders"));
+        if (resultList.isEmpty()) {
+            return sb.toString();
+        }
+        final LoadResult basis = resultList.get(0);
+        for (LoadResult result : resultList) {
+            sb.append("\n");
+            sb.append(String.format("%8d %12.1f %10.2f %10.2f %12d", result.getThreadCount(), result.getThroughput(),
+                    result.getThroughput() / basis.getThroughput(), calculateEfficiency(basis, result, coreCount), result.getRenderCount()));
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                                Main
+    //                                                                                ====
+    public static void main(String[] args) {
+        final Map<String, String> optionMap = new LinkedHashMap<String, String>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            optionMap.put(args[i], args[i + 1]); // e.g. -threads 1,2,4
+        }
+        final List<Integer> threadCountList = parseThreadCounts(optionMap.get("-threads"));
+        final ConcurrentLoadHarness harness = new ConcurrentLoadHarness(new BenchmarkRendering(null), DEFAULT_TEMPLATE_PATHS);
+        harness.warmupMillis(Long.parseLong(optionMap.getOrDefault("-warmup", "1000")));
+        harness.durationMillis(Long.parseLong(optionMap.getOrDefault("-duration", "3000")));
+        final double minEfficiency = Double.parseDouble(optionMap.getOrDefault("-minEfficiency", "0"));
+        final double minRetention = Double.parseDouble(optionMap.getOrDefault("-minRetention", "0"));
+
+        final int coreCount = Runtime.getRuntime().availableProcessors();
+        final List<LoadResult> resultList = harness.runScaling(threadCountList);
+        logger.info("cores: {}, templates: {}\n{}", coreCount, DEFAULT_TEMPLATE_PATHS, buildReport(resultList, coreCount));
+        final List<String> problemList = verifyScaling(resultList, coreCount, minEfficiency, minRetention);
+        if (!problemList.isEmpty()) {
+            problemList.forEach(problem -> logger.error("*Scalability regression: {}", problem));
+            System.exit(1);
+        }
+    }
+
+    protected static List<Integer> parseThreadCounts(String option) {
+        if (option == null) {
+            return DEFAULT_THREAD_COUNTS;
+        }
+        final List<Integer> threadCountList = new ArrayList<Integer>();
+        for (String element : option.split(",")) {
+            threadCountList.add(Integer.valueOf(element.trim()));
+        }
+        return threadCountList;
+    }
+}
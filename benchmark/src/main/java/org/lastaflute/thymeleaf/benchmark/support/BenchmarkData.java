@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.jdbc.Classification;
+import org.lastaflute.core.message.UserMessage;
+import org.lastaflute.core.message.UserMessages;
+
+/**
+ * The data of representative templates for benchmarks, e.g. form properties, validation errors, table rows.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class BenchmarkData {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int FIELD_COUNT = 30; // same as form.html
+    public static final int ERROR_FIELD_COUNT = 10; // first fields have errors
+    public static final int ROW_COUNT = 300; // rows of table.html and plain.html
+
+    // ===================================================================================
+    //                                                                                Data
+    //                                                                                ====
+    /**
+     * @param classification The stand-in classification for classification properties. (NotNull)
+     * @return The map of form properties and data for all templates. (NotNull)
+     */
+    public static Map<String, Object> preparePropertyMap(StandInClassification classification) {
+        final Map<String, Object> propertyMap = new LinkedHashMap<String, Object>();
+        propertyMap.put("title", "Lasta Thymeleaf Benchmark");
+        for (int i = 1; i <= FIELD_COUNT; i++) {
+            propertyMap.put(toFieldName(i), "value of field" + i + " <&>"); // also escaped
+        }
+        propertyMap.put("memberStatus", classification.codeOf(StandInClassification.MEMBER_STATUS, "PRV"));
+        propertyMap.put("serviceRank", classification.codeOf(StandInClassification.SERVICE_RANK, "GLD"));
+        propertyMap.put("birthdate", LocalDate.of(2001, 9, 4));
+        propertyMap.put("memberList", prepareMemberList(classification));
+        return propertyMap;
+    }
+
+    public static String toFieldName(int number) {
+        return String.format("field%02d", number);
+    }
+
+    protected static List<MemberRow> prepareMemberList(StandInClassification classification) {
+        final List<Classification> statusList = classification.listAll(StandInClassification.MEMBER_STATUS);
+        final List<Classification> rankList = classification.listAll(StandInClassification.SERVICE_RANK);
+        final List<MemberRow> memberList = new ArrayList<MemberRow>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            final MemberRow row = new MemberRow();
+            row.memberId = i;
+            row.memberName = "member" + i;
+            row.memberAccount = "account" + i;
+            row.birthdate = LocalDate.of(1970, 1, 1).plusDays(i * 37);
+            row.memberStatus = statusList.get(i % statusList.size());
+            row.serviceRank = rankList.get(i % rankList.size());
+            row.purchaseCount = i * 3;
+            memberList.add(row);
+        }
+        return memberList;
+    }
+
+    /**
+     * @return The new-created validation errors for first fields (two messages each), e.g. for la:errors. (NotNull)
+     */
+    public static UserMessages prepareErrors() {
+        final UserMessages errors = new UserMessages();
+        for (int i = 1; i <= ERROR_FIELD_COUNT; i++) {
+            errors.add(toFieldName(i), new UserMessage("constraints.Required.message"));
+            errors.add(toFieldName(i), new UserMessage("constraints.Length.message", 1, 64));
+        }
+        return errors;
+    }
+
+    // ===================================================================================
+    //                                                                           Row Bean
+    //                                                                           ========
+    public static class MemberRow {
+
+        public Integer memberId;
+        public String memberName;
+        public String memberAccount;
+        public LocalDate birthdate;
+        public Classification memberStatus;
+        public Classification serviceRank;
+        public Integer purchaseCount;
+    }
+}
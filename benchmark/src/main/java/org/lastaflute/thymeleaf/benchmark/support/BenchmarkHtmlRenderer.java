@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.util.Map;
+
+import org.lastaflute.thymeleaf.ThymeleafHtmlRenderer;
+import org.lastaflute.web.servlet.request.RequestManager;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+/**
+ * The HTML renderer for benchmarks, which renders by the same flow as render() without action runtime. <br>
+ * Form properties are exported from the data map, and the response body is returned instead of writing.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class BenchmarkHtmlRenderer extends ThymeleafHtmlRenderer {
+
+    public BenchmarkHtmlRenderer(TemplateEngine templateEngine) {
+        super(templateEngine);
+    }
+
+    /**
+     * @param requestManager The stand-in request manager of the request. (NotNull)
+     * @param templatePath The path of template from template prefix, e.g. form.html. (NotNull)
+     * @param propertyMap The map of form properties and data exported to template. (NotNull)
+     * @return The rendered HTML. (NotNull)
+     */
+    public String renderHtml(RequestManager requestManager, String templatePath, Map<String, Object> propertyMap) {
+        final WebContext context = createTemplateContext(requestManager);
+        exportErrorsToContext(requestManager, context, /*runtime*/null); // runtime is used only for exception message
+        propertyMap.forEach((key, value) -> context.setVariable(key, value));
+        return templateEngine.process(templatePath, context);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.lastaflute.core.message.UserMessages;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.web.LastaWebKey;
+import org.lastaflute.web.servlet.request.RequestManager;
+
+/**
+ * The rendering of one request for benchmarks and tests, through the rendering provider with stand-in objects. <br>
+ * The data of templates is same for all requests, and validation errors exist as request attribute.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class BenchmarkRendering {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final BenchmarkRenderingProvider provider;
+    protected final InMemoryServletStandIn standIn;
+    protected final Map<String, Object> propertyMap;
+    protected final UserMessages errors;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param dialectSetupper The set-upper of Lasta dialect e.g. dialect.evaluateGeneratedExpressionDirectly(). (NullAllowed: default dialect)
+     */
+    public BenchmarkRendering(Consumer<LastaThymeleafDialect> dialectSetupper) {
+        final StandInClassification classification = new StandInClassification();
+        provider = new BenchmarkRenderingProvider(classification);
+        if (dialectSetupper != null) {
+            provider.customizeLastaDialect(dialectSetupper);
+        }
+        standIn = new InMemoryServletStandIn();
+        propertyMap = BenchmarkData.preparePropertyMap(classification);
+        errors = BenchmarkData.prepareErrors();
+    }
+
+    // ===================================================================================
+    //                                                                              Render
+    //                                                                              ======
+    /**
+     * Render the template as one request, including request creation and renderer providing.
+     * @param templatePath The path of template from template prefix, e.g. form.html. (NotNull)
+     * @return The rendered HTML. (NotNull)
+     */
+    public String render(String templatePath) {
+        final HttpServletRequest request = standIn.newRequest();
+        final HttpServletResponse response = standIn.newResponse();
+        request.setAttribute(LastaWebKey.ACTION_ERRORS_KEY, errors); // same as validation error
+        final RequestManager requestManager = standIn.newRequestManager(request, response, Locale.ENGLISH);
+        final BenchmarkHtmlRenderer renderer = provider.provideHtmlRenderer(); // per request like action
+        return renderer.renderHtml(requestManager, templatePath, propertyMap);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
+import org.lastaflute.thymeleaf.ThymeleafRenderingProvider;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex;
+import org.lastaflute.thymeleaf.expression.HandyDateExpressionObject;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+
+/**
+ * The rendering provider for benchmarks, which is same as application's one except container resources. <br>
+ * Templates are loaded from class-path, and classifications and date patterns are stand-in.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class BenchmarkRenderingProvider extends ThymeleafRenderingProvider {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String TEMPLATE_PREFIX = "templates/";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final StandInClassification classification;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public BenchmarkRenderingProvider(StandInClassification classification) {
+        this.classification = classification;
+    }
+
+    // ===================================================================================
+    //                                                                             Provide
+    //                                                                             =======
+    /**
+     * Provide the renderer in the same way as provideRenderer() for thymeleaf journey (so without action runtime). <br>
+     * The template engine is got per renderer, so it also goes through the lazy initialization of engine.
+     * @return The new-created renderer for one request. (NotNull)
+     */
+    public BenchmarkHtmlRenderer provideHtmlRenderer() {
+        return createThymeleafHtmlRenderer();
+    }
+
+    @Override
+    protected BenchmarkHtmlRenderer createThymeleafHtmlRenderer() {
+        return new BenchmarkHtmlRenderer(getTemplateEngine());
+    }
+
+    // ===================================================================================
+    //                                                                     Template Engine
+    //                                                                     ===============
+    public TemplateEngine prepareTemplateEngine() {
+        return getTemplateEngine();
+    }
+
+    @Override
+    protected ITemplateResolver createTemplateResolver() {
+        final ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(TEMPLATE_PREFIX);
+        resolver.setTemplateMode(getTemplateMode());
+        resolver.setCharacterEncoding(getEncoding());
+        resolver.setCacheable(isCacheable());
+        return resolver;
+    }
+
+    @Override
+    protected LastaThymeleafDialect newLastaThymeleafDialect() {
+        return new BenchmarkLastaThymeleafDialect(classification.getProvider());
+    }
+
+    // ===================================================================================
+    //                                                                             Dialect
+    //                                                                             =======
+    public static class BenchmarkLastaThymeleafDialect extends LastaThymeleafDialect {
+
+        protected final ListedClassificationProvider provider; // not null
+
+        public BenchmarkLastaThymeleafDialect(ListedClassificationProvider provider) {
+            this.provider = provider; // after super constructor, so index refers the field lazily
+        }
+
+        @Override
+        protected ClassificationMetaIndex newClassificationMetaIndex() {
+            return new ClassificationMetaIndex() {
+                @Override
+                public ListedClassificationProvider getProvider() { // instead of container
+                    return provider;
+                }
+            };
+        }
+
+        @Override
+        protected HandyDateExpressionObject newHandyDateExpressionObject() {
+            return new HandyDateExpressionObject() {
+                @Override
+                protected StandardPatternSnapshot getStandardPattern() { // instead of application configuration
+                    return newStandardPatternSnapshot("yyyy/MM/dd", "yyyy/MM/dd HH:mm:ss", "HH:mm:ss");
+                }
+            };
+        }
+    }
+}
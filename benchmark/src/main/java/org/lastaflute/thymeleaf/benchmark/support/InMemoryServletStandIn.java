@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.core.message.MessageManager;
+import org.lastaflute.thymeleaf.benchmark.support.StandInProxy.StandInMethod;
+import org.lastaflute.web.servlet.request.RequestManager;
+import org.lastaflute.web.servlet.request.ResponseManager;
+import org.lastaflute.web.servlet.session.SessionManager;
+
+/**
+ * The in-memory stand-in of servlet container and LastaFlute request for benchmarks. <br>
+ * Requests keep attributes in memory, and messages are resolved without message resources.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class InMemoryServletStandIn {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, Object> applicationAttributeMap = new ConcurrentHashMap<String, Object>();
+    protected final ServletContext servletContext;
+    protected final MessageManager messageManager;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public InMemoryServletStandIn() {
+        servletContext = createServletContext();
+        messageManager = createMessageManager();
+    }
+
+    protected ServletContext createServletContext() {
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        setupAttributeMethod(methodMap, applicationAttributeMap);
+        methodMap.put("getContextPath", args -> "");
+        methodMap.put("getServletContextName", args -> "benchmark");
+        return StandInProxy.create(ServletContext.class, methodMap);
+    }
+
+    protected MessageManager createMessageManager() {
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        methodMap.put("getMessage", args -> "message of " + args[1]); // (locale, key) or (locale, key, values)
+        return StandInProxy.create(MessageManager.class, methodMap);
+    }
+
+    // ===================================================================================
+    //                                                                             Request
+    //                                                                             =======
+    /**
+     * @return The new-created request of in-memory attributes. (NotNull)
+     */
+    public HttpServletRequest newRequest() {
+        final Map<String, Object> attributeMap = new HashMap<String, Object>(); // request is not shared among threads
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        setupAttributeMethod(methodMap, attributeMap);
+        methodMap.put("getServletContext", args -> servletContext);
+        methodMap.put("getContextPath", args -> "");
+        methodMap.put("getRequestURI", args -> "/benchmark/");
+        methodMap.put("getMethod", args -> "GET");
+        methodMap.put("getCharacterEncoding", args -> "UTF-8");
+        methodMap.put("getLocale", args -> Locale.ENGLISH);
+        methodMap.put("getParameterMap", args -> Collections.emptyMap());
+        return StandInProxy.create(HttpServletRequest.class, methodMap);
+    }
+
+    /**
+     * @return The new-created response, which has no output (rendered HTML is returned as string). (NotNull)
+     */
+    public HttpServletResponse newResponse() {
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        methodMap.put("encodeURL", args -> args[0]); // used by link expression
+        methodMap.put("encodeRedirectURL", args -> args[0]);
+        methodMap.put("getCharacterEncoding", args -> "UTF-8");
+        return StandInProxy.create(HttpServletResponse.class, methodMap);
+    }
+
+    /**
+     * @param request The stand-in request. (NotNull)
+     * @param response The stand-in response. (NotNull)
+     * @param locale The locale of user. (NotNull)
+     * @return The new-created request manager for the request. (NotNull)
+     */
+    public RequestManager newRequestManager(HttpServletRequest request, HttpServletResponse response, Locale locale) {
+        final Map<String, StandInMethod> responseMethodMap = new HashMap<String, StandInMethod>();
+        responseMethodMap.put("getResponse", args -> response);
+        final ResponseManager responseManager = StandInProxy.create(ResponseManager.class, responseMethodMap);
+        final SessionManager sessionManager = StandInProxy.create(SessionManager.class, new HashMap<String, StandInMethod>());
+
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        methodMap.put("getRequest", args -> request);
+        methodMap.put("getResponseManager", args -> responseManager);
+        methodMap.put("getSessionManager", args -> sessionManager);
+        methodMap.put("getMessageManager", args -> messageManager);
+        methodMap.put("getUserLocale", args -> locale);
+        methodMap.put("getAttribute", args -> { // (key, type)
+            final Object value = request.getAttribute((String) args[0]);
+            return value != null ? OptionalThing.of(value) : OptionalThing.empty();
+        });
+        return StandInProxy.create(RequestManager.class, methodMap);
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected void setupAttributeMethod(Map<String, StandInMethod> methodMap, Map<String, Object> attributeMap) {
+        methodMap.put("getAttribute", args -> attributeMap.get(args[0]));
+        methodMap.put("setAttribute", args -> {
+            if (args[1] != null) {
+                attributeMap.put((String) args[0], args[1]);
+            } else { // same as servlet specification
+                attributeMap.remove(args[0]);
+            }
+            return null;
+        });
+        methodMap.put("removeAttribute", args -> attributeMap.remove(args[0]));
+        methodMap.put("getAttributeNames", args -> Collections.enumeration(attributeMap.keySet()));
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.jdbc.Classification;
+import org.dbflute.jdbc.ClassificationMeta;
+import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
+import org.lastaflute.db.dbflute.exception.ProvidedClassificationNotFoundException;
+import org.lastaflute.thymeleaf.benchmark.support.StandInProxy.StandInMethod;
+
+/**
+ * The stand-in of generated classifications (CDef) and listed classification provider for benchmarks.
+ * <pre>
+ * MemberStatus: FML (Formalized), PRV (Provisional), WDL (Withdrawal)
+ * ServiceRank: PLT (Platinum), GLD (Gold), SLV (Silver), BRZ (Bronze), PLS (Plastic)
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class StandInClassification {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String MEMBER_STATUS = "MemberStatus";
+    public static final String SERVICE_RANK = "ServiceRank";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, ClassificationMeta> metaMap = new LinkedHashMap<String, ClassificationMeta>();
+    protected final ListedClassificationProvider provider;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public StandInClassification() {
+        registerMeta(MEMBER_STATUS, new String[][] { { "FML", "Formalized" }, { "PRV", "Provisional" }, { "WDL", "Withdrawal" } });
+        registerMeta(SERVICE_RANK, new String[][] { { "PLT", "Platinum" }, { "GLD", "Gold" }, { "SLV", "Silver" }, { "BRZ", "Bronze" },
+                { "PLS", "Plastic" } });
+        provider = createProvider();
+    }
+
+    protected void registerMeta(String classificationName, String[][] elements) {
+        final List<Classification> clsList = new ArrayList<Classification>();
+        final Map<String, StandInMethod> metaMethodMap = new HashMap<String, StandInMethod>();
+        final ClassificationMeta meta = StandInProxy.create(ClassificationMeta.class, metaMethodMap);
+        for (String[] element : elements) {
+            clsList.add(createClassification(meta, element[0], element[1]));
+        }
+        final List<Classification> allList = Collections.unmodifiableList(clsList);
+        metaMethodMap.put("classificationName", args -> classificationName);
+        metaMethodMap.put("listAll", args -> allList);
+        metaMethodMap.put("codeOf", args -> {
+            return allList.stream().filter(cls -> cls.code().equalsIgnoreCase(String.valueOf(args[0]))).findFirst().orElse(null);
+        });
+        metaMethodMap.put("nameOf", args -> {
+            return allList.stream().filter(cls -> cls.name().equals(args[0])).findFirst().orElse(null);
+        });
+        metaMap.put(classificationName, meta);
+    }
+
+    protected Classification createClassification(ClassificationMeta meta, String code, String name) {
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        methodMap.put("code", args -> code);
+        methodMap.put("name", args -> name);
+        methodMap.put("alias", args -> name);
+        methodMap.put("meta", args -> meta);
+        methodMap.put("toString", args -> code);
+        return StandInProxy.create(Classification.class, methodMap);
+    }
+
+    protected ListedClassificationProvider createProvider() {
+        final Map<String, StandInMethod> methodMap = new HashMap<String, StandInMethod>();
+        methodMap.put("provide", args -> {
+            final ClassificationMeta meta = metaMap.get(args[0]);
+            if (meta == null) {
+                throw new ProvidedClassificationNotFoundException("Not found the classification: " + args[0]);
+            }
+            return meta;
+        }); // determineAlias() returns empty by default (means default alias)
+        return StandInProxy.create(ListedClassificationProvider.class, methodMap);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ListedClassificationProvider getProvider() {
+        return provider;
+    }
+
+    public Classification codeOf(String classificationName, String code) {
+        return metaMap.get(classificationName).codeOf(code);
+    }
+
+    public List<Classification> listAll(String classificationName) {
+        return metaMap.get(classificationName).listAll();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.dbflute.optional.OptionalThing;
+
+/**
+ * The factory of stand-in objects for interfaces, which are implemented by only needed methods. <br>
+ * Other methods return default value by the return type e.g. null, false, 0, empty collection.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class StandInProxy {
+
+    /**
+     * @param <INTERFACE> The type of interface.
+     * @param type The type of interface for the stand-in. (NotNull)
+     * @param methodMap The map of implemented methods, keyed by method name (overloads are same). (NotNull)
+     * @return The new-created stand-in object. (NotNull)
+     */
+    public static <INTERFACE> INTERFACE create(Class<INTERFACE> type, Map<String, StandInMethod> methodMap) {
+        final Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (self, method, args) -> {
+            final Object[] arguments = args != null ? args : new Object[0];
+            final StandInMethod standInMethod = methodMap.get(method.getName());
+            if (standInMethod != null) {
+                return standInMethod.invoke(arguments);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(type, self, method, arguments);
+            }
+            return prepareDefaultValue(method.getReturnType());
+        });
+        return type.cast(proxy);
+    }
+
+    protected static Object invokeObjectMethod(Class<?> type, Object self, Method method, Object[] arguments) {
+        final String methodName = method.getName();
+        if ("equals".equals(methodName)) {
+            return self == arguments[0];
+        } else if ("hashCode".equals(methodName)) {
+            return System.identityHashCode(self);
+        } else { // toString()
+            return type.getSimpleName() + "@standIn";
+        }
+    }
+
+    protected static Object prepareDefaultValue(Class<?> returnType) {
+        if (boolean.class.equals(returnType)) {
+            return false;
+        } else if (int.class.equals(returnType)) {
+            return 0;
+        } else if (long.class.equals(returnType)) {
+            return 0L;
+        } else if (List.class.equals(returnType)) {
+            return Collections.emptyList();
+        } else if (Set.class.equals(returnType)) {
+            return Collections.emptySet();
+        } else if (Map.class.equals(returnType)) {
+            return Collections.emptyMap();
+        } else if (Enumeration.class.equals(returnType)) {
+            return Collections.emptyEnumeration();
+        } else if (OptionalThing.class.equals(returnType)) {
+            return OptionalThing.empty();
+        } else if (Optional.class.equals(returnType)) {
+            return Optional.empty();
+        } else { // including void
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    public static interface StandInMethod {
+
+        Object invoke(Object[] args);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.support;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The meter of bytes allocated on the current thread, by ThreadMXBean of HotSpot (com.sun.management). <br>
+ * The allocation is measured as average of repeated actions after warm-up (e.g. template cache, expression cache).
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThreadAllocationMeter {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final com.sun.management.ThreadMXBean threadBean; // null allowed (if unsupported)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ThreadAllocationMeter() {
+        threadBean = prepareThreadBean();
+    }
+
+    protected com.sun.management.ThreadMXBean prepareThreadBean() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) { // e.g. not HotSpot
+            return null;
+        }
+        final com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+        if (!hotspotBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!hotspotBean.isThreadAllocatedMemoryEnabled()) {
+            hotspotBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return hotspotBean;
+    }
+
+    // ===================================================================================
+    //                                                                             Measure
+    //                                                                             =======
+    /**
+     * @return true if allocated bytes of thread can be measured in this JVM.
+     */
+    public boolean isSupported() {
+        return threadBean != null;
+    }
+
+    /**
+     * Measure average bytes allocated by the action on the current thread.
+     * @param action The measured action, e.g. rendering one template. (NotNull)
+     * @param warmupCount The count of execution before measurement, e.g. for caches and JIT.
+     * @param measureCount The count of measured execution, should be positive.
+     * @return The average of allocated bytes per action. (NotMinus)
+     * @throws IllegalStateException When the allocation measurement is unsupported.
+     */
+    public long measureAverage(Runnable action, int warmupCount, int measureCount) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Unsupported thread allocation measurement in the JVM.");
+        }
+        if (measureCount <= 0) {
+            throw new IllegalArgumentException("The argument 'measureCount' should be positive: " + measureCount);
+        }
+        for (int i = 0; i < warmupCount; i++) {
+            action.run();
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < measureCount; i++) {
+            action.run();
+        }
+        final long after = threadBean.getThreadAllocatedBytes(threadId);
+        return (after - before) / measureCount;
+    }
+}
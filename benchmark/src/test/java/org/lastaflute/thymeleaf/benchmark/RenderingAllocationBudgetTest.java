@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.benchmark.support.BenchmarkRendering;
+import org.lastaflute.thymeleaf.benchmark.support.ThreadAllocationMeter;
+
+/**
+ * The allocation budgets of rendering per template. <br>
+ * Templates without calibrated budget are only reported (not failed), and the calibrated ones are checked. <br>
+ * Calibrate the budgets (measured bytes x 1.5) on the lasta-thymeleaf to be checked:
+ * <pre>
+ * mvn test -Dtest=RenderingAllocationBudgetTest -Dbudget.calibrate=true
+ * </pre>
+ * @author jflute
+ */
+public class RenderingAllocationBudgetTest extends PlainTestCase {
+
+    private static final String BUDGET_RESOURCE = "allocation-budget.properties";
+    private static final int WARMUP_COUNT = 50;
+    private static final int MEASURE_COUNT = 20;
+    private static final boolean CALIBRATION = Boolean.getBoolean("budget.calibrate");
+    private static final long CALIBRATION_MARGIN_PERCENT = 150; // for JVM differences
+
+    public void test_form_export() throws IOException {
+        assertAllocationWithinBudget("form.html");
+    }
+
+    public void test_errors() throws IOException {
+        assertAllocationWithinBudget("errors.html");
+    }
+
+    public void test_options_and_date_formatting() throws IOException {
+        assertAllocationWithinBudget("classification.html");
+    }
+
+    public void test_large_table() throws IOException {
+        assertAllocationWithinBudget("table.html");
+    }
+
+    private void assertAllocationWithinBudget(String templatePath) throws IOException {
+        // ## Arrange ##
+        ThreadAllocationMeter meter = new ThreadAllocationMeter();
+        if (!meter.isSupported()) {
+            log("*Skipped because of unsupported allocation measurement: " + templatePath);
+            return;
+        }
+        BenchmarkRendering rendering = new BenchmarkRendering(null);
+
+        // ## Act ##
+        long allocated = meter.measureAverage(() -> rendering.render(templatePath), WARMUP_COUNT, MEASURE_COUNT);
+
+        // ## Assert ##
+        if (CALIBRATION) {
+            long calibrated = allocated * CALIBRATION_MARGIN_PERCENT / 100;
+            writeBudget(templatePath, calibrated);
+            log(templatePath + ": allocated=" + allocated + " bytes, calibrated budget=" + calibrated + " bytes");
+            return;
+        }
+        Long budget = findBudget(templatePath); // null allowed
+        if (budget == null) { // not gate until calibrated, no guessed budget
+            log(templatePath + ": allocated=" + allocated + " bytes, no budget (run with -Dbudget.calibrate=true to set)");
+            return;
+        }
+        log(templatePath + ": allocated=" + allocated + " bytes, budget=" + budget + " bytes (" + allocated * 100 / budget + "%)");
+        if (allocated > budget) {
+            fail("Over the allocation budget: " + templatePath + ", allocated=" + allocated + ", budget=" + budget);
+        }
+    }
+
+    private Long findBudget(String templatePath) throws IOException { // null if not calibrated
+        Properties budgets = new Properties();
+        try (InputStream ins = getClass().getClassLoader().getResourceAsStream(BUDGET_RESOURCE)) {
+            assertNotNull(ins);
+            budgets.load(ins);
+        }
+        String budget = budgets.getProperty(templatePath);
+        assertNotNull("Not found the budget: " + templatePath, budget);
+        if (budget.trim().isEmpty()) {
+            return null;
+        }
+        return Long.valueOf(budget.trim());
+    }
+
+    private void writeBudget(String templatePath, long budget) throws IOException {
+        // source file (not class-path copy) to commit the calibrated budgets, basedir is set by surefire
+        Path budgetFile = Paths.get(System.getProperty("basedir", "."), "src/test/resources", BUDGET_RESOURCE);
+        List<String> lineList = new ArrayList<String>();
+        boolean found = false;
+        for (String line : Files.readAllLines(budgetFile, StandardCharsets.UTF_8)) {
+            if (!line.startsWith("#") && line.contains("=") && line.substring(0, line.indexOf("=")).trim().equals(templatePath)) {
+                lineList.add(templatePath + " = " + budget);
+                found = true;
+            } else {
+                lineList.add(line);
+            }
+        }
+        assertTrue("Not found the budget line: " + templatePath, found);
+        Files.write(budgetFile, lineList, StandardCharsets.UTF_8);
+    }
+}
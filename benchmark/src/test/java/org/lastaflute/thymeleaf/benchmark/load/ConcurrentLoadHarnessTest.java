@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.benchmark.load.ConcurrentLoadHarness.LoadResult;
+import org.lastaflute.thymeleaf.benchmark.support.BenchmarkRendering;
+
+/**
+ * The short load steps for CI, by 'mvn test' of benchmark module. <br>
+ * Scaling thresholds are not checked by default because CI machines are shared,
+ * specify them by system properties on dedicated machine: -Dload.minEfficiency=0.5 -Dload.minRetention=0.7
+ * @author jflute
+ */
+public class ConcurrentLoadHarnessTest extends PlainTestCase {
+
+    private static final long WARMUP_MILLIS = Long.getLong("load.warmup", 300L);
+    private static final long DURATION_MILLIS = Long.getLong("load.duration", 1000L);
+
+    // ===================================================================================
+    //                                                                         Run Scaling
+    //                                                                         ===========
+    public void test_runScaling_sameHtmlUnderContention() {
+        // ## Arrange ##
+        int coreCount = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCountList = Arrays.asList(1, 2, Math.max(4, coreCount * 2)); // also over cores
+        List<String> templatePathList = ConcurrentLoadHarness.DEFAULT_TEMPLATE_PATHS;
+        ConcurrentLoadHarness harness = new ConcurrentLoadHarness(new BenchmarkRendering(null), templatePathList);
+        harness.warmupMillis(WARMUP_MILLIS).durationMillis(DURATION_MILLIS);
+
+        // ## Act ##
+        List<LoadResult> resultList = harness.runScaling(threadCountList); // throws if different HTML from single thread
+
+        // ## Assert ##
+        log("cores: " + coreCount + "\n" + ConcurrentLoadHarness.buildReport(resultList, coreCount));
+        assertEquals(threadCountList.size(), resultList.size());
+        for (LoadResult result : resultList) {
+            assertTrue(result.getRenderCount() > 0);
+        }
+        double minEfficiency = Double.parseDouble(System.getProperty("load.minEfficiency", "0"));
+        double minRetention = Double.parseDouble(System.getProperty("load.minRetention", "0"));
+        List<String> problemList = ConcurrentLoadHarness.verifyScaling(resultList, coreCount, minEfficiency, minRetention);
+        assertTrue("Scalability regression: " + problemList, problemList.isEmpty());
+    }
+
+    // ===================================================================================
+    //                                                                      Verify Scaling
+    //                                                                      ==============
+    public void test_verifyScaling_problems() {
+        // ## Arrange ##
+        List<LoadResult> resultList = new ArrayList<LoadResult>();
+        long second = 1_000_000_000L;
+        resultList.add(new LoadResult(1, 1000, second)); // basis
+        resultList.add(new LoadResult(2, 1900, second)); // efficiency 0.95
+        resultList.add(new LoadResult(4, 2000, second)); // efficiency 0.50
+        resultList.add(new LoadResult(8, 1000, second)); // retention 0.50 over cores
+
+        // ## Act ##
+        List<String> problemList = ConcurrentLoadHarness.verifyScaling(resultList, 4, 0.6, 0.7);
+
+        // ## Assert ##
+        log(problemList);
+        assertEquals(2, problemList.size());
+        assertContains(problemList.get(0), "at 4 threads");
+        assertContains(problemList.get(1), "at 8 threads");
+        assertTrue(ConcurrentLoadHarness.verifyScaling(resultList, 4, 0, 0).isEmpty()); // no check
+    }
+}
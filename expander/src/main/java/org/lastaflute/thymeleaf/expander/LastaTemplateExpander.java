@@ -0,0 +1,371 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expander;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.dbflute.util.Srl;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.exception.ThymeleafBrokenLastaAttributeException;
+import org.lastaflute.thymeleaf.linter.LastaTemplateScanner;
+import org.lastaflute.thymeleaf.linter.LastaTemplateScanner.ScannedAttribute;
+import org.lastaflute.thymeleaf.linter.LastaTemplateScanner.ScannedTag;
+import org.lastaflute.thymeleaf.processor.attr.ErrorsAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.OptionClsAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.PropertyAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.TokenAttrProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The expander of Lasta attributes in template text at build time. <br>
+ * la:property, la:errors and la:optionCls with literal value are rewritten to th:* attributes
+ * in the same way as the processors do at runtime, so the rewriting cost disappears from parsing. <br>
+ * Attributes that need runtime (la:token, and non-literal values e.g. la:property="${sea}") remain as they are,
+ * they are processed by the registered processors (no cost for expanded elements because processors are matched by attribute).
+ * Multiple select (la:property and its la:optionCls) also remains because the selection depends on the property type. <br>
+ * Broken usage of Lasta attributes e.g. la:token at non-hidden input is detected here. <br>
+ * Tags are scanned by the same scanner as the template linter, which parses templates in the same way as runtime. <br>
+ * This is in separate artifact 'lasta-thymeleaf-expander' (only for build time) so it is not packaged in your war.
+ * If all Lasta attributes are expanded (no la:token, literal values only), the Lasta processors are unneeded at runtime:
+ * <pre>
+ *   provider.useExpandedTemplate(); // no Lasta processor, and remaining Lasta attributes are lint errors
+ * </pre>
+ * <pre>
+ * Usage: (exec-maven-plugin in pom.xml of application, templates in war are expanded at prepare-package phase)
+ *   &lt;plugin&gt;
+ *     &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *     &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;
+ *       &lt;execution&gt;
+ *         &lt;id&gt;expand-lasta-templates&lt;/id&gt;
+ *         &lt;phase&gt;prepare-package&lt;/phase&gt;
+ *         &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ *         &lt;configuration&gt;
+ *           &lt;includePluginDependencies&gt;true&lt;/includePluginDependencies&gt;
+ *           &lt;mainClass&gt;org.lastaflute.thymeleaf.expander.LastaTemplateExpander&lt;/mainClass&gt;
+ *           &lt;arguments&gt;
+ *             &lt;argument&gt;${basedir}/src/main/webapp/WEB-INF/view&lt;/argument&gt; &lt;!-- source --&gt;
+ *             &lt;argument&gt;${project.build.directory}/expanded-view&lt;/argument&gt; &lt;!-- destination --&gt;
+ *           &lt;/arguments&gt;
+ *         &lt;/configuration&gt;
+ *       &lt;/execution&gt;
+ *     &lt;/executions&gt;
+ *     &lt;dependencies&gt;&lt;dependency&gt; &lt;!-- not dependency of application --&gt;
+ *       &lt;groupId&gt;org.lastaflute.html&lt;/groupId&gt;
+ *       &lt;artifactId&gt;lasta-thymeleaf-expander&lt;/artifactId&gt;
+ *       &lt;version&gt;(same as lasta-thymeleaf)&lt;/version&gt;
+ *     &lt;/dependency&gt;&lt;/dependencies&gt;
+ *   &lt;/plugin&gt;
+ *
+ * and the destination is packaged as the view directory, e.g. maven-war-plugin:
+ *   &lt;webResources&gt;&lt;resource&gt;
+ *     &lt;directory&gt;${project.build.directory}/expanded-view&lt;/directory&gt;
+ *     &lt;targetPath&gt;WEB-INF/view&lt;/targetPath&gt;
+ *   &lt;/resource&gt;&lt;/webResources&gt;
+ *
+ * Run it alone: mvn exec:java@expand-lasta-templates
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class LastaTemplateExpander {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(LastaTemplateExpander.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String dialectPrefix; // not null
+    protected final LastaTemplateScanner templateScanner; // not null
+    protected Charset templateCharset = StandardCharsets.UTF_8; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaTemplateExpander() {
+        this(LastaThymeleafDialect.LASTA_THYMELEAF_DIALECT_PREFIX);
+    }
+
+    public LastaTemplateExpander(String dialectPrefix) {
+        this.dialectPrefix = dialectPrefix;
+        this.templateScanner = newLastaTemplateScanner();
+    }
+
+    protected LastaTemplateScanner newLastaTemplateScanner() {
+        return new LastaTemplateScanner();
+    }
+
+    public LastaTemplateExpander templateCharset(Charset templateCharset) {
+        if (templateCharset == null) {
+            throw new IllegalArgumentException("The argument 'templateCharset' should not be null.");
+        }
+        this.templateCharset = templateCharset;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                                Main
+    //                                                                                ====
+    /**
+     * @param args The arguments: source directory, destination directory (same as source if omitted). (NotNull)
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Specify source directory (and destination directory): " + args.length);
+        }
+        final Path sourceDir = Paths.get(args[0]);
+        final Path destinationDir = args.length >= 2 ? Paths.get(args[1]) : sourceDir;
+        final int count = new LastaTemplateExpander().expandDirectory(sourceDir, destinationDir);
+        logger.info("...Expanding Lasta attributes of {} templates: {} to {}", count, sourceDir, destinationDir);
+    }
+
+    // ===================================================================================
+    //                                                                    Expand Directory
+    //                                                                    ================
+    /**
+     * Expand Lasta attributes of all templates (.html) under the directory.
+     * @param sourceDir The directory of source templates. (NotNull)
+     * @param destinationDir The directory to write expanded templates, can be same as source. (NotNull)
+     * @return The count of expanded templates. (NotMinus)
+     * @throws ThymeleafBrokenLastaAttributeException When the Lasta attribute is broken in the templates.
+     */
+    public int expandDirectory(Path sourceDir, Path destinationDir) {
+        final List<Path> templateList = templateScanner.findTemplateList(sourceDir);
+        for (Path sourcePath : templateList) {
+            final Path relativePath = sourceDir.relativize(sourcePath);
+            final Path destinationPath = destinationDir.resolve(relativePath.toString());
+            try {
+                final String templateText = new String(Files.readAllBytes(sourcePath), templateCharset);
+                final String expanded = expand(relativePath.toString(), templateText);
+                if (destinationPath.getParent() != null) {
+                    Files.createDirectories(destinationPath.getParent());
+                }
+                Files.write(destinationPath, expanded.getBytes(templateCharset));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to expand the template: " + sourcePath, e);
+            }
+        }
+        return templateList.size();
+    }
+
+    // ===================================================================================
+    //                                                                     Expand Template
+    //                                                                     ===============
+    /**
+     * Expand Lasta attributes in the template text. Other text is kept as it is.
+     * @param templateName The name of template for exception message. (NotNull)
+     * @param templateText The text of template. (NotNull)
+     * @return The expanded text of template. (NotNull)
+     * @throws ThymeleafBrokenLastaAttributeException When the Lasta attribute is broken in the template.
+     */
+    public String expand(String templateName, String templateText) {
+        return templateScanner.scan(templateText, (tag, parentTag) -> expandTag(templateName, tag, parentTag));
+    }
+
+    // ===================================================================================
+    //                                                                          Expand Tag
+    //                                                                          ==========
+    protected String expandTag(String templateName, ScannedTag tag, ScannedTag parentTag) {
+        if (!tag.hasLastaAttribute(dialectPrefix)) { // most elements
+            return tag.toOriginalText();
+        }
+        // same order as processors, optionCls (200) and others (950)
+        final ScannedAttribute optionClsAttr = tag.findLastaAttribute(dialectPrefix, OptionClsAttrProcessor.ATTR_NAME);
+        if (optionClsAttr != null) {
+            expandOptionCls(templateName, tag, optionClsAttr, parentTag);
+        }
+        final ScannedAttribute errorsAttr = tag.findLastaAttribute(dialectPrefix, ErrorsAttrProcessor.ATTR_NAME);
+        if (errorsAttr != null) {
+            expandErrors(templateName, tag, errorsAttr);
+        }
+        final ScannedAttribute propertyAttr = tag.findLastaAttribute(dialectPrefix, PropertyAttrProcessor.ATTR_NAME);
+        if (propertyAttr != null) {
+            expandProperty(templateName, tag, propertyAttr);
+        }
+        final ScannedAttribute tokenAttr = tag.findLastaAttribute(dialectPrefix, TokenAttrProcessor.ATTR_NAME);
+        if (tokenAttr != null) {
+            verifyToken(templateName, tag, tokenAttr); // transaction token is needed at runtime
+        }
+        return tag.toExpandedText();
+    }
+
+    // -----------------------------------------------------
+    //                                            Option Cls
+    //                                            ----------
+    // same as OptionClsAttrProcessor
+    protected void expandOptionCls(String templateName, ScannedTag tag, ScannedAttribute attr, ScannedTag parentTag) {
+        final String optionClsName = resolveLiteralValue(templateName, tag, attr);
+        if (optionClsName == null) { // needs runtime
+            return;
+        }
+        if (parentTag != null && isMultipleSelect(parentTag)) { // needs runtime (collection or array property)
+            return;
+        }
+        tag.removeAttribute(attr);
+        tag.setAttribute("th:each", String.format("cdef : ${#cls.listAll('%s')}", optionClsName));
+        tag.setAttribute("th:value", "${cdef.code()}");
+        tag.setAttribute("th:text", "${cdef.alias()}");
+        if (parentTag != null) {
+            final String propertyAttrName = PropertyAttrProcessor.ATTR_NAME;
+            final ScannedAttribute parentPropertyAttr = parentTag.findOriginalLastaAttribute(dialectPrefix, propertyAttrName);
+            final String propertyName = parentPropertyAttr != null ? parentPropertyAttr.getValue() : null;
+            if (propertyName != null && !propertyName.isEmpty()) {
+                tag.setAttribute("th:selected", String.format("${cdef} == ${%s}", propertyName)); // single select here
+            }
+        }
+    }
+
+    protected boolean isMultipleSelect(ScannedTag selectTag) {
+        return "multiple".equals(selectTag.findOriginalAttributeValue("multiple")); // same as processor
+    }
+
+    // -----------------------------------------------------
+    //                                                Errors
+    //                                                ------
+    // same as ErrorsAttrProcessor
+    protected void expandErrors(String templateName, ScannedTag tag, ScannedAttribute attr) {
+        final String specifiedValue = resolveLiteralValue(templateName, tag, attr);
+        if (specifiedValue == null) { // needs runtime
+            return;
+        }
+        tag.removeAttribute(attr);
+        tag.setAttribute("class", prepareErrorsOverridingStyle(tag.findAttributeValue("class")));
+        final String eachValue;
+        if ("all".equalsIgnoreCase(specifiedValue)) {
+            eachValue = "er : ${errors.all}";
+        } else {
+            eachValue = "er : ${errors.part('" + specifiedValue + "')}";
+        }
+        tag.setAttribute("th:each", eachValue);
+        tag.setAttribute("th:text", "${er.message}");
+    }
+
+    protected String prepareErrorsOverridingStyle(String classAttr) {
+        final String embeddedStyle = ErrorsAttrProcessor.DEFAULT_STYLE;
+        if (classAttr != null && !classAttr.isEmpty()) {
+            if (Srl.splitList(classAttr, " ").contains(embeddedStyle)) { // already defined
+                return classAttr;
+            } else {
+                return classAttr + " " + embeddedStyle; // e.g. class="sea errors"
+            }
+        } else {
+            return embeddedStyle; // e.g. class="errors"
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                              Property
+    //                                              --------
+    // same as PropertyAttrProcessor
+    protected void expandProperty(String templateName, ScannedTag tag, ScannedAttribute attr) {
+        final String propertyName = resolveLiteralValue(templateName, tag, attr);
+        if (propertyName == null) { // needs runtime
+            return;
+        }
+        if ("select".equals(tag.getLowerName()) && isMultipleSelect(tag)) { // la:optionCls needs it at runtime
+            return;
+        }
+        tag.removeAttribute(attr);
+        final boolean hasThName = tag.hasStandardAttribute("name");
+        final boolean hasThText = tag.hasStandardAttribute("text");
+        final boolean hasThValue = tag.hasStandardAttribute("value");
+        switch (tag.getLowerName()) {
+        case "input":
+            if (!hasThName) {
+                tag.setAttribute("th:name", propertyName);
+            }
+            if (!hasThValue) {
+                final String type = tag.findAttributeValue("type");
+                if (!"checkbox".equals(type) && !"radio".equals(type)) {
+                    tag.setAttribute("th:value", "${" + propertyName + "}");
+                }
+            }
+            break;
+        case "select":
+            if (!hasThName) {
+                tag.setAttribute("th:name", propertyName);
+            }
+            break;
+        case "textarea":
+            if (!hasThName) {
+                tag.setAttribute("th:name", propertyName);
+            }
+            if (!hasThText) {
+                tag.setAttribute("th:text", "${" + propertyName + "}");
+            }
+            break;
+        default:
+            if (!hasThText) {
+                tag.setAttribute("th:text", "${" + propertyName + "}");
+            }
+            break;
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                                 Token
+    //                                                 -----
+    // same checks as TokenAttrProcessor, but earlier
+    protected void verifyToken(String templateName, ScannedTag tag, ScannedAttribute attr) {
+        if (!"input".equals(tag.getLowerName())) {
+            throwBrokenLastaAttributeException(templateName, tag, attr, "Cannot use the token attribute except input tag.");
+        }
+        if (!"hidden".equals(tag.findAttributeValue("type"))) {
+            throwBrokenLastaAttributeException(templateName, tag, attr, "Cannot use the token attribute except hidden type.");
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                         Literal Value
+    //                                         -------------
+    /**
+     * @param templateName The name of template for exception message. (NotNull)
+     * @param tag The scanned tag that has the attribute. (NotNull)
+     * @param attr The scanned Lasta attribute. (NotNull)
+     * @return The evaluated literal value. (NullAllowed: when not literal, needs runtime evaluation)
+     */
+    protected String resolveLiteralValue(String templateName, ScannedTag tag, ScannedAttribute attr) {
+        if (attr.isEmptyValue()) { // e.g. la:property=""
+            throwBrokenLastaAttributeException(templateName, tag, attr, "The Lasta attribute should have value.");
+        }
+        return attr.toLiteralValue();
+    }
+
+    protected void throwBrokenLastaAttributeException(String templateName, ScannedTag tag, ScannedAttribute attr, String notice) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice(notice);
+        br.addItem("Template");
+        br.addElement(templateName);
+        br.addItem("Tag");
+        br.addElement(tag.toOriginalText());
+        br.addItem("Attribute");
+        br.addElement(attr.getName() + "=\"" + attr.getValue() + "\"");
+        final String msg = br.buildExceptionMessage();
+        throw new ThymeleafBrokenLastaAttributeException(msg);
+    }
+}
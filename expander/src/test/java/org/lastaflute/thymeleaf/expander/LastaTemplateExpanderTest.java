@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expander;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.message.UserMessage;
+import org.lastaflute.core.message.UserMessages;
+import org.lastaflute.thymeleaf.ThymeleafHtmlRenderer;
+import org.lastaflute.thymeleaf.exception.ThymeleafBrokenLastaAttributeException;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class LastaTemplateExpanderTest extends PlainTestCase {
+
+    public void test_expand_property() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+
+        // ## Act ##
+        String input = expander.expand("sea.html", "<input type=\"text\" la:property=\"memberName\"/>");
+        String checkbox = expander.expand("sea.html", "<input type=\"checkbox\" la:property=\"agree\">");
+        String textarea = expander.expand("sea.html", "<textarea la:property=\"'memo'\"></textarea>");
+        String specified = expander.expand("sea.html", "<span th:text=\"${land}\" la:property=\"piari\">x</span>");
+
+        // ## Assert ##
+        assertEquals("<input type=\"text\" th:name=\"memberName\" th:value=\"${memberName}\"/>", input);
+        assertEquals("<input type=\"checkbox\" th:name=\"agree\">", checkbox);
+        assertEquals("<textarea th:name=\"memo\" th:text=\"${memo}\"></textarea>", textarea);
+        assertEquals("<span th:text=\"${land}\">x</span>", specified);
+    }
+
+    public void test_expand_errors() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+
+        // ## Act ##
+        String part = expander.expand("sea.html", "<span class=\"sea\" la:errors=\"memberName\"/>");
+        String all = expander.expand("sea.html", "<li la:errors=\"all\"></li>");
+
+        // ## Assert ##
+        assertEquals("<span class=\"sea errors\" th:each=\"er : ${errors.part('memberName')}\" th:text=\"${er.message}\"/>", part);
+        assertEquals("<li class=\"errors\" th:each=\"er : ${errors.all}\" th:text=\"${er.message}\"></li>", all);
+    }
+
+    public void test_expand_optionCls() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+        String template = "<select la:property=\"status\">\n  <option la:optionCls=\"MemberStatus\"></option>\n</select>";
+
+        // ## Act ##
+        String expanded = expander.expand("sea.html", template);
+
+        // ## Assert ##
+        log(expanded);
+        assertContains(expanded, "<select th:name=\"status\">");
+        assertContains(expanded, "th:each=\"cdef : ${#cls.listAll('MemberStatus')}\"");
+        assertContains(expanded, "th:selected=\"${cdef} == ${status}\"");
+
+        String multiple = "<select multiple=\"multiple\" la:property=\"statuses\">\n" // multiple select
+                + "  <option la:optionCls=\"MemberStatus\"></option>\n</select>";
+        assertEquals(multiple, expander.expand("sea.html", multiple)); // needs runtime for property type
+    }
+
+    public void test_expand_sameAsRuntime() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+        String template = "<form>\n" // rendered by runtime processors
+                + "  <input type=\"text\" la:property=\"memberName\"/>\n" // text
+                + "  <input type=\"checkbox\" value=\"on\" la:property=\"agree\"/>\n" // checkbox
+                + "  <textarea la:property=\"memo\">dummy</textarea>\n" // textarea
+                + "  <p class=\"note\" la:errors=\"memberName\">dummy</p>\n" // errors
+                + "  <select la:property=\"status\">\n    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n"
+                + "  <select multiple=\"multiple\" la:property=\"statuses\">\n" // remains
+                + "    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n"
+                + "  <ul><li th:each=\"row : ${rowList}\" la:property=\"row\">x</li></ul>\n" // with th:each
+                + "</form>";
+        String expanded = expander.expand("sea.html", template);
+        MockTemplateRendering rendering = new MockTemplateRendering(null);
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("memberName", "<mystic> & \"hangar\"");
+        variableMap.put("agree", "on");
+        variableMap.put("memo", "bonvo");
+        variableMap.put("status", rendering.getClassificationProvider().codeOf("PRV"));
+        variableMap.put("statuses", new Object[] { rendering.getClassificationProvider().codeOf("WDL") });
+        variableMap.put("rowList", Arrays.asList("first", "second"));
+        UserMessages messages = new UserMessages();
+        messages.add("memberName", new UserMessage("errors.required"));
+        Map<String, String> messageMap = new HashMap<String, String>();
+        messageMap.put("errors.required", "is <required>");
+        variableMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, rendering.createErrorMessages(messages, messageMap));
+
+        // ## Act ##
+        String runtimeHtml = rendering.render(template, variableMap);
+        String expandedHtml = rendering.render(expanded, variableMap);
+
+        // ## Assert ##
+        log(expanded);
+        log(runtimeHtml);
+        assertEquals(runtimeHtml, expandedHtml);
+        assertContains(expandedHtml, "<p class=\"note errors\">is &lt;required&gt;</p>");
+        assertContains(expandedHtml, "<option value=\"PRV\" selected=\"selected\">Provisional</option>");
+        assertContains(expandedHtml, "<option value=\"WDL\" selected=\"selected\">Withdrawal</option>"); // multiple
+    }
+
+    public void test_expand_renderedWithoutLastaProcessors() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+        String template = "<form>\n" // all attributes are expanded
+                + "  <input type=\"text\" la:property=\"memberName\"/>\n" // text
+                + "  <p class=\"note\" la:errors=\"memberName\">dummy</p>\n" // errors
+                + "  <select la:property=\"status\">\n    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n"
+                + "</form>";
+        String expanded = expander.expand("sea.html", template);
+        MockTemplateRendering runtime = new MockTemplateRendering(null);
+        MockTemplateRendering suppressed = new MockTemplateRendering(dialect -> dialect.suppressLastaProcessors());
+
+        // ## Act ##
+        String runtimeHtml = runtime.render(template, prepareExpandedVariableMap(runtime));
+        String expandedHtml = suppressed.render(expanded, prepareExpandedVariableMap(suppressed));
+
+        // ## Assert ##
+        log(expandedHtml);
+        assertEquals(runtimeHtml, expandedHtml);
+        assertContains(expandedHtml, "<option value=\"PRV\" selected=\"selected\">Provisional</option>");
+        String notExpandedHtml = suppressed.render(template, prepareExpandedVariableMap(suppressed));
+        assertContains(notExpandedHtml, "la:property=\"memberName\""); // not processed without expanding
+    }
+
+    private Map<String, Object> prepareExpandedVariableMap(MockTemplateRendering rendering) {
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("memberName", "sea");
+        variableMap.put("status", rendering.getClassificationProvider().codeOf("PRV"));
+        UserMessages messages = new UserMessages();
+        messages.add("memberName", new UserMessage("errors.required"));
+        Map<String, String> messageMap = new HashMap<String, String>();
+        messageMap.put("errors.required", "is required");
+        variableMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, rendering.createErrorMessages(messages, messageMap));
+        return variableMap;
+    }
+
+    public void test_expand_keepRuntime() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+        String template = "<!-- <span la:errors=\"sea\"/> -->\n<script>if (a <b) {}</script>\n" // not markup
+                + "<p la:property=\"${land}\">x</p>\n<input type=\"hidden\" la:token=\"true\"/>"; // needs runtime
+
+        // ## Act ##
+        String expanded = expander.expand("sea.html", template);
+
+        // ## Assert ##
+        assertEquals(template, expanded);
+    }
+
+    public void test_expand_brokenToken() {
+        // ## Arrange ##
+        LastaTemplateExpander expander = new LastaTemplateExpander();
+
+        // ## Act ##
+        // ## Assert ##
+        ThymeleafBrokenLastaAttributeException cause = assertException(ThymeleafBrokenLastaAttributeException.class, () -> {
+            expander.expand("sea.html", "<form la:token=\"true\"></form>");
+        });
+        log(cause.getMessage());
+        assertContains(cause.getMessage(), "sea.html");
+        assertException(ThymeleafBrokenLastaAttributeException.class, () -> {
+            expander.expand("sea.html", "<span la:property=\"\"></span>");
+        });
+    }
+}
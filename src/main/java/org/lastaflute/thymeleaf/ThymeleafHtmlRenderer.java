@@ -16,6 +16,7 @@
 package org.lastaflute.thymeleaf;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -34,6 +35,15 @@ import org.lastaflute.di.helper.beans.PropertyDesc;
 import org.lastaflute.thymeleaf.exception.ThymeleafFormPropertyConflictingWithRegisteredDataException;
 import org.lastaflute.thymeleaf.exception.ThymeleafFormPropertyUsingReservedWordException;
 import org.lastaflute.thymeleaf.exception.ThymeleafResisteredDataUsingReservedWordException;
+import org.lastaflute.thymeleaf.instrument.ExpressionProfile;
+import org.lastaflute.thymeleaf.instrument.ExpressionProfiler;
+import org.lastaflute.thymeleaf.instrument.NoOpRenderingListener;
+import org.lastaflute.thymeleaf.instrument.SlowRenderingDetector;
+import org.lastaflute.thymeleaf.instrument.ThymeleafFlightRecorder;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRecording;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingBreakdown;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingListener;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingTiming;
 import org.lastaflute.thymeleaf.message.ErrorMessages;
 import org.lastaflute.web.LastaWebKey;
 import org.lastaflute.web.exception.RequestForwardFailureException;
@@ -82,12 +92,27 @@ public class ThymeleafHtmlRenderer implements HtmlRenderer {
     //                                                                           Attribute
     //                                                                           =========
     protected final TemplateEngine templateEngine;
+    protected final ThymeleafRenderingListener renderingListener; // not null (no-op as default)
+    protected final SlowRenderingDetector slowRenderingDetector; // null allowed (no detection if null)
+    protected final ExpressionProfiler expressionProfiler; // null allowed (no profile if null, basically in development)
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public ThymeleafHtmlRenderer(TemplateEngine templateEngine) {
+        this(templateEngine, NoOpRenderingListener.INSTANCE);
+    }
+
+    public ThymeleafHtmlRenderer(TemplateEngine templateEngine, ThymeleafRenderingListener renderingListener) {
+        this(templateEngine, renderingListener, null, null);
+    }
+
+    public ThymeleafHtmlRenderer(TemplateEngine templateEngine, ThymeleafRenderingListener renderingListener,
+            SlowRenderingDetector slowRenderingDetector, ExpressionProfiler expressionProfiler) {
         this.templateEngine = templateEngine;
+        this.renderingListener = renderingListener;
+        this.slowRenderingDetector = slowRenderingDetector;
+        this.expressionProfiler = expressionProfiler;
     }
 
     // ===================================================================================
@@ -97,11 +122,60 @@ public class ThymeleafHtmlRenderer implements HtmlRenderer {
     public void render(RequestManager requestManager, ActionRuntime runtime, NextJourney journey) throws IOException, ServletException {
         if (isThymeleafJourney(journey)) {
             showRendering(journey);
-            final WebContext context = createTemplateContext(requestManager);
-            exportErrorsToContext(requestManager, context, runtime);
-            exportFormPropertyToContext(requestManager, context, runtime);
-            final String html = createResponseBody(templateEngine, context, runtime, journey);
-            write(requestManager, html);
+            ThymeleafRecording recording = ThymeleafRecording.NONE; // ended in finally, also when rendering failure
+            Locale renderingLocale = null; // for recording, null if failure before context
+            long bytesWritten = 0L; // me too, zero if failure before writing
+            ThymeleafRenderingBreakdown breakdown = null; // ended in finally, null if not sampled
+            ExpressionProfile profile = null; // me too, null if no profiler
+            final boolean listening = renderingListener.isListening();
+            if (listening) {
+                notifyRenderingBegun(journey);
+            }
+            try {
+                breakdown = beginBreakdownIfSampled(); // in try to end it in finally
+                profile = beginExpressionProfileIfNeeds();
+                recording = ThymeleafFlightRecorder.beginRendering(journey.getRoutingPath());
+                final long beginTime = System.nanoTime(); // timing of phases for rendering listener and slow detection
+                final WebContext context = createTemplateContext(requestManager);
+                renderingLocale = context.getLocale();
+                final long contextTime = System.nanoTime();
+                exportErrorsToContext(requestManager, context, runtime);
+                final long errorsTime = System.nanoTime();
+                exportFormPropertyToContext(requestManager, context, runtime);
+                final long formTime = System.nanoTime();
+                final String body = createResponseBody(templateEngine, context, runtime, journey);
+                final long bodyTime = System.nanoTime();
+                final String html = profile != null ? expressionProfiler.completeProfile(journey.getRoutingPath(), body, profile) : body;
+                write(requestManager, html);
+                final long writeTime = System.nanoTime(); // before calculating bytes (not included in write phase)
+                final boolean timed = listening || slowRenderingDetector != null; // no timing object if no-op
+                if (recording.isRecording() || timed) { // no calculation if not needed
+                    bytesWritten = calculateBytesWritten(html); // same size for recording and timing
+                }
+                if (timed) {
+                    final long[] phaseNanos = { contextTime - beginTime, errorsTime - contextTime, formTime - errorsTime,
+                            bodyTime - formTime, writeTime - bodyTime }; // same order as phases
+                    final ThymeleafRenderingTiming timing =
+                            new ThymeleafRenderingTiming(journey.getRoutingPath(), phaseNanos, bytesWritten, context.getLocale());
+                    if (listening) {
+                        notifyRendered(timing);
+                    }
+                    if (slowRenderingDetector != null) {
+                        slowRenderingDetector.detect(timing, breakdown);
+                    }
+                }
+            } finally {
+                ThymeleafFlightRecorder.endRendering(recording, renderingLocale, bytesWritten); // no-op if not recording
+                if (breakdown != null) {
+                    ThymeleafRenderingBreakdown.end();
+                }
+                if (profile != null) {
+                    ExpressionProfile.end();
+                }
+                if (listening) {
+                    notifyRenderingEnded(journey);
+                }
+            }
         } else { // forward
             requestManager.getResponseManager().forward(journey);
         }
@@ -111,6 +185,60 @@ public class ThymeleafHtmlRenderer implements HtmlRenderer {
         return journey.getRoutingPath().endsWith(".html"); // simple but enough
     }
 
+    protected long calculateBytesWritten(String html) { // without encoding (no byte array)
+        if (!DEFAULT_HTML_ENCODING.equalsIgnoreCase(getEncoding())) {
+            return html.getBytes(Charset.forName(getEncoding())).length; // rare case
+        }
+        long bytes = 0L;
+        final int length = html.length();
+        for (int i = 0; i < length; i++) { // UTF-8
+            final char ch = html.charAt(i);
+            if (ch < 0x80) {
+                ++bytes;
+            } else if (ch < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(html.charAt(i + 1))) {
+                bytes += 4;
+                ++i;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    protected ThymeleafRenderingBreakdown beginBreakdownIfSampled() { // null allowed
+        return slowRenderingDetector != null ? slowRenderingDetector.beginBreakdownIfSampled() : null;
+    }
+
+    protected ExpressionProfile beginExpressionProfileIfNeeds() { // null allowed
+        return expressionProfiler != null ? expressionProfiler.beginProfile() : null;
+    }
+
+    protected void notifyRenderingBegun(NextJourney journey) {
+        try {
+            renderingListener.onRenderingBegun(journey.getRoutingPath());
+        } catch (RuntimeException e) { // monitoring should not break rendering
+            logger.warn("Failed to notify the rendering begun: " + journey.getRoutingPath(), e);
+        }
+    }
+
+    protected void notifyRenderingEnded(NextJourney journey) {
+        try {
+            renderingListener.onRenderingEnded(journey.getRoutingPath());
+        } catch (RuntimeException e) { // me too
+            logger.warn("Failed to notify the rendering ended: " + journey.getRoutingPath(), e);
+        }
+    }
+
+    protected void notifyRendered(ThymeleafRenderingTiming timing) {
+        try {
+            renderingListener.onRendered(timing);
+        } catch (RuntimeException e) { // rendering is already finished so only logging
+            logger.warn("Failed to notify the rendering timing: " + timing, e);
+        }
+    }
+
     protected void showRendering(NextJourney journey) {
         if (logger.isDebugEnabled()) {
             final String pureName = Srl.substringLastRear(journey.getRoutingPath(), "/");
@@ -361,4 +489,16 @@ public class ThymeleafHtmlRenderer implements HtmlRenderer {
     public TemplateEngine getTemplateEngine() {
         return templateEngine;
     }
+
+    public ThymeleafRenderingListener getRenderingListener() {
+        return renderingListener;
+    }
+
+    public SlowRenderingDetector getSlowRenderingDetector() { // null allowed
+        return slowRenderingDetector;
+    }
+
+    public ExpressionProfiler getExpressionProfiler() { // null allowed
+        return expressionProfiler;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * The listener to destroy rendering providers when the web application is destroyed, e.g. undeploy or redeploy: <br>
+ * stop writing of hot templates and unregister the MBean of template engine. <br>
+ * Not registered automatically because they are options,
+ * so declare it in your web.xml if you use storeHotTemplates() or registerEngineMBean():
+ * <pre>
+ * &lt;listener&gt;
+ *     &lt;listener-class&gt;org.lastaflute.thymeleaf.ThymeleafProviderDestroyListener&lt;/listener-class&gt;
+ * &lt;/listener&gt;
+ * </pre>
+ * Or call provider.destroyTemplateEngine() in the shutdown hook of your application instead.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafProviderDestroyListener implements ServletContextListener {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String PROVIDER_SET_KEY = ThymeleafProviderDestroyListener.class.getName() + ".providerSet";
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Register the provider that has resources to be released when the context is destroyed.
+     * @param servletContext The servlet context of the application. (NotNull)
+     * @param provider The rendering provider started hot-template writing or registered MBean. (NotNull)
+     */
+    public static synchronized void register(ServletContext servletContext, ThymeleafRenderingProvider provider) {
+        if (servletContext == null) {
+            throw new IllegalArgumentException("The argument 'servletContext' should not be null.");
+        }
+        if (provider == null) {
+            throw new IllegalArgumentException("The argument 'provider' should not be null.");
+        }
+        Set<ThymeleafRenderingProvider> providerSet = findProviderSet(servletContext);
+        if (providerSet == null) {
+            providerSet = new CopyOnWriteArraySet<ThymeleafRenderingProvider>();
+            servletContext.setAttribute(PROVIDER_SET_KEY, providerSet);
+        }
+        providerSet.add(provider);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Set<ThymeleafRenderingProvider> findProviderSet(ServletContext servletContext) { // null allowed
+        return (Set<ThymeleafRenderingProvider>) servletContext.getAttribute(PROVIDER_SET_KEY);
+    }
+
+    // ===================================================================================
+    //                                                                           Lifecycle
+    //                                                                           =========
+    @Override
+    public void contextInitialized(ServletContextEvent event) { // registered when engine is created
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        final ServletContext servletContext = event.getServletContext();
+        final Set<ThymeleafRenderingProvider> providerSet;
+        synchronized (ThymeleafProviderDestroyListener.class) {
+            providerSet = findProviderSet(servletContext);
+            servletContext.removeAttribute(PROVIDER_SET_KEY);
+        }
+        if (providerSet != null) {
+            for (ThymeleafRenderingProvider provider : providerSet) {
+                provider.destroyTemplateEngine(); // also writes hot templates lastly
+            }
+        }
+    }
+}
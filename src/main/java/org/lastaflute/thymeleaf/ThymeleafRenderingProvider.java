@@ -15,21 +15,57 @@
  */
 package org.lastaflute.thymeleaf;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.lastaflute.thymeleaf.customizer.ThymeleafAdditionalExpressionSetupper;
 import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
 import org.lastaflute.thymeleaf.dialect.LastaThymeleafMistakeDialect;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex;
+import org.lastaflute.thymeleaf.expression.evaluator.LastaVariableExpressionEvaluator;
+import org.lastaflute.thymeleaf.instrument.BreakdownVariableExpressionEvaluator;
+import org.lastaflute.thymeleaf.instrument.CompositeRenderingListener;
+import org.lastaflute.thymeleaf.instrument.ExpressionProfileOutput;
+import org.lastaflute.thymeleaf.instrument.ExpressionProfiler;
+import org.lastaflute.thymeleaf.instrument.NoOpRenderingListener;
+import org.lastaflute.thymeleaf.instrument.ProfilingVariableExpressionEvaluator;
+import org.lastaflute.thymeleaf.instrument.SlowRenderingDetector;
+import org.lastaflute.thymeleaf.instrument.StatisticsCacheManager;
+import org.lastaflute.thymeleaf.instrument.TemplateUsageAnalytics;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingListener;
+import org.lastaflute.thymeleaf.instrument.jmx.ThymeleafEngineStatistics;
+import org.lastaflute.thymeleaf.instrument.jmx.ThymeleafMBeanRegistrar;
+import org.lastaflute.thymeleaf.linter.LastaTemplateLinter;
 import org.lastaflute.thymeleaf.message.resolver.ManagedMessageResolver;
+import org.lastaflute.thymeleaf.warmup.HotTemplate;
+import org.lastaflute.thymeleaf.warmup.HotTemplateStore;
+import org.lastaflute.thymeleaf.warmup.ThymeleafTemplateWarmer;
 import org.lastaflute.web.response.HtmlResponse;
 import org.lastaflute.web.ruts.NextJourney;
 import org.lastaflute.web.ruts.process.ActionRuntime;
 import org.lastaflute.web.ruts.renderer.HtmlRenderer;
 import org.lastaflute.web.ruts.renderer.HtmlRenderingProvider;
 import org.lastaflute.web.util.LaServletContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.messageresolver.StandardMessageResolver;
 import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.IStandardVariableExpressionEvaluator;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 import org.thymeleaf.templateresolver.ServletContextTemplateResolver;
 
@@ -40,6 +76,11 @@ import org.thymeleaf.templateresolver.ServletContextTemplateResolver;
  */
 public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafRenderingProvider.class);
+
     // ===================================================================================
     //                                                                          Definition
     //                                                                          ==========
@@ -52,8 +93,26 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
     protected boolean development;
     protected ThymeleafAdditionalExpressionSetupper additionalExpressionSetupper; // null allowed
     protected Consumer<StandardDialect> standardDialectSetupper; // null allowed
+    protected Consumer<LastaThymeleafDialect> lastaDialectSetupper; // null allowed
+    protected boolean variableExpressionCompiled; // variable expressions by compiled accessors if true
+    protected boolean templateLinting; // lint all templates when template engine is created if true
+    protected boolean mistakeDialectSuppressed; // no mistake dialect if true (basically with template linting)
+    protected boolean expandedTemplateUsed; // no Lasta processors if true (templates expanded at build time)
+    protected ThymeleafRenderingListener renderingListener; // null allowed (no-op if null)
+    protected SlowRenderingDetector slowRenderingDetector; // null allowed (no detection if null)
+    protected ExpressionProfiler expressionProfiler; // null allowed (no profile if null, only in development)
+    protected boolean engineMBeanRegistration; // register MBean of engine statistics when template engine is created if true
+    protected String engineMBeanName; // null allowed (default name with context path if null)
+    protected volatile ThymeleafEngineStatistics engineStatistics; // null allowed (created with engine if MBean)
+    protected String registeredEngineMBeanName; // null allowed (not registered yet or already unregistered)
+    protected TemplateUsageAnalytics templateUsageAnalytics; // null allowed (no analytics if null)
+    protected boolean templateWarmingAtStartup; // warm up all templates when template engine is created if true
+    protected HotTemplateStore hotTemplateStore; // null allowed (no hot template storing if null)
+    protected long hotTemplateIntervalMillis; // interval of writing hot templates
+    protected int hotTemplateLimit; // max count of stored hot templates
+    protected ScheduledExecutorService hotTemplateScheduler; // null allowed (started with engine, stopped at destroy)
 
-    private TemplateEngine cachedTemplateEngine;
+    private volatile TemplateEngine cachedTemplateEngine; // published after linting, before warm-up
 
     // ===================================================================================
     //                                                                              Option
@@ -79,6 +138,203 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
         return this;
     }
 
+    public ThymeleafRenderingProvider customizeLastaDialect(Consumer<LastaThymeleafDialect> lastaDialectSetupper) {
+        if (lastaDialectSetupper == null) {
+            throw new IllegalArgumentException("The argument 'lastaDialectSetupper' should not be null.");
+        }
+        this.lastaDialectSetupper = lastaDialectSetupper;
+        return this;
+    }
+
+    /**
+     * Evaluate simple variable expressions e.g. ${form.memberName} by compiled accessors (LastaVariableExpressionEvaluator),
+     * other expressions are evaluated by the standard evaluator. (no accessor cache in development for hot deploy)
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider compileVariableExpression() {
+        this.variableExpressionCompiled = true;
+        return this;
+    }
+
+    /**
+     * Lint all templates under the view prefix when template engine is created (first rendering), e.g. th:property, misplaced la:token.<br>
+     * Lint errors fail every rendering until fixed, so call initializeTemplateEngine() at your application boot to fail the boot.
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider lintTemplateAtStartup() {
+        this.templateLinting = true;
+        return this;
+    }
+
+    /**
+     * Remove the mistake dialect (e.g. th:property check) from template engine, basically with template linting.
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider suppressMistakeDialect() {
+        this.mistakeDialectSuppressed = true;
+        return this;
+    }
+
+    /**
+     * Use templates expanded by LastaTemplateExpander (lasta-thymeleaf-expander) at build time,
+     * so no processor for Lasta attributes is registered. <br>
+     * Lasta attributes remaining in templates (e.g. la:token) are not processed,
+     * so they are detected as lint errors if template linting (recommended with this option).
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider useExpandedTemplate() {
+        this.expandedTemplateUsed = true;
+        return this;
+    }
+
+    /**
+     * Listen renderings with timings per phase, template name and output size.
+     * <pre>
+     * provider.listenRendering(new HistogramRenderingListener());
+     * </pre>
+     * @param renderingListener The listener of rendering, called in request thread. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider listenRendering(ThymeleafRenderingListener renderingListener) {
+        if (renderingListener == null) {
+            throw new IllegalArgumentException("The argument 'renderingListener' should not be null.");
+        }
+        this.renderingListener = renderingListener;
+        return this;
+    }
+
+    /**
+     * Detect slow rendering over the threshold, and log the report with breakdown of sampled renderings:
+     * top templates and fragments, count of expressions, and time spent in #cls, #handy and message resolution.
+     * <pre>
+     * provider.detectSlowRendering(1000L, 10); // over 1 second, breakdown for one in ten renderings
+     * </pre>
+     * @param thresholdMillis The threshold of rendering time as milliseconds, slow if over it. (Positive)
+     * @param samplingInterval The interval of sampled renderings for breakdown, 1 means all renderings. (Positive)
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider detectSlowRendering(long thresholdMillis, int samplingInterval) {
+        this.slowRenderingDetector = newSlowRenderingDetector(thresholdMillis, samplingInterval);
+        return this;
+    }
+
+    protected SlowRenderingDetector newSlowRenderingDetector(long thresholdMillis, int samplingInterval) {
+        return new SlowRenderingDetector(thresholdMillis, samplingInterval);
+    }
+
+    /**
+     * Profile expression evaluations per template in development (only when asDevelopment(true)),
+     * count and time of each expression including th:* attributes generated by la: processors.
+     * <pre>
+     * provider.asDevelopment(true).profileExpression(ExpressionProfileOutput.HTML_COMMENT);
+     * </pre>
+     * @param output The output of the profile per rendering, log or HTML comment at the end of page. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider profileExpression(ExpressionProfileOutput output) {
+        if (output == null) {
+            throw new IllegalArgumentException("The argument 'output' should not be null.");
+        }
+        this.expressionProfiler = newExpressionProfiler(output);
+        return this;
+    }
+
+    protected ExpressionProfiler newExpressionProfiler(ExpressionProfileOutput output) {
+        return new ExpressionProfiler(output);
+    }
+
+    /**
+     * Register the MBean of template engine statistics when engine is created:
+     * cache sizes and hit ratios, rendering counts and latencies per template, active renderings, dialect caches,
+     * and operations to clear caches or invalidate one template. <br>
+     * The object name has context path to be unique per application in the JVM,
+     * e.g. org.lastaflute.thymeleaf:type=TemplateEngine,context="/harbor". <br>
+     * The MBean is unregistered by destroyTemplateEngine(), so call it in your shutdown hook,
+     * or declare {@link ThymeleafProviderDestroyListener} in web.xml.
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider registerEngineMBean() {
+        this.engineMBeanRegistration = true;
+        return this;
+    }
+
+    /**
+     * @param objectName The object name of the MBean, e.g. org.lastaflute.thymeleaf:type=TemplateEngine,name=admin. (NotNull)
+     * @return this. (NotNull)
+     * @see #registerEngineMBean()
+     */
+    public ThymeleafRenderingProvider registerEngineMBean(String objectName) {
+        if (objectName == null) {
+            throw new IllegalArgumentException("The argument 'objectName' should not be null.");
+        }
+        this.engineMBeanRegistration = true;
+        this.engineMBeanName = objectName;
+        return this;
+    }
+
+    /**
+     * Analyze template usage: render count, last-used time and cumulative cost per template and fragment. <br>
+     * You can see unused and rarely used templates by buildTemplateUsageReport().
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider analyzeTemplateUsage() {
+        this.templateUsageAnalytics = newTemplateUsageAnalytics();
+        return this;
+    }
+
+    protected TemplateUsageAnalytics newTemplateUsageAnalytics() {
+        return new TemplateUsageAnalytics();
+    }
+
+    /**
+     * Warm up (parse and cache) all templates under the view prefix when template engine is created (first rendering). <br>
+     * Renderings don't wait for the warm-up, so call initializeTemplateEngine() at your application boot to finish it before ready.
+     * (no warming in development because of no cache)
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider warmUpTemplateAtStartup() {
+        this.templateWarmingAtStartup = true;
+        return this;
+    }
+
+    /**
+     * Store the most frequently rendered templates with locales to the local file periodically,
+     * and warm up (pre-parse and pre-render) them first in parallel when template engine is created. <br>
+     * Call initializeTemplateEngine() at your application boot to finish the warm-up before the instance reports ready.
+     * (template usage is also analyzed, and no warming in development because of no cache) <br>
+     * You must stop the writing thread at application shutdown, or it remains after redeploy:
+     * call destroyTemplateEngine() in your shutdown hook, or declare {@link ThymeleafProviderDestroyListener} in web.xml.
+     * <pre>
+     * provider.storeHotTemplates(Paths.get("/var/app/hot-templates.tsv"), 60000L, 100);
+     * </pre>
+     * @param storeFile The path of local file to store hot templates. (NotNull)
+     * @param intervalMillis The interval of writing as milliseconds. (Positive)
+     * @param limit The max count of hot templates (template and locale). (Positive)
+     * @return this. (NotNull)
+     */
+    public ThymeleafRenderingProvider storeHotTemplates(Path storeFile, long intervalMillis, int limit) {
+        if (storeFile == null) {
+            throw new IllegalArgumentException("The argument 'storeFile' should not be null.");
+        }
+        if (intervalMillis <= 0L) {
+            throw new IllegalArgumentException("The argument 'intervalMillis' should be positive: " + intervalMillis);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The argument 'limit' should be positive: " + limit);
+        }
+        this.hotTemplateStore = newHotTemplateStore(storeFile);
+        this.hotTemplateIntervalMillis = intervalMillis;
+        this.hotTemplateLimit = limit;
+        if (templateUsageAnalytics == null) { // hot templates come from usage
+            analyzeTemplateUsage();
+        }
+        return this;
+    }
+
+    protected HotTemplateStore newHotTemplateStore(Path storeFile) {
+        return new HotTemplateStore(storeFile);
+    }
+
     // ===================================================================================
     //                                                                             Provide
     //                                                                             =======
@@ -97,7 +353,27 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
     }
 
     protected ThymeleafHtmlRenderer createThymeleafHtmlRenderer() {
-        return new ThymeleafHtmlRenderer(getTemplateEngine());
+        final TemplateEngine engine = getTemplateEngine(); // also prepares engine statistics if MBean
+        final ThymeleafRenderingListener listener = prepareRenderingListener();
+        final ExpressionProfiler profiler = isExpressionProfiling() ? expressionProfiler : null;
+        return new ThymeleafHtmlRenderer(engine, listener, slowRenderingDetector, profiler);
+    }
+
+    protected ThymeleafRenderingListener prepareRenderingListener() {
+        final List<ThymeleafRenderingListener> listenerList = new ArrayList<ThymeleafRenderingListener>(2);
+        if (renderingListener != null) {
+            listenerList.add(renderingListener);
+        }
+        if (engineStatistics != null) {
+            listenerList.add(engineStatistics);
+        }
+        if (templateUsageAnalytics != null) {
+            listenerList.add(templateUsageAnalytics);
+        }
+        if (listenerList.isEmpty()) {
+            return NoOpRenderingListener.INSTANCE;
+        }
+        return listenerList.size() == 1 ? listenerList.get(0) : new CompositeRenderingListener(listenerList);
     }
 
     @Override
@@ -109,24 +385,85 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
     //                                                                     Template Engine
     //                                                                     ===============
     protected TemplateEngine getTemplateEngine() {
-        if (cachedTemplateEngine != null) {
-            return cachedTemplateEngine;
+        final TemplateEngine cached = cachedTemplateEngine;
+        if (cached != null) {
+            return cached;
         }
+        final TemplateEngine created;
         synchronized (this) {
             if (cachedTemplateEngine != null) {
                 return cachedTemplateEngine;
             }
-            cachedTemplateEngine = createTemplateEngine();
+            created = createTemplateEngine(); // may throw e.g. lint error, then not published so retried
+            cachedTemplateEngine = created; // other renderings can use it from now
         }
-        return cachedTemplateEngine;
+        warmUpTemplateEngine(created); // outside lock, only in the creating thread (other renderings don't wait)
+        return created;
     }
 
+    /**
+     * Create the template engine with linting and MBean if options, which is published after this. <br>
+     * Lint errors are thrown here so every rendering fails until the templates are fixed (same as boot failure).
+     * @return The new-created template engine. (NotNull)
+     */
     protected TemplateEngine createTemplateEngine() {
         final TemplateEngine engine = newTemplateEngine();
         setupTemplateEngine(engine);
+        if (templateLinting) {
+            lintTemplates(engine);
+        }
+        if (engineMBeanRegistration) {
+            registerEngineStatistics(engine);
+        }
         return engine;
     }
 
+    /**
+     * Warm up the published template engine by options, and start writing hot templates. <br>
+     * Warming is only optimization so failures are logged and rendering continues.
+     * @param engine The published template engine, may be already used by renderings. (NotNull)
+     */
+    protected void warmUpTemplateEngine(TemplateEngine engine) {
+        if (hotTemplateStore != null) {
+            startHotTemplateWriting();
+        }
+        if (!isCacheable()) { // no cache, no warming
+            return;
+        }
+        try {
+            final Set<String> warmedSet = hotTemplateStore != null ? warmUpHotTemplates(engine) : Collections.emptySet();
+            if (templateWarmingAtStartup) {
+                warmUpTemplates(engine, warmedSet);
+            }
+        } catch (RuntimeException e) { // e.g. failed to collect template files
+            logger.warn("Failed to warm up the templates, continue without warming.", e);
+        }
+    }
+
+    /**
+     * Initialize the template engine (with linting and warm-up if options) now, e.g. at application boot before ready. <br>
+     * Lint errors are thrown here to fail the boot. The engine is initialized at first rendering if you don't call this,
+     * then the rendering waits for the options.
+     */
+    public void initializeTemplateEngine() {
+        getTemplateEngine();
+    }
+
+    /**
+     * Release the resources of the template engine at application shutdown:
+     * stop writing hot templates (with last writing) and unregister the MBean of engine statistics. <br>
+     * Called by {@link ThymeleafProviderDestroyListener} if declared in web.xml, or call it in your shutdown hook.
+     * (nothing happens if no resources)
+     */
+    public void destroyTemplateEngine() {
+        stopHotTemplateWriting();
+        unregisterEngineStatistics();
+    }
+
+    protected void registerProviderDestroy() { // destroyed by listener if declared in web.xml
+        ThymeleafProviderDestroyListener.register(LaServletContextUtil.getServletContext(), this);
+    }
+
     protected TemplateEngine newTemplateEngine() {
         return new TemplateEngine();
     }
@@ -136,8 +473,22 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
         engine.addMessageResolver(createStandardMessageResolver());
         engine.addMessageResolver(createLastaThymeleafMessageResolver());
         engine.addDialect(createLastaThymeleafDialect(engine));
-        engine.addDialect(createLastaThymeleafMistakeDialect(engine));
+        if (!mistakeDialectSuppressed) {
+            engine.addDialect(createLastaThymeleafMistakeDialect(engine));
+        }
+        if (variableExpressionCompiled) { // before customization for application evaluator
+            setupCompiledVariableExpression(engine);
+        }
         setupStandardDialectIfNeeds(engine);
+        if (slowRenderingDetector != null) { // after customization to wrap application evaluator
+            setupRenderingBreakdown(engine);
+        }
+        if (isExpressionProfiling()) { // me too
+            setupExpressionProfiling(engine);
+        }
+        if (engineMBeanRegistration && engine.getCacheManager() != null) { // before engine initialization
+            engine.setCacheManager(new StatisticsCacheManager(engine.getCacheManager()));
+        }
     }
 
     protected void setupStandardDialectIfNeeds(TemplateEngine engine) {
@@ -153,10 +504,73 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
         }).findFirst().get(); // always present
     }
 
+    protected void setupCompiledVariableExpression(TemplateEngine engine) {
+        final StandardDialect standardDialect = findStandardDialect(engine);
+        final IStandardVariableExpressionEvaluator evaluator = standardDialect.getVariableExpressionEvaluator();
+        standardDialect.setVariableExpressionEvaluator(newLastaVariableExpressionEvaluator(evaluator).asDevelopment(development));
+    }
+
+    protected LastaVariableExpressionEvaluator newLastaVariableExpressionEvaluator(IStandardVariableExpressionEvaluator evaluator) {
+        return new LastaVariableExpressionEvaluator(evaluator); // standard evaluator for other expressions
+    }
+
+    protected void setupRenderingBreakdown(TemplateEngine engine) {
+        final StandardDialect standardDialect = findStandardDialect(engine);
+        final IStandardVariableExpressionEvaluator evaluator = standardDialect.getVariableExpressionEvaluator();
+        standardDialect.setVariableExpressionEvaluator(new BreakdownVariableExpressionEvaluator(evaluator));
+    }
+
+    protected boolean isExpressionProfiling() {
+        return development && expressionProfiler != null;
+    }
+
+    protected void setupExpressionProfiling(TemplateEngine engine) {
+        final StandardDialect standardDialect = findStandardDialect(engine);
+        final IStandardVariableExpressionEvaluator evaluator = standardDialect.getVariableExpressionEvaluator();
+        standardDialect.setVariableExpressionEvaluator(new ProfilingVariableExpressionEvaluator(evaluator));
+    }
+
     // #history jflute Lasta Thymeleaf uses embedded JSON serializer as default (2019/01/18)
     // application can set your own JavaScriptSerializer via StandardDialect
     // and JsonManager is not always matched with thymeleaf JSON handling
 
+    // -----------------------------------------------------
+    //                                     Engine Statistics
+    //                                     -----------------
+    protected void registerEngineStatistics(TemplateEngine engine) {
+        final StatisticsCacheManager cacheManager = engine.getCacheManager() instanceof StatisticsCacheManager // basically true
+                ? (StatisticsCacheManager) engine.getCacheManager() : null;
+        final ThymeleafEngineStatistics statistics = newThymeleafEngineStatistics(engine, cacheManager, findLastaDialect(engine));
+        final String objectName = engineMBeanName != null ? engineMBeanName : buildDefaultEngineMBeanName();
+        if (newThymeleafMBeanRegistrar().register(statistics, objectName)) { // only logging if failure
+            synchronized (this) {
+                registeredEngineMBeanName = objectName;
+            }
+            registerProviderDestroy();
+        }
+        engineStatistics = statistics; // also listens renderings
+    }
+
+    protected String buildDefaultEngineMBeanName() { // unique per application in the JVM
+        return newThymeleafMBeanRegistrar().buildEngineObjectName(LaServletContextUtil.getServletContext().getContextPath());
+    }
+
+    protected synchronized void unregisterEngineStatistics() {
+        if (registeredEngineMBeanName != null) {
+            newThymeleafMBeanRegistrar().unregister(registeredEngineMBeanName);
+            registeredEngineMBeanName = null;
+        }
+    }
+
+    protected ThymeleafEngineStatistics newThymeleafEngineStatistics(TemplateEngine engine, StatisticsCacheManager cacheManager,
+            LastaThymeleafDialect lastaDialect) {
+        return new ThymeleafEngineStatistics(engine, cacheManager, lastaDialect);
+    }
+
+    protected ThymeleafMBeanRegistrar newThymeleafMBeanRegistrar() {
+        return new ThymeleafMBeanRegistrar();
+    }
+
     // -----------------------------------------------------
     //                                     Template Resolver
     //                                     -----------------
@@ -213,9 +627,22 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
     //                                          ------------
     protected LastaThymeleafDialect createLastaThymeleafDialect(TemplateEngine engine) {
         final LastaThymeleafDialect dialect = newLastaThymeleafDialect();
+        dialect.asDevelopment(development);
         if (additionalExpressionSetupper != null) {
             dialect.additionalExpression(additionalExpressionSetupper);
         }
+        if (slowRenderingDetector != null) { // for breakdown of fragments and expression objects
+            dialect.recordFragmentInclusion().breakdownExpressionObject();
+        }
+        if (templateUsageAnalytics != null) { // for fragment usage
+            dialect.listenFragmentInclusion(templateUsageAnalytics);
+        }
+        if (expandedTemplateUsed) { // la: attributes are already th: attributes
+            dialect.suppressLastaProcessors();
+        }
+        if (lastaDialectSetupper != null) { // e.g. dialect.buildErrorsModelDirectly()
+            lastaDialectSetupper.accept(dialect);
+        }
         return dialect;
     }
 
@@ -229,4 +656,156 @@ public class ThymeleafRenderingProvider implements HtmlRenderingProvider {
     protected LastaThymeleafMistakeDialect createLastaThymeleafMistakeDialect(TemplateEngine engine) {
         return new LastaThymeleafMistakeDialect();
     }
+
+    // -----------------------------------------------------
+    //                                       Template Linter
+    //                                       ---------------
+    protected void lintTemplates(TemplateEngine engine) {
+        final String viewPrefix = getHtmlViewPrefix();
+        final String realPath = LaServletContextUtil.getServletContext().getRealPath(viewPrefix); // null allowed
+        if (realPath == null) { // e.g. packed war
+            logger.info("*Cannot lint templates because of no real path: {}", viewPrefix);
+            return;
+        }
+        final LastaTemplateLinter linter = newLastaTemplateLinter();
+        linter.templateCharset(Charset.forName(getEncoding()));
+        final ClassificationMetaIndex metaIndex = findLastaDialect(engine).getClassificationMetaIndex();
+        linter.determineClassification(classificationName -> metaIndex.existsClassification(classificationName));
+        if (expandedTemplateUsed) { // cannot be processed at runtime
+            linter.prohibitLastaAttribute();
+        }
+        final int count = linter.verifyDirectory(Paths.get(realPath)); // may throw
+        logger.debug("...Linting {} templates under {}", count, viewPrefix);
+    }
+
+    protected LastaTemplateLinter newLastaTemplateLinter() {
+        return new LastaTemplateLinter();
+    }
+
+    // -----------------------------------------------------
+    //                                       Template Warmer
+    //                                       ---------------
+    protected void warmUpTemplates(TemplateEngine engine, Set<String> warmedSet) {
+        final List<String> templateNameList = new ArrayList<String>(collectTemplateNames());
+        templateNameList.removeAll(warmedSet); // e.g. hot templates
+        newThymeleafTemplateWarmer(engine).warmUp(templateNameList, Locale.getDefault());
+    }
+
+    protected ThymeleafTemplateWarmer newThymeleafTemplateWarmer(TemplateEngine engine) {
+        return new ThymeleafTemplateWarmer(engine);
+    }
+
+    // -----------------------------------------------------
+    //                                         Hot Templates
+    //                                         -------------
+    protected Set<String> warmUpHotTemplates(TemplateEngine engine) { // returns warmed template names
+        final List<HotTemplate> hotTemplateList = hotTemplateStore.read(); // empty if first boot
+        return newThymeleafTemplateWarmer(engine).warmUpInParallel(hotTemplateList, getWarmingThreadCount());
+    }
+
+    protected int getWarmingThreadCount() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    protected synchronized void startHotTemplateWriting() {
+        if (hotTemplateScheduler != null) { // already started
+            return;
+        }
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "lasta-thymeleaf-hot-template");
+            thread.setDaemon(true); // not to block shutdown
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> writeHotTemplates(), hotTemplateIntervalMillis, hotTemplateIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        hotTemplateScheduler = scheduler;
+        registerProviderDestroy();
+    }
+
+    /**
+     * Write the current hot templates to the store file now, e.g. at application shutdown. <br>
+     * Nothing is written if no rendering yet, so the previous hot templates remain.
+     */
+    public void writeHotTemplates() {
+        if (hotTemplateStore == null) {
+            return;
+        }
+        final List<HotTemplate> hotTemplateList = templateUsageAnalytics.selectHotTemplateList(hotTemplateLimit);
+        if (hotTemplateList.isEmpty()) { // e.g. just after boot
+            return;
+        }
+        try {
+            hotTemplateStore.write(hotTemplateList);
+        } catch (IOException | RuntimeException e) { // only for warming so continue
+            logger.warn("Failed to write the hot templates: " + hotTemplateStore.getStoreFile(), e);
+        }
+    }
+
+    /**
+     * Stop periodic writing of hot templates, and write them lastly, at application shutdown. <br>
+     * Also called by destroyTemplateEngine(). (nothing happens if no writing)
+     */
+    public synchronized void stopHotTemplateWriting() {
+        if (hotTemplateScheduler != null) {
+            hotTemplateScheduler.shutdownNow();
+            hotTemplateScheduler = null;
+            writeHotTemplates();
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                        Template Usage
+    //                                        --------------
+    /**
+     * Build the report of template usage: unused templates, rarely used templates and fragments, and all usages.
+     * @param rareCount The max count of rarely used, e.g. 10 means used 1 to 10 times.
+     * @return The report string. (NotNull)
+     * @throws IllegalStateException When the usage is not analyzed. (analyzeTemplateUsage() is not called)
+     */
+    public String buildTemplateUsageReport(long rareCount) {
+        if (templateUsageAnalytics == null) {
+            throw new IllegalStateException("Not analyzed template usage, call analyzeTemplateUsage() option.");
+        }
+        return templateUsageAnalytics.buildReport(collectTemplateNames(), rareCount);
+    }
+
+    /**
+     * @return The list of template names under the view prefix, e.g. /member/member_list.html. (NotNull, EmptyAllowed: packed war)
+     */
+    protected List<String> collectTemplateNames() {
+        final String viewPrefix = getHtmlViewPrefix();
+        final String realPath = LaServletContextUtil.getServletContext().getRealPath(viewPrefix); // null allowed
+        if (realPath == null) { // e.g. packed war
+            return Collections.emptyList();
+        }
+        final Path viewRoot = Paths.get(realPath);
+        try (Stream<Path> stream = Files.walk(viewRoot)) {
+            return stream.filter(path -> path.toString().endsWith(".html")).map(path -> {
+                return "/" + viewRoot.relativize(path).toString().replace('\\', '/');
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to collect templates under the view prefix: " + realPath, e);
+        }
+    }
+
+    protected LastaThymeleafDialect findLastaDialect(TemplateEngine engine) {
+        return (LastaThymeleafDialect) engine.getDialects().stream().filter(di -> {
+            return di instanceof LastaThymeleafDialect;
+        }).findFirst().get(); // always present
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ExpressionProfiler getExpressionProfiler() { // null allowed (when no profile option)
+        return expressionProfiler;
+    }
+
+    public ThymeleafEngineStatistics getEngineStatistics() { // null allowed (when no MBean option or before engine creation)
+        return engineStatistics;
+    }
+
+    public TemplateUsageAnalytics getTemplateUsageAnalytics() { // null allowed (when no analytics option)
+        return templateUsageAnalytics;
+    }
 }
@@ -32,21 +32,68 @@ public class ThymeleafAdditionalExpressionResource {
     //                                                                           =========
     protected final Map<String, Object> expressionObjectMap = new LinkedHashMap<String, Object>();
     protected final Set<String> cacheableExpressionObjectNames = new LinkedHashSet<String>();
+    protected final Map<String, ScopedExpressionObject> scopedExpressionObjectMap = new LinkedHashMap<String, ScopedExpressionObject>();
 
     // ===================================================================================
     //                                                                            Register
     //                                                                            ========
     public void registerExpressionObject(String key, Object expressionObject) {
+        scopedExpressionObjectMap.remove(key);
         expressionObjectMap.put(key, expressionObject);
     }
 
     public void registerExpressionObject(String key, Object expressionObject, boolean cacheable) {
+        scopedExpressionObjectMap.remove(key);
         expressionObjectMap.put(key, expressionObject);
         if (cacheable) {
             cacheableExpressionObjectNames.add(key);
         }
     }
 
+    /**
+     * Register the expression object created by the creator in the scope. <br>
+     * The object is created only when a template first touches it, and reused in the scope.
+     * <pre>
+     * resource.registerExpressionObject("sea", context -&gt; new SeaExpressionObject(context), ThymeleafExpressionObjectScope.REQUEST);
+     * </pre>
+     * @param key The key of expression object, e.g. sea for #sea. (NotNull)
+     * @param creator The creator of expression object. (NotNull)
+     * @param scope The scope of the created object. (NotNull)
+     */
+    public void registerExpressionObject(String key, ThymeleafExpressionObjectCreator creator, ThymeleafExpressionObjectScope scope) {
+        if (key == null) {
+            throw new IllegalArgumentException("The argument 'key' should not be null.");
+        }
+        if (creator == null) {
+            throw new IllegalArgumentException("The argument 'creator' should not be null.");
+        }
+        if (scope == null) {
+            throw new IllegalArgumentException("The argument 'scope' should not be null.");
+        }
+        expressionObjectMap.remove(key); // last registration wins
+        cacheableExpressionObjectNames.remove(key);
+        scopedExpressionObjectMap.put(key, new ScopedExpressionObject(creator, scope));
+    }
+
+    public static class ScopedExpressionObject {
+
+        protected final ThymeleafExpressionObjectCreator creator;
+        protected final ThymeleafExpressionObjectScope scope;
+
+        public ScopedExpressionObject(ThymeleafExpressionObjectCreator creator, ThymeleafExpressionObjectScope scope) {
+            this.creator = creator;
+            this.scope = scope;
+        }
+
+        public ThymeleafExpressionObjectCreator getCreator() {
+            return creator;
+        }
+
+        public ThymeleafExpressionObjectScope getScope() {
+            return scope;
+        }
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -57,4 +104,8 @@ public class ThymeleafAdditionalExpressionResource {
     public Set<String> getCacheableExpressionObjectNames() {
         return Collections.unmodifiableSet(cacheableExpressionObjectNames);
     }
+
+    public Map<String, ScopedExpressionObject> getScopedExpressionObjectMap() {
+        return Collections.unmodifiableMap(scopedExpressionObjectMap);
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.customizer;
+
+import org.thymeleaf.context.IExpressionContext;
+
+/**
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+@FunctionalInterface
+public interface ThymeleafExpressionObjectCreator {
+
+    /**
+     * Create the expression object, called only when a template first touches it in the scope.
+     * @param context The context of expression, e.g. web context in Lasta rendering. (NotNull)
+     * @return The new-created expression object. (NullAllowed: means no object in the scope)
+     */
+    Object create(IExpressionContext context);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.customizer;
+
+/**
+ * The scope of expression object created by {@link ThymeleafExpressionObjectCreator}.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public enum ThymeleafExpressionObjectScope {
+
+    /** One instance in the template engine, created when first touched. */
+    ENGINE,
+
+    /** One instance per template execution (same as cacheable expression object). */
+    TEMPLATE_EXECUTION,
+
+    /** One instance per request, shared by templates in the request e.g. layout and parts. */
+    REQUEST
+}
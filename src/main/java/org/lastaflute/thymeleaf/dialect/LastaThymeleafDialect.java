@@ -15,18 +15,38 @@
  */
 package org.lastaflute.thymeleaf.dialect;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+
+import javax.servlet.http.HttpServletRequest;
 
 import org.dbflute.util.DfCollectionUtil;
 import org.lastaflute.thymeleaf.customizer.ThymeleafAdditionalExpressionResource;
+import org.lastaflute.thymeleaf.customizer.ThymeleafAdditionalExpressionResource.ScopedExpressionObject;
 import org.lastaflute.thymeleaf.customizer.ThymeleafAdditionalExpressionSetupper;
+import org.lastaflute.thymeleaf.customizer.ThymeleafExpressionObjectCreator;
+import org.lastaflute.thymeleaf.customizer.ThymeleafExpressionObjectScope;
 import org.lastaflute.thymeleaf.expression.ClassificationExpressionObject;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex;
 import org.lastaflute.thymeleaf.expression.HandyDateExpressionObject;
+import org.lastaflute.thymeleaf.expression.MemoExpressionObject;
+import org.lastaflute.thymeleaf.instrument.BreakdownClassificationExpressionObject;
+import org.lastaflute.thymeleaf.instrument.BreakdownHandyDateExpressionObject;
+import org.lastaflute.thymeleaf.instrument.FragmentInclusionListener;
+import org.lastaflute.thymeleaf.instrument.ThymeleafFlightRecorder;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRecording;
+import org.lastaflute.thymeleaf.processor.attr.FragmentInclusionRecordingProcessor;
+import org.lastaflute.thymeleaf.processor.attr.expression.GeneratedExpressionCache;
 import org.lastaflute.thymeleaf.processor.factory.LastaProcessorFactory;
 import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.IWebContext;
 import org.thymeleaf.dialect.AbstractProcessorDialect;
 import org.thymeleaf.dialect.IExpressionObjectDialect;
 import org.thymeleaf.expression.IExpressionObjectFactory;
@@ -47,18 +67,29 @@ public class LastaThymeleafDialect extends AbstractProcessorDialect implements I
 
     protected static final String EXPRESSION_OBJECT_CLASSIFICATION = "cls";
     protected static final String EXPRESSION_OBJECT_HANDY = "handy";
+    protected static final String EXPRESSION_OBJECT_MEMO = "memo";
+    protected static final String REQUEST_SCOPED_EXPRESSION_KEY_PREFIX = "lastaflute.thymeleaf.EXPRESSION_OBJECT.";
 
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
     protected final Set<String> allExpressionObjectNames;
     protected final Set<String> cacheableExpressionObjectNames;
-    protected final HandyDateExpressionObject handyDateExpressionObject;
-    protected final LastaExpressionObjectFactory expressionObjectFactory;
+    protected HandyDateExpressionObject handyDateExpressionObject; // null allowed (created at engine initialization)
+    protected final ClassificationMetaIndex classificationMetaIndex;
+    protected final GeneratedExpressionCache generatedExpressionCache;
     protected final Set<IProcessor> additionalProcessors = new LinkedHashSet<IProcessor>();
 
+    protected boolean development; // no index of classification if true (for hot deploy)
+    protected boolean errorsModelDirectBuilding; // la:errors without th:each rewriting if true
+    protected boolean generatedExpressionDirectEvaluation; // la: attributes without th:* rewriting if true
+    protected boolean lastaProcessorUnification; // unified processors for la: attributes of one element if true
+    protected boolean lastaProcessorSuppressed; // no processor for la: attributes if true (templates expanded at build time)
+    protected boolean fragmentInclusionRecording; // recording processors of fragment inclusion if true
+    protected boolean expressionObjectBreakdown; // expression objects recording calls to breakdown if true
+    protected final List<FragmentInclusionListener> fragmentInclusionListenerList = new ArrayList<FragmentInclusionListener>();
     protected ThymeleafAdditionalExpressionSetupper additionalExpressionSetupper; // null allowed
-    protected Map<String, Object> additionalExpressionObjectMap; // not null after initialization (lazy-loaded)
+    protected LastaExpressionObjectFactory expressionObjectFactory; // null allowed (built at engine initialization)
 
     // ===================================================================================
     //                                                                         Constructor
@@ -67,29 +98,117 @@ public class LastaThymeleafDialect extends AbstractProcessorDialect implements I
         super("lasta", LASTA_THYMELEAF_DIALECT_PREFIX, 1000);
         allExpressionObjectNames = prepareAllExpressionObjectNames();
         cacheableExpressionObjectNames = prepareCacheableExpressionObjectNames();
-        handyDateExpressionObject = newHandyDateExpressionObject();
-        expressionObjectFactory = newLastaExpressionObjectFactory();
+        classificationMetaIndex = newClassificationMetaIndex();
+        generatedExpressionCache = newGeneratedExpressionCache();
     }
 
     protected Set<String> prepareAllExpressionObjectNames() {
-        return DfCollectionUtil.newHashSet(EXPRESSION_OBJECT_CLASSIFICATION, EXPRESSION_OBJECT_HANDY);
+        return DfCollectionUtil.newHashSet(EXPRESSION_OBJECT_CLASSIFICATION, EXPRESSION_OBJECT_HANDY, EXPRESSION_OBJECT_MEMO);
     }
 
     protected Set<String> prepareCacheableExpressionObjectNames() {
-        return DfCollectionUtil.newHashSet();
+        // classification object is bound to context so it can be reused in the same context
+        // memo object must be reused in the same context to keep results (created only when used)
+        return DfCollectionUtil.newHashSet(EXPRESSION_OBJECT_CLASSIFICATION, EXPRESSION_OBJECT_MEMO);
     }
 
     protected HandyDateExpressionObject newHandyDateExpressionObject() {
+        if (expressionObjectBreakdown) {
+            return new BreakdownHandyDateExpressionObject();
+        }
         return new HandyDateExpressionObject();
     }
 
-    protected LastaExpressionObjectFactory newLastaExpressionObjectFactory() {
-        return new LastaExpressionObjectFactory();
+    protected ClassificationMetaIndex newClassificationMetaIndex() {
+        return new ClassificationMetaIndex();
+    }
+
+    protected GeneratedExpressionCache newGeneratedExpressionCache() {
+        return new GeneratedExpressionCache();
     }
 
     // -----------------------------------------------------
     //                                                Option
     //                                                ------
+    public LastaThymeleafDialect asDevelopment(boolean development) {
+        this.development = development;
+        return this;
+    }
+
+    /**
+     * Build elements of la:errors directly from error messages, without rewriting to th:each and th:text.
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect buildErrorsModelDirectly() {
+        this.errorsModelDirectBuilding = true;
+        return this;
+    }
+
+    /**
+     * Evaluate expressions generated by la: attributes directly with parsed expression cache,
+     * without rewriting to th:* attributes. (la:errors is also built directly)
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect evaluateGeneratedExpressionDirectly() {
+        this.generatedExpressionDirectEvaluation = true;
+        return this;
+    }
+
+    /**
+     * Process all la: attributes of one element at the same precedence by one unified processor in one pass,
+     * instead of each attribute processor. (la:optionCls is still processed before th:if by its precedence)
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect unifyLastaProcessors() {
+        this.lastaProcessorUnification = true;
+        return this;
+    }
+
+    /**
+     * Register no processor for la: attributes, for templates expanded by LastaTemplateExpander at build time. <br>
+     * Expression objects (e.g. #cls) are still available because expanded th:* attributes use them.
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect suppressLastaProcessors() {
+        this.lastaProcessorSuppressed = true;
+        return this;
+    }
+
+    /**
+     * Record fragment inclusions (th:insert, th:replace, th:include) for breakdown of sampled rendering
+     * (e.g. slow rendering detection) and for flight recorder events of fragment inclusion. <br>
+     * The recording processors are registered only by this option (or listener), not by flight recorder availability.
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect recordFragmentInclusion() {
+        this.fragmentInclusionRecording = true;
+        return this;
+    }
+
+    /**
+     * Record calls of expression objects (#cls and #handy) for breakdown of sampled rendering (e.g. slow rendering detection). <br>
+     * They are timed where they are called, so calls by processors (e.g. direct la:optionCls) are also recorded.
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect breakdownExpressionObject() {
+        this.expressionObjectBreakdown = true;
+        return this;
+    }
+
+    /**
+     * Listen fragment inclusions (th:insert, th:replace, th:include), e.g. usage analytics of fragment templates.
+     * @param listener The listener of fragment inclusion, called in rendering thread. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LastaThymeleafDialect listenFragmentInclusion(FragmentInclusionListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The argument 'listener' should not be null.");
+        }
+        this.fragmentInclusionListenerList.add(listener);
+        this.fragmentInclusionRecording = true;
+        return this;
+    }
+
     public LastaThymeleafDialect additionalExpression(ThymeleafAdditionalExpressionSetupper additionalExpressionSetupper) {
         if (additionalExpressionSetupper == null) {
             throw new IllegalArgumentException("The argument 'additionalExpressionSetupper' should not be null.");
@@ -110,90 +229,246 @@ public class LastaThymeleafDialect extends AbstractProcessorDialect implements I
     //                                                                   Expression Object
     //                                                                   =================
     @Override
-    public IExpressionObjectFactory getExpressionObjectFactory() { // only once called when first access
+    public synchronized IExpressionObjectFactory getExpressionObjectFactory() { // only once called when engine initialization
+        if (expressionObjectFactory == null) { // additional expressions are reflected here (not lazily in rendering)
+            expressionObjectFactory = createLastaExpressionObjectFactory();
+        }
         return expressionObjectFactory;
     }
 
-    public class LastaExpressionObjectFactory implements IExpressionObjectFactory {
+    /**
+     * Build the expression object factory with all expression objects including additional ones. <br>
+     * The registry is immutable after this so the factory needs no lock when building objects.
+     * @return The new-created factory. (NotNull)
+     */
+    protected LastaExpressionObjectFactory createLastaExpressionObjectFactory() {
+        final Map<String, LastaExpressionObjectEntry> entryMap = new LinkedHashMap<String, LastaExpressionObjectEntry>();
+        for (String name : allExpressionObjectNames) {
+            final Function<IExpressionContext, Object> builder = prepareEmbeddedExpressionObjectBuilder(name);
+            if (builder != null) {
+                entryMap.put(name, new LastaExpressionObjectEntry(builder, cacheableExpressionObjectNames.contains(name)));
+            }
+        }
+        if (additionalExpressionSetupper != null) {
+            final ThymeleafAdditionalExpressionResource resource = newThymeleafCustomExpressionResource();
+            additionalExpressionSetupper.setup(resource);
+            final Set<String> additionalCacheableNames = resource.getCacheableExpressionObjectNames();
+            resource.getExpressionObjectMap().forEach((name, expressionObject) -> {
+                final boolean cacheable = additionalCacheableNames.contains(name);
+                entryMap.putIfAbsent(name, new LastaExpressionObjectEntry(context -> expressionObject, cacheable)); // embedded first
+            });
+            resource.getScopedExpressionObjectMap().forEach((name, scoped) -> {
+                entryMap.putIfAbsent(name, prepareScopedExpressionObjectEntry(name, scoped)); // me too
+            });
+        }
+        return newLastaExpressionObjectFactory(entryMap);
+    }
+
+    protected LastaExpressionObjectEntry prepareScopedExpressionObjectEntry(String expressionObjectName, ScopedExpressionObject scoped) {
+        final ThymeleafExpressionObjectCreator creator = scoped.getCreator();
+        final ThymeleafExpressionObjectScope scope = scoped.getScope();
+        if (ThymeleafExpressionObjectScope.ENGINE.equals(scope)) {
+            return new LastaExpressionObjectEntry(new EngineScopedExpressionObjectBuilder(creator), false); // cached in the builder
+        } else if (ThymeleafExpressionObjectScope.REQUEST.equals(scope)) {
+            final String attributeKey = REQUEST_SCOPED_EXPRESSION_KEY_PREFIX + expressionObjectName;
+            return new LastaExpressionObjectEntry(context -> buildRequestScopedExpressionObject(context, attributeKey, creator), true);
+        } else { // template execution
+            return new LastaExpressionObjectEntry(context -> creator.create(context), true); // cached in the context by Thymeleaf
+        }
+    }
+
+    protected Object buildRequestScopedExpressionObject(IExpressionContext context, String attributeKey,
+            ThymeleafExpressionObjectCreator creator) {
+        if (!(context instanceof IWebContext)) { // e.g. mail template, so same as template execution
+            return creator.create(context);
+        }
+        // cacheable so called once per template execution, and request is not shared among threads
+        final HttpServletRequest request = ((IWebContext) context).getRequest();
+        final Object cached = request.getAttribute(attributeKey);
+        if (cached != null) {
+            return cached;
+        }
+        final Object created = creator.create(context);
+        if (created != null) {
+            request.setAttribute(attributeKey, created);
+        }
+        return created;
+    }
+
+    protected Function<IExpressionContext, Object> prepareEmbeddedExpressionObjectBuilder(String expressionObjectName) {
+        if (EXPRESSION_OBJECT_CLASSIFICATION.equals(expressionObjectName)) {
+            return context -> newClassificationExpressionObject(context);
+        } else if (EXPRESSION_OBJECT_HANDY.equals(expressionObjectName)) {
+            handyDateExpressionObject = newHandyDateExpressionObject(); // engine scope, after options are fixed
+            final HandyDateExpressionObject handy = handyDateExpressionObject;
+            return context -> handy;
+        } else if (EXPRESSION_OBJECT_MEMO.equals(expressionObjectName)) {
+            return context -> newMemoExpressionObject(context);
+        }
+        return null; // unknown
+    }
+
+    protected LastaExpressionObjectFactory newLastaExpressionObjectFactory(Map<String, LastaExpressionObjectEntry> entryMap) {
+        return new LastaExpressionObjectFactory(entryMap);
+    }
+
+    public static class LastaExpressionObjectFactory implements IExpressionObjectFactory {
+
+        protected final Map<String, LastaExpressionObjectEntry> entryMap; // not null, read-only
+        protected final Set<String> allExpressionObjectNames; // not null, read-only
+
+        public LastaExpressionObjectFactory(Map<String, LastaExpressionObjectEntry> entryMap) {
+            this.entryMap = Collections.unmodifiableMap(new HashMap<String, LastaExpressionObjectEntry>(entryMap));
+            this.allExpressionObjectNames = Collections.unmodifiableSet(new LinkedHashSet<String>(entryMap.keySet()));
+        }
 
         @Override
         public Set<String> getAllExpressionObjectNames() {
-            initializeAdditionalExpressionIfNeeds(); // reflecting the names set to additional expressions
             return allExpressionObjectNames;
         }
 
         @Override
         public Object buildObject(IExpressionContext context, String expressionObjectName) {
-            if ("cls".equals(expressionObjectName)) {
-                return newClassificationExpressionObject(context);
-            } else if ("handy".equals(expressionObjectName)) {
-                return handyDateExpressionObject;
+            final LastaExpressionObjectEntry entry = entryMap.get(expressionObjectName);
+            if (entry == null) {
+                return null;
             }
-            initializeAdditionalExpressionIfNeeds(); // preparing the object map
-            final Object additionalObject = additionalExpressionObjectMap.get(expressionObjectName);
-            if (additionalObject != null) {
-                return additionalObject;
+            final ThymeleafRecording recording = ThymeleafFlightRecorder.beginExpressionObjectCreation(expressionObjectName, context);
+            try {
+                return entry.build(context);
+            } finally {
+                recording.end();
             }
-            return null;
         }
 
         @Override
         public boolean isCacheable(String expressionObjectName) {
             // if not specified, false for safety
-            return cacheableExpressionObjectNames.contains(expressionObjectName);
+            final LastaExpressionObjectEntry entry = entryMap.get(expressionObjectName);
+            return entry != null && entry.isCacheable();
         }
     }
 
-    protected ClassificationExpressionObject newClassificationExpressionObject(IExpressionContext context) {
-        return new ClassificationExpressionObject(context);
-    }
+    public static class EngineScopedExpressionObjectBuilder implements Function<IExpressionContext, Object> {
 
-    protected ThymeleafAdditionalExpressionResource newThymeleafCustomExpressionResource() {
-        return new ThymeleafAdditionalExpressionResource();
-    }
+        protected final ThymeleafExpressionObjectCreator creator; // not null
 
-    protected void initializeAdditionalExpressionIfNeeds() {
-        if (additionalExpressionObjectMap != null) {
-            return;
+        /** The cached object of the engine scope, which can be lazy-loaded when you get it. (NotNull: after lazy-load) */
+        protected volatile Object cachedExpressionObject;
+
+        public EngineScopedExpressionObjectBuilder(ThymeleafExpressionObjectCreator creator) {
+            this.creator = creator;
         }
-        synchronized (this) {
-            if (additionalExpressionObjectMap != null) {
-                return;
+
+        @Override
+        public Object apply(IExpressionContext context) {
+            if (cachedExpressionObject != null) { // lock-free after first creation
+                return cachedExpressionObject;
             }
-            if (additionalExpressionSetupper != null) {
-                final ThymeleafAdditionalExpressionResource resource = newThymeleafCustomExpressionResource();
-                additionalExpressionSetupper.setup(resource);
-                final Map<String, Object> expressionObjectMap = resource.getExpressionObjectMap(); // read-only
-                expressionObjectMap.keySet().forEach(name -> {
-                    allExpressionObjectNames.add(name); // required since thymeleaf3
-                });
-                additionalExpressionObjectMap = expressionObjectMap;
-                cacheableExpressionObjectNames.addAll(resource.getCacheableExpressionObjectNames());
-            } else {
-                additionalExpressionObjectMap = Collections.emptyMap();
+            synchronized (this) {
+                if (cachedExpressionObject != null) {
+                    return cachedExpressionObject;
+                }
+                cachedExpressionObject = creator.create(context); // only once (unless null)
             }
+            return cachedExpressionObject;
         }
     }
 
+    public static class LastaExpressionObjectEntry {
+
+        protected final Function<IExpressionContext, Object> builder; // not null
+        protected final boolean cacheable;
+
+        public LastaExpressionObjectEntry(Function<IExpressionContext, Object> builder, boolean cacheable) {
+            this.builder = builder;
+            this.cacheable = cacheable;
+        }
+
+        public Object build(IExpressionContext context) {
+            return builder.apply(context);
+        }
+
+        public boolean isCacheable() {
+            return cacheable;
+        }
+    }
+
+    protected ClassificationExpressionObject newClassificationExpressionObject(IExpressionContext context) {
+        // classes of classification may be reloaded by hot deploy so no index in development
+        final ClassificationMetaIndex metaIndex = development ? null : classificationMetaIndex;
+        if (expressionObjectBreakdown) {
+            return new BreakdownClassificationExpressionObject(context, metaIndex);
+        }
+        return new ClassificationExpressionObject(context, metaIndex);
+    }
+
+    protected MemoExpressionObject newMemoExpressionObject(IExpressionContext context) {
+        return new MemoExpressionObject(); // per context by cacheable expression object
+    }
+
+    protected ThymeleafAdditionalExpressionResource newThymeleafCustomExpressionResource() {
+        return new ThymeleafAdditionalExpressionResource();
+    }
+
     // ===================================================================================
     //                                                                  Embedded Processor
     //                                                                  ==================
     @Override
     public Set<IProcessor> getProcessors(String dialectPrefix) { // only once called when first access
         final Set<IProcessor> processors = createLastaProcessorsSet();
+        if (fragmentInclusionRecording) { // no processor for other elements if no recording
+            processors.addAll(createRecordingProcessorsSet());
+        }
         processors.addAll(getAdditionalProcessors());
         return processors;
     }
 
+    protected Set<IProcessor> createRecordingProcessorsSet() {
+        final Set<IProcessor> processors = new LinkedHashSet<IProcessor>();
+        for (String attrName : FragmentInclusionRecordingProcessor.INCLUSION_ATTR_NAMES) {
+            processors.add(newFragmentInclusionRecordingProcessor(attrName));
+        }
+        return processors;
+    }
+
+    protected FragmentInclusionRecordingProcessor newFragmentInclusionRecordingProcessor(String attrName) {
+        return new FragmentInclusionRecordingProcessor(attrName, fragmentInclusionListenerList);
+    }
+
     protected Set<IProcessor> createLastaProcessorsSet() {
-        return newLastaProcessorFactory(LASTA_THYMELEAF_DIALECT_PREFIX).createLastaProcessorsSet();
+        if (lastaProcessorSuppressed) { // la: attributes are already expanded to th: attributes
+            return new LinkedHashSet<IProcessor>();
+        }
+        final LastaProcessorFactory factory = newLastaProcessorFactory(LASTA_THYMELEAF_DIALECT_PREFIX);
+        if (errorsModelDirectBuilding) {
+            factory.buildErrorsModelDirectly();
+        }
+        if (generatedExpressionDirectEvaluation) {
+            factory.evaluateGeneratedExpressionDirectly(generatedExpressionCache);
+        }
+        if (lastaProcessorUnification) {
+            factory.unifyProcessors();
+        }
+        return factory.createLastaProcessorsSet();
     }
 
     protected LastaProcessorFactory newLastaProcessorFactory(String dialectPrefix) {
         return new LastaProcessorFactory(dialectPrefix);
     }
 
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
     public Set<IProcessor> getAdditionalProcessors() { // as accessor
         return Collections.unmodifiableSet(additionalProcessors);
     }
+
+    public ClassificationMetaIndex getClassificationMetaIndex() {
+        return classificationMetaIndex;
+    }
+
+    public GeneratedExpressionCache getGeneratedExpressionCache() {
+        return generatedExpressionCache;
+    }
 }
@@ -28,6 +28,7 @@ import org.lastaflute.core.direction.FwAssistantDirector;
 import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
 import org.lastaflute.db.dbflute.exception.ProvidedClassificationNotFoundException;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex.IndexedClassification;
 import org.thymeleaf.context.IExpressionContext;
 import org.thymeleaf.context.WebEngineContext;
 import org.thymeleaf.engine.TemplateData;
@@ -62,12 +63,22 @@ public class ClassificationExpressionObject {
     //                                                                           Attribute
     //                                                                           =========
     private final IExpressionContext context;
+    private final ClassificationMetaIndex metaIndex; // null allowed (if null, provider is resolved in every call)
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public ClassificationExpressionObject(IExpressionContext context) {
+        this(context, null);
+    }
+
+    /**
+     * @param context The context of expression for current template. (NotNull)
+     * @param metaIndex The index of classification meta shared in template engine. (NullAllowed: no index)
+     */
+    public ClassificationExpressionObject(IExpressionContext context, ClassificationMetaIndex metaIndex) {
         this.context = context;
+        this.metaIndex = metaIndex;
     }
 
     // ===================================================================================
@@ -93,17 +104,19 @@ public class ClassificationExpressionObject {
             pureName = classificationName;
             groupName = null;
         }
-        final ClassificationMeta meta = findClassificationMeta(pureName, () -> {
-            return "list('" + classificationName + "')";
-        });
         if (groupName != null) {
+            final ClassificationMeta meta = findClassificationMeta(pureName, () -> {
+                return "list('" + classificationName + "')";
+            });
             final List<Classification> groupOfList = meta.groupOf(groupName);
             if (groupOfList.isEmpty()) { // means not found
                 throw new TemplateProcessingException("Not found the classification group: " + groupName + " of " + pureName);
             }
             return groupOfList;
         } else {
-            return meta.listAll();
+            return findClassificationAll(pureName, () -> {
+                return "list('" + classificationName + "')";
+            });
         }
     }
 
@@ -117,9 +130,9 @@ public class ClassificationExpressionObject {
      */
     public List<Classification> listAll(String classificationName) {
         assertArgumentNotNull("classificationName", classificationName);
-        return findClassificationMeta(classificationName, () -> {
+        return findClassificationAll(classificationName, () -> {
             return "listAll('" + classificationName + "')";
-        }).listAll();
+        });
     }
 
     // -----------------------------------------------------
@@ -211,9 +224,9 @@ public class ClassificationExpressionObject {
     public Classification codeOf(String classificationName, String code) {
         assertArgumentNotNull("elementName", classificationName);
         assertArgumentNotNull("code", code);
-        return findClassificationMeta(classificationName, () -> {
+        return findClassificationByCode(classificationName, code, () -> {
             return "codeOf('" + classificationName + "', '" + code + "')";
-        }).codeOf(code);
+        });
     }
 
     /**
@@ -249,10 +262,39 @@ public class ClassificationExpressionObject {
     //                                                                      Classification
     //                                                                      ==============
     protected ClassificationMeta findClassificationMeta(String classificationName, Supplier<Object> callerInfo) {
+        if (metaIndex != null) {
+            return findIndexedClassification(classificationName, callerInfo).getMeta();
+        }
         return provideClassificationMeta(getListedClassificationProvider(), classificationName, callerInfo);
     }
 
+    protected List<Classification> findClassificationAll(String classificationName, Supplier<Object> callerInfo) {
+        if (metaIndex != null) {
+            return findIndexedClassification(classificationName, callerInfo).getAllList(); // read-only
+        }
+        return findClassificationMeta(classificationName, callerInfo).listAll();
+    }
+
+    protected Classification findClassificationByCode(String classificationName, String code, Supplier<Object> callerInfo) {
+        if (metaIndex != null) {
+            return findIndexedClassification(classificationName, callerInfo).codeOf(code);
+        }
+        return findClassificationMeta(classificationName, callerInfo).codeOf(code);
+    }
+
+    protected IndexedClassification findIndexedClassification(String classificationName, Supplier<Object> callerInfo) {
+        try {
+            return metaIndex.findIndexed(classificationName);
+        } catch (ProvidedClassificationNotFoundException e) {
+            throwListedClassificationNotFoundException(classificationName, callerInfo, e);
+            return null; // unreachable
+        }
+    }
+
     protected String findClassificationAlias(Classification cls) {
+        if (metaIndex != null) {
+            return metaIndex.findAlias(cls, getUserLocale()); // cached per locale
+        }
         return determineClassificationAliasKey().map(key -> {
             return (String) cls.subItemMap().get(key);
         }).orElse(cls.alias());
@@ -263,6 +305,9 @@ public class ClassificationExpressionObject {
     }
 
     protected ListedClassificationProvider getListedClassificationProvider() {
+        if (metaIndex != null) {
+            return metaIndex.getProvider(); // cached in the index
+        }
         return getAssistantDirector().assistDbDirection().assistListedClassificationProvider();
     }
 
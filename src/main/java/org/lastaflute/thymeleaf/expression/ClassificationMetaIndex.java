@@ -0,0 +1,243 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dbflute.jdbc.Classification;
+import org.dbflute.jdbc.ClassificationMeta;
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.core.direction.FwAssistantDirector;
+import org.lastaflute.core.util.ContainerUtil;
+import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
+import org.lastaflute.db.dbflute.exception.ProvidedClassificationNotFoundException;
+
+/**
+ * The index of classification meta for #cls expression, shared in one template engine. <br>
+ * The listed classification provider is resolved only once, and meta and code are found by hash lookup.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ClassificationMetaIndex {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /**
+     * The cached provider of listed classification, which can be lazy-loaded when you get it.
+     * Don't use these variables directly, you should use the getter. (NotNull: after lazy-load)
+     */
+    protected volatile ListedClassificationProvider cachedProvider;
+
+    /** The map of indexed classification, keyed by classification name. (NotNull) */
+    protected final Map<String, IndexedClassification> indexedMap = new ConcurrentHashMap<String, IndexedClassification>();
+
+    /** The map of alias resolved by locale, keyed by locale. (NotNull) */
+    protected final Map<Locale, LocaleAlias> localeAliasMap = new ConcurrentHashMap<Locale, LocaleAlias>();
+
+    // ===================================================================================
+    //                                                                          Find Index
+    //                                                                          ==========
+    /**
+     * @param classificationName The name of classification, without group name. (NotNull)
+     * @return The indexed classification for the name. (NotNull)
+     * @throws ProvidedClassificationNotFoundException When the classification is not found.
+     */
+    public IndexedClassification findIndexed(String classificationName) {
+        final IndexedClassification cached = indexedMap.get(classificationName); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final ClassificationMeta meta = getProvider().provide(classificationName); // may throw
+        final IndexedClassification created = newIndexedClassification(meta);
+        final IndexedClassification existing = indexedMap.putIfAbsent(classificationName, created);
+        return existing != null ? existing : created;
+    }
+
+    protected IndexedClassification newIndexedClassification(ClassificationMeta meta) {
+        return new IndexedClassification(meta);
+    }
+
+    /**
+     * @param classificationName The name of classification, without group name. (NotNull)
+     * @return true if the classification is provided. (e.g. for template linter)
+     */
+    public boolean existsClassification(String classificationName) {
+        try {
+            findIndexed(classificationName);
+            return true;
+        } catch (ProvidedClassificationNotFoundException ignored) {
+            return false;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                          Find Alias
+    //                                                                          ==========
+    /**
+     * Find the alias of the classification for the locale, cached per locale and classification.
+     * @param cls The instance of classification to get alias. (NotNull)
+     * @param locale The locale to determine alias, e.g. user locale. (NullAllowed: if null, no cache)
+     * @return The alias of classification for the locale. (NullAllowed: when alias of classification is null)
+     */
+    public String findAlias(Classification cls, Locale locale) {
+        if (locale == null) { // basically no way, just in case
+            return resolveAlias(cls, getProvider().determineAlias(locale).orElse(null));
+        }
+        LocaleAlias localeAlias = localeAliasMap.get(locale); // lock-free
+        if (localeAlias == null) {
+            final LocaleAlias created = newLocaleAlias(getProvider().determineAlias(locale).orElse(null));
+            final LocaleAlias existing = localeAliasMap.putIfAbsent(locale, created);
+            localeAlias = existing != null ? existing : created;
+        }
+        return localeAlias.findAlias(cls);
+    }
+
+    protected LocaleAlias newLocaleAlias(String aliasKey) {
+        return new LocaleAlias(aliasKey);
+    }
+
+    protected static String resolveAlias(Classification cls, String aliasKey) {
+        if (aliasKey != null) {
+            final String subAlias = (String) cls.subItemMap().get(aliasKey);
+            if (subAlias != null) {
+                return subAlias;
+            }
+        }
+        return cls.alias();
+    }
+
+    public static class LocaleAlias {
+
+        protected final String aliasKey; // null allowed (means default alias)
+        protected final Map<Classification, String> aliasMap = new ConcurrentHashMap<Classification, String>();
+
+        public LocaleAlias(String aliasKey) {
+            this.aliasKey = aliasKey;
+        }
+
+        public String findAlias(Classification cls) {
+            final String cached = aliasMap.get(cls); // lock-free
+            if (cached != null) {
+                return cached;
+            }
+            final String alias = resolveAlias(cls, aliasKey);
+            if (alias != null) { // may be replaced by other thread but same value
+                aliasMap.put(cls, alias);
+            }
+            return alias;
+        }
+
+        public OptionalThing<String> getAliasKey() {
+            return OptionalThing.ofNullable(aliasKey, () -> {
+                throw new IllegalStateException("Not found the alias key for the locale.");
+            });
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    /**
+     * Clear all indexes, e.g. when classification definitions are reloaded.
+     */
+    public void clear() {
+        indexedMap.clear();
+        localeAliasMap.clear();
+    }
+
+    /**
+     * @return The count of indexed classifications, e.g. for monitoring.
+     */
+    public int getIndexedCount() {
+        return indexedMap.size();
+    }
+
+    /**
+     * @return The count of locales that have alias cache, e.g. for monitoring.
+     */
+    public int getLocaleAliasCount() {
+        return localeAliasMap.size();
+    }
+
+    // ===================================================================================
+    //                                                                  Indexed Definition
+    //                                                                  ==================
+    public static class IndexedClassification {
+
+        protected final ClassificationMeta meta; // not null
+        protected final List<Classification> allList; // not null, read-only
+        protected final Map<String, Classification> codeMap; // not null, read-only, key is lower-case code
+
+        public IndexedClassification(ClassificationMeta meta) {
+            this.meta = meta;
+            this.allList = Collections.unmodifiableList(meta.listAll());
+            this.codeMap = Collections.unmodifiableMap(prepareCodeMap(allList));
+        }
+
+        protected Map<String, Classification> prepareCodeMap(List<Classification> allList) {
+            // same rule as codeOf() of generated classification: lower-case code and sister codes
+            final Map<String, Classification> map = new HashMap<String, Classification>(allList.size() * 2);
+            for (Classification cls : allList) {
+                map.put(cls.code().toLowerCase(), cls);
+            }
+            for (Classification cls : allList) {
+                for (String sister : cls.sisterSet()) {
+                    map.putIfAbsent(sister.toLowerCase(), cls);
+                }
+            }
+            return map;
+        }
+
+        /**
+         * @param code The code of classification to find. (NotNull)
+         * @return The found classification. (NullAllowed: when not found)
+         */
+        public Classification codeOf(String code) {
+            final Classification found = codeMap.get(code.toLowerCase());
+            return found != null ? found : meta.codeOf(code); // fallback just in case
+        }
+
+        public ClassificationMeta getMeta() {
+            return meta;
+        }
+
+        public List<Classification> getAllList() {
+            return allList;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Component
+    //                                                                           =========
+    public ListedClassificationProvider getProvider() {
+        if (cachedProvider != null) {
+            return cachedProvider;
+        }
+        synchronized (this) {
+            if (cachedProvider != null) {
+                return cachedProvider;
+            }
+            cachedProvider = ContainerUtil.getComponent(FwAssistantDirector.class).assistDbDirection().assistListedClassificationProvider();
+        }
+        return cachedProvider;
+    }
+}
@@ -18,14 +18,25 @@ package org.lastaflute.thymeleaf.expression;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.dbflute.helper.HandyDate;
+import org.dbflute.system.DBFluteSystem;
 import org.dbflute.util.Srl;
 import org.lastaflute.core.direction.AccessibleConfig;
 import org.lastaflute.core.util.ContainerUtil;
+import org.lastaflute.di.helper.beans.BeanDesc;
+import org.lastaflute.di.helper.beans.PropertyDesc;
+import org.lastaflute.di.helper.beans.factory.BeanDescFactory;
+import org.lastaflute.thymeleaf.expression.HandyDateFormatterCache.CompiledDatePattern;
 import org.thymeleaf.exceptions.TemplateProcessingException;
 
 /**
@@ -36,11 +47,13 @@ import org.thymeleaf.exceptions.TemplateProcessingException;
  *     &lt;span th:text="${#handy.format(member.birthdate)}"&gt;20XX-XX-XX&lt;/span&gt;
  *     &lt;span th:text="${#handy.format(member.birthdate,'yyyy/MM/dd')}"&gt;20XX-XX-XX&lt;/span&gt;
  *     &lt;span th:text="${#handy.date(member.birthdate).addYear(10).toDisp('yyyy-MM-dd')}"&gt;20XX-XX-XX&lt;/span&gt;
+ *     &lt;td th:each="date : ${#handy.formatProperty(memberList, 'birthdate')}" th:text="${date}"&gt;20XX-XX-XX&lt;/td&gt;
  *
  *   The result of processing this example will be as expected.
  *     &lt;span&gt;2006-09-26&lt;/span&gt;
  *     &lt;span&gt;2006/09/26&lt;/span&gt;
  *     &lt;span&gt;2016-09-26&lt;/span&gt;
+ *     &lt;td&gt;2006-09-26&lt;/td&gt;&lt;td&gt;2009-12-24&lt;/td&gt;...
  * </pre>
  *
  * @author schatten
@@ -69,6 +82,9 @@ public class HandyDateExpressionObject {
     /** Default time pattern for format(). */
     public static final String DEFAULT_TIME_PATTERN = "HH:mm:ss";
 
+    /** The max size of filtered pattern cache, not cached if over (for dynamic patterns). */
+    protected static final int FILTERED_PATTERN_CACHE_LIMIT = 1000;
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -76,7 +92,30 @@ public class HandyDateExpressionObject {
      * The cached configuration of application, which can be lazy-loaded when you get it.
      * Don't use these variables directly, you should use the getter. (NotNull: after lazy-load)
      */
-    protected AccessibleConfig cachedApplicationConfig;
+    protected volatile AccessibleConfig cachedApplicationConfig;
+
+    /**
+     * The snapshot of application standard patterns, which can be lazy-loaded when you get it.
+     * Don't use these variables directly, you should use the getter. (NotNull: after lazy-load)
+     */
+    protected volatile StandardPatternSnapshot cachedStandardPattern;
+
+    /** The cache of formatters for format(), keyed by resolved pattern and locale. (NotNull) */
+    protected final HandyDateFormatterCache formatterCache;
+
+    /** The map of filtered pattern e.g. '$$date$$ (E)' to 'yyyy/MM/dd (E)', keyed by specified pattern. (NotNull) */
+    protected final Map<String, String> filteredPatternMap = new ConcurrentHashMap<String, String>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public HandyDateExpressionObject() {
+        formatterCache = newHandyDateFormatterCache();
+    }
+
+    protected HandyDateFormatterCache newHandyDateFormatterCache() {
+        return new HandyDateFormatterCache();
+    }
 
     // ===================================================================================
     //                                                                          Handy Date
@@ -203,19 +242,19 @@ public class HandyDateExpressionObject {
         if (expression == null) {
             return DEFAULT_DATETIME_PATTERN; // unused: returns null
         }
-        final AccessibleConfig config = getApplicationConfig();
+        final StandardPatternSnapshot standard = getStandardPattern();
         if (expression instanceof LocalDate) {
-            return getAppStandardPatternDate(config);
+            return standard.getDatePattern();
         } else if (expression instanceof LocalDateTime) {
-            return getAppStandardPatternDatetime(config);
+            return standard.getDatetimePattern();
         } else if (expression instanceof LocalTime) {
-            return getAppStandardPatternTime(config);
+            return standard.getTimePattern();
         } else if (expression instanceof java.sql.Timestamp) {
-            return getAppStandardPatternDatetime(config);
+            return standard.getDatetimePattern();
         } else if (expression instanceof java.sql.Time) {
-            return getAppStandardPatternTime(config);
+            return standard.getTimePattern();
         } else if (expression instanceof java.util.Date) {
-            return getAppStandardPatternDate(config);
+            return standard.getDatePattern();
         } else { // unknown expression
             return DEFAULT_DATETIME_PATTERN; // unused: basicaly error by other process
         }
@@ -233,45 +272,121 @@ public class HandyDateExpressionObject {
             if (expression == null) {
                 return null;
             }
-            if (expression instanceof LocalDate) {
-                return create((LocalDate) expression).toDisp(pattern);
-            }
-            if (expression instanceof LocalDateTime) {
-                return create((LocalDateTime) expression).toDisp(pattern);
+            return formatFiltered(expression, pattern, null, null);
+        }
+        String msg = "Second argument as two arguments should be String(pattern): objPattern=" + objPattern;
+        throw new TemplateProcessingException(msg);
+    }
+
+    /**
+     * @param expression Date expression. (NotNull)
+     * @param pattern The filtered pattern of date format. (NotNull)
+     * @param compiled The compiled pattern already found for the pattern. (NullAllowed: if null, found here)
+     * @param zoneId The zone ID for java.util.Date. (NullAllowed: if null, found here)
+     * @return formatted date string. (NotNull)
+     */
+    protected String formatFiltered(Object expression, String pattern, CompiledDatePattern compiled, ZoneId zoneId) {
+        // basic types are formatted by cached formatter without HandyDate if the pattern is compatible
+        if (expression instanceof LocalDate) {
+            final CompiledDatePattern found = compiled != null ? compiled : findCompiledPattern(pattern);
+            if (found.isDirectFormattable()) {
+                return found.format((LocalDate) expression);
             }
-            if (expression instanceof java.util.Date) {
-                return create((java.util.Date) expression).toDisp(pattern);
+            return create((LocalDate) expression).toDisp(pattern);
+        }
+        if (expression instanceof LocalDateTime) {
+            final CompiledDatePattern found = compiled != null ? compiled : findCompiledPattern(pattern);
+            if (found.isDirectFormattable()) {
+                return found.format((LocalDateTime) expression);
             }
-            if (expression instanceof String) {
-                return create((String) expression).toDisp(pattern);
+            return create((LocalDateTime) expression).toDisp(pattern);
+        }
+        if (expression instanceof java.util.Date) {
+            final CompiledDatePattern found = compiled != null ? compiled : findCompiledPattern(pattern);
+            if (found.isDirectFormattable()) {
+                return found.format((java.util.Date) expression, zoneId != null ? zoneId : getFormatZoneId());
             }
-            String msg =
-                    "First argument as two arguments should be LocalDate or LocalDateTime or Date or String(expression): " + expression;
-            throw new TemplateProcessingException(msg);
+            return create((java.util.Date) expression).toDisp(pattern);
         }
-        String msg = "Second argument as two arguments should be String(pattern): objPattern=" + objPattern;
+        if (expression instanceof String) {
+            return create((String) expression).toDisp(pattern);
+        }
+        String msg = "First argument as two arguments should be LocalDate or LocalDateTime or Date or String(expression): " + expression;
         throw new TemplateProcessingException(msg);
     }
 
     protected String filterPattern(String pattern) {
+        final String cached = filteredPatternMap.get(pattern); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final String filtered = doFilterPattern(pattern);
+        if (filteredPatternMap.size() < FILTERED_PATTERN_CACHE_LIMIT) { // roughly limited
+            filteredPatternMap.put(pattern, filtered);
+        }
+        return filtered;
+    }
+
+    protected String doFilterPattern(String pattern) {
         if (pattern.contains("$$")) {
-            final AccessibleConfig config = getApplicationConfig();
+            final StandardPatternSnapshot standard = getStandardPattern();
             String filtered = pattern;
-            filtered = Srl.replace(filtered, "$$date$$", getAppStandardPatternDate(config));
-            filtered = Srl.replace(filtered, "$$datetime$$", getAppStandardPatternDatetime(config));
-            filtered = Srl.replace(filtered, "$$time$$", getAppStandardPatternTime(config));
+            filtered = Srl.replace(filtered, "$$date$$", standard.getDatePattern());
+            filtered = Srl.replace(filtered, "$$datetime$$", standard.getDatetimePattern());
+            filtered = Srl.replace(filtered, "$$time$$", standard.getTimePattern());
             return filtered;
         } else {
             return pattern;
         }
     }
 
+    // -----------------------------------------------------
+    //                                      Cached Formatter
+    //                                      ----------------
+    protected CompiledDatePattern findCompiledPattern(String pattern) {
+        return formatterCache.findCompiled(pattern, getFormatLocale());
+    }
+
+    protected Locale getFormatLocale() { // same as HandyDate's default
+        return DBFluteSystem.getFinalLocale();
+    }
+
+    protected ZoneId getFormatZoneId() { // same as HandyDate's default
+        return DBFluteSystem.getFinalTimeZone().toZoneId();
+    }
+
     // -----------------------------------------------------
     //                                  Application Standard
     //                                  --------------------
     // #for_now application standard date patterns are only format() (not used at parsing date)
     // it cannot determine date, date-time, time when parsing string expression so difficult
     // however low priority because parsing string expression is rare case on HTML template 
+    protected StandardPatternSnapshot getStandardPattern() {
+        final StandardPatternSnapshot cached = cachedStandardPattern;
+        if (cached != null) {
+            return cached;
+        }
+        final AccessibleConfig config = getApplicationConfig();
+        final StandardPatternSnapshot snapshot = newStandardPatternSnapshot(getAppStandardPatternDate(config),
+                getAppStandardPatternDatetime(config), getAppStandardPatternTime(config));
+        cachedStandardPattern = snapshot; // may be overridden by other thread but same value
+        return snapshot;
+    }
+
+    protected StandardPatternSnapshot newStandardPatternSnapshot(String datePattern, String datetimePattern, String timePattern) {
+        return new StandardPatternSnapshot(datePattern, datetimePattern, timePattern);
+    }
+
+    /**
+     * Reload application standard patterns from configuration, also clearing cached patterns and formatters. <br>
+     * Call this when the configuration is changed, e.g. by your hot reloading.
+     */
+    public void reloadStandardPattern() {
+        cachedStandardPattern = null;
+        filteredPatternMap.clear();
+        formatterCache.clear();
+    }
+
     protected String getAppStandardPatternDate(AccessibleConfig config) {
         return config.getOrDefault(KEY_OF_DATE_PATTERN, DEFAULT_DATE_PATTERN);
     }
@@ -284,6 +399,158 @@ public class HandyDateExpressionObject {
         return config.getOrDefault(KEY_OF_TIME_PATTERN, DEFAULT_TIME_PATTERN);
     }
 
+    /**
+     * The immutable snapshot of application standard patterns.
+     */
+    public static class StandardPatternSnapshot {
+
+        protected final String datePattern; // not null
+        protected final String datetimePattern; // not null
+        protected final String timePattern; // not null
+
+        public StandardPatternSnapshot(String datePattern, String datetimePattern, String timePattern) {
+            this.datePattern = datePattern;
+            this.datetimePattern = datetimePattern;
+            this.timePattern = timePattern;
+        }
+
+        public String getDatePattern() {
+            return datePattern;
+        }
+
+        public String getDatetimePattern() {
+            return datetimePattern;
+        }
+
+        public String getTimePattern() {
+            return timePattern;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Bulk Format
+    //                                                                         ===========
+    /**
+     * Get list of formatted date string, using application standard pattern or default pattern. <br>
+     * The pattern and formatter are chosen once for the same type of elements.
+     * <pre>
+     * e.g. &lt;ul th:with="dates=${#handy.formatAll(birthdateList)}"&gt;&lt;li th:each="date : ${dates}" th:text="${date}"&gt;&lt;/li&gt;&lt;/ul&gt;
+     * </pre>
+     * @param expressions The collection of date expression. (NullAllowed: if null, returns empty list)
+     * @return The list of formatted date string, same order as the collection. (NotNull, ElementNullAllowed: if element is null)
+     */
+    public List<String> formatAll(Collection<?> expressions) {
+        return doFormatAll(expressions, null, null);
+    }
+
+    /**
+     * Get list of formatted date string. <br>
+     * The pattern and formatter are chosen once for the whole collection.
+     * @param expressions The collection of date expression. (NullAllowed: if null, returns empty list)
+     * @param objPattern date format pattern. (NotNull)
+     * @return The list of formatted date string, same order as the collection. (NotNull, ElementNullAllowed: if element is null)
+     */
+    public List<String> formatAll(Collection<?> expressions, Object objPattern) {
+        return doFormatAll(expressions, null, assertBulkPattern(objPattern));
+    }
+
+    /**
+     * Get list of formatted date string of the property, using application standard pattern or default pattern. <br>
+     * The property is projected from each bean (or map), and the formatter is chosen once for the same type.
+     * <pre>
+     * e.g. &lt;table th:with="orderDates=${#handy.formatProperty(orders, 'orderDate')}"&gt;
+     *        &lt;tr th:each="order, st : ${orders}"&gt;&lt;td th:text="${orderDates[st.index]}"&gt;&lt;/td&gt;&lt;/tr&gt;
+     *      &lt;/table&gt;
+     * </pre>
+     * @param beans The collection of bean or map that has the date property. (NullAllowed: if null, returns empty list)
+     * @param propertyName The name of date property in the bean. (NotNull)
+     * @return The list of formatted date string, same order as the collection. (NotNull, ElementNullAllowed: if property is null)
+     */
+    public List<String> formatProperty(Collection<?> beans, String propertyName) {
+        assertBulkPropertyName(propertyName);
+        return doFormatAll(beans, propertyName, null);
+    }
+
+    /**
+     * Get list of formatted date string of the property. <br>
+     * The property is projected from each bean (or map), and the formatter is chosen once for the whole collection.
+     * @param beans The collection of bean or map that has the date property. (NullAllowed: if null, returns empty list)
+     * @param propertyName The name of date property in the bean. (NotNull)
+     * @param objPattern date format pattern. (NotNull)
+     * @return The list of formatted date string, same order as the collection. (NotNull, ElementNullAllowed: if property is null)
+     */
+    public List<String> formatProperty(Collection<?> beans, String propertyName, Object objPattern) {
+        assertBulkPropertyName(propertyName);
+        return doFormatAll(beans, propertyName, assertBulkPattern(objPattern));
+    }
+
+    protected List<String> doFormatAll(Collection<?> elements, String propertyName, String specifiedPattern) {
+        if (elements == null || elements.isEmpty()) {
+            return new ArrayList<String>(0);
+        }
+        final List<String> formattedList = new ArrayList<String>(elements.size());
+        final String specifiedFiltered = specifiedPattern != null ? filterPattern(specifiedPattern) : null;
+        final ZoneId zoneId = getFormatZoneId(); // once for the whole batch
+        Class<?> beanType = null;
+        PropertyDesc propertyDesc = null;
+        Class<?> expressionType = null;
+        String pattern = specifiedFiltered;
+        CompiledDatePattern compiled = specifiedFiltered != null ? findCompiledPattern(specifiedFiltered) : null;
+        for (Object element : elements) {
+            final Object expression;
+            if (propertyName != null) {
+                if (element == null) {
+                    expression = null;
+                } else if (element instanceof Map<?, ?>) {
+                    expression = ((Map<?, ?>) element).get(propertyName);
+                } else {
+                    if (element.getClass() != beanType) { // basically first only
+                        beanType = element.getClass();
+                        propertyDesc = findBulkPropertyDesc(beanType, propertyName);
+                    }
+                    expression = propertyDesc.getValue(element);
+                }
+            } else {
+                expression = element;
+            }
+            if (expression == null) {
+                formattedList.add(null);
+                continue;
+            }
+            if (specifiedFiltered == null && expression.getClass() != expressionType) { // basically first only
+                expressionType = expression.getClass();
+                pattern = filterPattern(chooseDateFormatPattern(expression));
+                compiled = findCompiledPattern(pattern);
+            }
+            formattedList.add(formatFiltered(expression, pattern, compiled, zoneId));
+        }
+        return formattedList;
+    }
+
+    protected PropertyDesc findBulkPropertyDesc(Class<?> beanType, String propertyName) {
+        final BeanDesc beanDesc = BeanDescFactory.getBeanDesc(beanType);
+        if (!beanDesc.hasPropertyDesc(propertyName)) {
+            String msg = "Not found the property in the element: property=" + propertyName + ", type=" + beanType.getName();
+            throw new TemplateProcessingException(msg);
+        }
+        return beanDesc.getPropertyDesc(propertyName);
+    }
+
+    protected String assertBulkPattern(Object objPattern) {
+        if (!(objPattern instanceof String)) {
+            String msg = "Second argument should be String(pattern): objPattern=" + objPattern;
+            throw new TemplateProcessingException(msg);
+        }
+        return (String) objPattern;
+    }
+
+    protected void assertBulkPropertyName(String propertyName) {
+        if (propertyName == null || propertyName.isEmpty()) {
+            String msg = "Second argument should be property name of the element: propertyName=" + propertyName;
+            throw new TemplateProcessingException(msg);
+        }
+    }
+
     // ===================================================================================
     //                                                                    Delegate Utility
     //                                                                    ================
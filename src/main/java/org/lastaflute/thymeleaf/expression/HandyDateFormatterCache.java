@@ -0,0 +1,230 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cache of immutable date formatters for #handy expression, keyed by pattern and locale. <br>
+ * Only patterns that have the same meaning between SimpleDateFormat (used by HandyDate)
+ * and DateTimeFormatter can be directly formatted, others should be formatted by HandyDate.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class HandyDateFormatterCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The pattern letters that can be formatted with the same result as SimpleDateFormat. */
+    protected static final String COMPATIBLE_LETTERS = "yMdHhKkmsSEa";
+
+    /** The pattern letters that need time fields. */
+    protected static final String TIME_LETTERS = "HhKkmsSa";
+
+    /** The special characters of DateTimeFormatter that are plain literal in SimpleDateFormat. */
+    protected static final String RESERVED_CHARS = "[]{}#";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of compiled pattern, keyed by locale and pattern. (NotNull) */
+    protected final Map<Locale, Map<String, CompiledDatePattern>> localePatternMap =
+            new ConcurrentHashMap<Locale, Map<String, CompiledDatePattern>>();
+
+    // ===================================================================================
+    //                                                                       Find Compiled
+    //                                                                       =============
+    /**
+     * @param pattern The resolved pattern of date format, e.g. yyyy/MM/dd. (NotNull)
+     * @param locale The locale for the formatter. (NotNull)
+     * @return The compiled pattern, cached in this object. (NotNull)
+     */
+    public CompiledDatePattern findCompiled(String pattern, Locale locale) {
+        Map<String, CompiledDatePattern> patternMap = localePatternMap.get(locale); // lock-free
+        if (patternMap == null) {
+            final Map<String, CompiledDatePattern> created = new ConcurrentHashMap<String, CompiledDatePattern>();
+            final Map<String, CompiledDatePattern> existing = localePatternMap.putIfAbsent(locale, created);
+            patternMap = existing != null ? existing : created;
+        }
+        final CompiledDatePattern cached = patternMap.get(pattern); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final CompiledDatePattern compiled = compile(pattern, locale);
+        final CompiledDatePattern existing = patternMap.putIfAbsent(pattern, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    protected CompiledDatePattern compile(String pattern, Locale locale) {
+        if (!isCompatiblePattern(pattern)) {
+            return new CompiledDatePattern(pattern, null, false); // formatted by HandyDate
+        }
+        final DateTimeFormatter formatter;
+        try {
+            formatter = DateTimeFormatter.ofPattern(pattern, locale);
+        } catch (IllegalArgumentException e) { // basically no way because of compatible check
+            return new CompiledDatePattern(pattern, null, false);
+        }
+        return new CompiledDatePattern(pattern, formatter, needsTime(pattern));
+    }
+
+    protected boolean isCompatiblePattern(String pattern) {
+        boolean inQuote = false;
+        int index = 0;
+        final int length = pattern.length();
+        while (index < length) {
+            final char ch = pattern.charAt(index);
+            if (ch == '\'') {
+                inQuote = !inQuote;
+                ++index;
+                continue;
+            }
+            if (inQuote) {
+                ++index;
+                continue;
+            }
+            if (RESERVED_CHARS.indexOf(ch) >= 0) {
+                return false;
+            }
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                int count = 1;
+                while (index + count < length && pattern.charAt(index + count) == ch) {
+                    ++count;
+                }
+                if (!isCompatibleLetter(ch, count)) {
+                    return false;
+                }
+                index += count;
+                continue;
+            }
+            ++index;
+        }
+        return !inQuote; // unclosed quote is error in DateTimeFormatter
+    }
+
+    protected boolean isCompatibleLetter(char letter, int count) {
+        if (COMPATIBLE_LETTERS.indexOf(letter) < 0) {
+            return false;
+        }
+        if (letter == 'S') { // SimpleDateFormat: millisecond number, DateTimeFormatter: fraction
+            return count == 3;
+        }
+        if (letter == 'M' || letter == 'E') { // five letters are narrow text in DateTimeFormatter
+            return count <= 4;
+        }
+        if (letter == 'a') { // multiple letters are error in DateTimeFormatter
+            return count == 1;
+        }
+        return count <= 2 || letter == 'y'; // e.g. HHH is error in DateTimeFormatter
+    }
+
+    protected boolean needsTime(String pattern) {
+        boolean inQuote = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                inQuote = !inQuote;
+            } else if (!inQuote && TIME_LETTERS.indexOf(ch) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clear all compiled patterns, e.g. when application configuration is reloaded.
+     */
+    public void clear() {
+        localePatternMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                    Compiled Pattern
+    //                                                                    ================
+    public static class CompiledDatePattern {
+
+        protected final String pattern; // not null
+        protected final DateTimeFormatter formatter; // null allowed (when not direct formattable)
+        protected final boolean timeRequired; // true if the pattern has time fields e.g. HH
+
+        public CompiledDatePattern(String pattern, DateTimeFormatter formatter, boolean timeRequired) {
+            this.pattern = pattern;
+            this.formatter = formatter;
+            this.timeRequired = timeRequired;
+        }
+
+        /**
+         * @return true if the value can be formatted by the formatter (without HandyDate).
+         */
+        public boolean isDirectFormattable() {
+            return formatter != null;
+        }
+
+        /**
+         * @param localDate The local date to be formatted. (NotNull)
+         * @return The formatted string. (NotNull)
+         * @throws DateTimeException When the formatter cannot format it.
+         */
+        public String format(LocalDate localDate) {
+            if (timeRequired) { // same as HandyDate, time part is zero
+                return formatter.format(localDate.atStartOfDay());
+            }
+            return formatter.format(localDate);
+        }
+
+        /**
+         * @param localDateTime The local date-time to be formatted. (NotNull)
+         * @return The formatted string. (NotNull)
+         * @throws DateTimeException When the formatter cannot format it.
+         */
+        public String format(LocalDateTime localDateTime) {
+            return formatter.format(localDateTime);
+        }
+
+        /**
+         * @param date The date to be formatted, also java.sql types. (NotNull)
+         * @param zoneId The zone ID to convert the date to local date-time. (NotNull)
+         * @return The formatted string. (NotNull)
+         * @throws DateTimeException When the formatter cannot format it.
+         */
+        public String format(Date date, ZoneId zoneId) {
+            // toInstant() of java.sql.Date and Time throws exception so uses epoch milliseconds
+            return formatter.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), zoneId));
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public DateTimeFormatter getFormatter() {
+            return formatter;
+        }
+
+        public boolean isTimeRequired() {
+            return timeRequired;
+        }
+    }
+}
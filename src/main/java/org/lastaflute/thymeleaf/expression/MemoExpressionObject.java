@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The memo of expression results in one template execution. <br>
+ * The result is put at first call and the expression is not evaluated after that, by conditional expression.
+ * No expression text is evaluated here, so no template injection even if the key is from variables.
+ * <pre>
+ * Usage:
+ *   &lt;div th:with="total=${#memo.contains('total') ? #memo.get('total') : #memo.put('total', #aggregates.sum(beans.![price]))}"&gt;
+ *   ...
+ *   &lt;td th:text="${#memo.get('total')}"&gt;&lt;/td&gt; // cached result e.g. in other fragment
+ * </pre>
+ * The instance is created per template execution only when #memo is used, and released with the context. <br>
+ * The key is shared in the template execution regardless of local variables e.g. th:each iteration,
+ * so the first result is returned for all rows with the same key. Use key with the row e.g. 'total' + row.memberId for them.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class MemoExpressionObject {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The max count of memo in one template execution, not cached if over. */
+    public static final int MEMO_LIMIT = 100;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    private final Map<String, Object> memoMap = new HashMap<String, Object>(); // single thread in one execution
+
+    // ===================================================================================
+    //                                                                                Memo
+    //                                                                                ====
+    /**
+     * Put the result of expression as memo. (overriding existing memo)
+     * @param key The key of memo e.g. 'total'. (NotNull)
+     * @param result The result of expression evaluated by caller. (NullAllowed)
+     * @return The specified result as it is, for conditional expression. (NullAllowed)
+     */
+    public Object put(String key, Object result) {
+        assertArgumentNotNull("key", key);
+        if (memoMap.containsKey(key) || memoMap.size() < MEMO_LIMIT) { // null result is also cached
+            memoMap.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param key The key of memo. (NotNull)
+     * @return The cached result for the key. (NullAllowed: when not found or null result)
+     */
+    public Object get(String key) {
+        assertArgumentNotNull("key", key);
+        return memoMap.get(key);
+    }
+
+    /**
+     * @param key The key of memo. (NotNull)
+     * @return true if the result is cached for the key.
+     */
+    public boolean contains(String key) {
+        assertArgumentNotNull("key", key);
+        return memoMap.containsKey(key);
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The argument 'variableName' should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+}
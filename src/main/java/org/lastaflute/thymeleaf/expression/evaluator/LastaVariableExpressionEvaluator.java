@@ -0,0 +1,294 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression.evaluator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.standard.expression.IStandardVariableExpression;
+import org.thymeleaf.standard.expression.IStandardVariableExpressionEvaluator;
+import org.thymeleaf.standard.expression.OGNLVariableExpressionEvaluator;
+import org.thymeleaf.standard.expression.StandardExpressionExecutionContext;
+
+/**
+ * The variable expression evaluator that evaluates simple property paths e.g. ${form.memberName}
+ * by compiled accessors (getter or public field as MethodHandle), cached per class. <br>
+ * Other expressions e.g. ${#lists.size(beans)}, ${param.sea}, ${beans[0]} are evaluated by the standard (OGNL) evaluator,
+ * and also property access to Map keywords, collections and arrays, or to null (for the same exception),
+ * and expressions with type conversion e.g. ${{sea}} or in restricted context (request parameters are forbidden).
+ * <pre>
+ * Usage: (in your rendering provider)
+ *   provider.compileVariableExpression();
+ * </pre>
+ * Accessors are cached per class, but not cached in development (asDevelopment(true)),
+ * because classes reloaded by hot deploy would remain in the cache. <br>
+ * Exceptions from getters are wrapped in the same way as the standard (OGNL) evaluator.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class LastaVariableExpressionEvaluator implements IStandardVariableExpressionEvaluator {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The pattern of simple property path e.g. sea, sea.land.piari. (NotNull) */
+    protected static final Pattern SIMPLE_PATH_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*(\\.[A-Za-z_$][A-Za-z0-9_$]*)*");
+
+    /** The variables that depend on request or restriction so delegated to standard evaluator. (NotNull) */
+    protected static final Set<String> DELEGATED_VARIABLE_SET = DfCollectionUtil.newHashSet("param", "session", "application");
+
+    /** The property names that OGNL handles as special for Map. (NotNull) */
+    protected static final Set<String> MAP_KEYWORD_SET = DfCollectionUtil.newHashSet("size", "isEmpty", "keys", "keySet", "values");
+
+    /** The max size of each cache, not cached if over (basically no way because of template text). */
+    protected static final int CACHE_LIMIT = 10000;
+
+    /** The mark of not simple expression in path cache. (NotNull) */
+    protected static final String[] NOT_SIMPLE_PATH = new String[0];
+
+    /** The mark of not found accessor in accessor cache. (NotNull) */
+    protected static final CompiledPropertyAccessor NOT_FOUND_ACCESSOR = new CompiledPropertyAccessor("(not found)", null);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final IStandardVariableExpressionEvaluator standardEvaluator; // not null
+    protected boolean development; // no cache of accessors if true (for hot deploy)
+
+    /** The map of property path, keyed by expression text. (NotNull) */
+    protected final Map<String, String[]> propertyPathMap = new ConcurrentHashMap<String, String[]>();
+
+    /** The map of compiled accessor, keyed by class and property name. (NotNull) */
+    protected final Map<Class<?>, Map<String, CompiledPropertyAccessor>> classAccessorMap =
+            new ConcurrentHashMap<Class<?>, Map<String, CompiledPropertyAccessor>>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaVariableExpressionEvaluator() {
+        this(new OGNLVariableExpressionEvaluator(/*applyOGNLShortcuts*/true)); // same as standard dialect
+    }
+
+    public LastaVariableExpressionEvaluator(IStandardVariableExpressionEvaluator standardEvaluator) {
+        if (standardEvaluator == null) {
+            throw new IllegalArgumentException("The argument 'standardEvaluator' should not be null.");
+        }
+        this.standardEvaluator = standardEvaluator;
+    }
+
+    public LastaVariableExpressionEvaluator asDevelopment(boolean development) {
+        this.development = development;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                            Evaluate
+    //                                                                            ========
+    @Override
+    public Object evaluate(IExpressionContext context, IStandardVariableExpression expression,
+            StandardExpressionExecutionContext expContext) {
+        if (expContext.getPerformTypeConversion() || expContext.getRestrictVariableAccess()) { // e.g. ${{sea}}, restricted
+            return standardEvaluator.evaluate(context, expression, expContext); // conversion service or restriction
+        }
+        final String[] propertyPath = findPropertyPath(expression.getExpression());
+        if (propertyPath == NOT_SIMPLE_PATH) {
+            return standardEvaluator.evaluate(context, expression, expContext);
+        }
+        Object current;
+        int index;
+        if (expression.getUseSelectionAsRoot() && isSelectionTargetExists(context)) { // e.g. *{memberName} in th:object
+            current = ((ITemplateContext) context).getSelectionTarget();
+            index = 0;
+        } else {
+            if (DELEGATED_VARIABLE_SET.contains(propertyPath[0])) {
+                return standardEvaluator.evaluate(context, expression, expContext);
+            }
+            current = context.getVariable(propertyPath[0]); // null allowed
+            index = 1;
+        }
+        for (; index < propertyPath.length; index++) {
+            final String propertyName = propertyPath[index];
+            if (current == null) { // standard evaluator throws the same exception as before
+                return standardEvaluator.evaluate(context, expression, expContext);
+            }
+            if (current instanceof Map<?, ?>) {
+                if (MAP_KEYWORD_SET.contains(propertyName)) {
+                    return standardEvaluator.evaluate(context, expression, expContext);
+                }
+                current = ((Map<?, ?>) current).get(propertyName);
+                continue;
+            }
+            if (!isDirectAccessible(current)) { // e.g. list.size
+                return standardEvaluator.evaluate(context, expression, expContext);
+            }
+            final CompiledPropertyAccessor accessor = findAccessor(current.getClass(), propertyName);
+            if (accessor == NOT_FOUND_ACCESSOR) {
+                return standardEvaluator.evaluate(context, expression, expContext);
+            }
+            current = accessor.get(current, expression.getExpression());
+        }
+        return current;
+    }
+
+    protected boolean isSelectionTargetExists(IExpressionContext context) {
+        return context instanceof ITemplateContext && ((ITemplateContext) context).hasSelectionTarget();
+    }
+
+    protected boolean isDirectAccessible(Object target) { // OGNL has special properties for them
+        return !(target instanceof Collection<?> || target.getClass().isArray() || target instanceof Iterator<?>
+                || target instanceof Enumeration<?> || target instanceof Class<?>);
+    }
+
+    // ===================================================================================
+    //                                                                       Property Path
+    //                                                                       =============
+    protected String[] findPropertyPath(String expressionText) {
+        final String[] cached = propertyPathMap.get(expressionText); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final String[] compiled;
+        if (expressionText != null && SIMPLE_PATH_PATTERN.matcher(expressionText).matches()) {
+            compiled = expressionText.split("\\.");
+        } else { // e.g. #lists.size(beans), beans[0], sea ?: 'land'
+            compiled = NOT_SIMPLE_PATH;
+        }
+        if (expressionText != null && propertyPathMap.size() < CACHE_LIMIT) {
+            propertyPathMap.put(expressionText, compiled);
+        }
+        return compiled;
+    }
+
+    // ===================================================================================
+    //                                                                   Property Accessor
+    //                                                                   =================
+    protected CompiledPropertyAccessor findAccessor(Class<?> targetType, String propertyName) {
+        if (development) { // cache would retain classes of old class loader
+            return compileAccessor(targetType, propertyName);
+        }
+        Map<String, CompiledPropertyAccessor> accessorMap = classAccessorMap.get(targetType); // lock-free
+        if (accessorMap == null) {
+            final Map<String, CompiledPropertyAccessor> created = new ConcurrentHashMap<String, CompiledPropertyAccessor>();
+            final Map<String, CompiledPropertyAccessor> existing = classAccessorMap.putIfAbsent(targetType, created);
+            accessorMap = existing != null ? existing : created;
+        }
+        final CompiledPropertyAccessor cached = accessorMap.get(propertyName);
+        if (cached != null) {
+            return cached;
+        }
+        final CompiledPropertyAccessor compiled = compileAccessor(targetType, propertyName);
+        if (accessorMap.size() < CACHE_LIMIT) {
+            accessorMap.put(propertyName, compiled);
+        }
+        return compiled;
+    }
+
+    protected CompiledPropertyAccessor compileAccessor(Class<?> targetType, String propertyName) {
+        // getter is prior to field, same as OGNL
+        final MethodType genericType = MethodType.methodType(Object.class, Object.class);
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final Method getter = findGetter(targetType, propertyName);
+        try {
+            if (getter != null) {
+                return new CompiledPropertyAccessor(propertyName, lookup.unreflect(getter).asType(genericType));
+            }
+            final Field field = findPublicField(targetType, propertyName);
+            if (field != null) {
+                return new CompiledPropertyAccessor(propertyName, lookup.unreflectGetter(field).asType(genericType));
+            }
+        } catch (IllegalAccessException ignored) { // e.g. public member of non-public class
+        }
+        return NOT_FOUND_ACCESSOR; // standard evaluator handles it
+    }
+
+    protected Method findGetter(Class<?> targetType, String propertyName) {
+        final String capitalized = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        final Method getMethod = findNoArgPublicMethod(targetType, "get" + capitalized);
+        if (getMethod != null && getMethod.getReturnType() != void.class) {
+            return getMethod;
+        }
+        final Method isMethod = findNoArgPublicMethod(targetType, "is" + capitalized);
+        if (isMethod != null && (isMethod.getReturnType() == boolean.class || isMethod.getReturnType() == Boolean.class)) {
+            return isMethod;
+        }
+        return null;
+    }
+
+    protected Method findNoArgPublicMethod(Class<?> targetType, String methodName) {
+        try {
+            final Method method = targetType.getMethod(methodName);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException ignored) {
+            return null;
+        }
+    }
+
+    protected Field findPublicField(Class<?> targetType, String propertyName) {
+        try {
+            final Field field = targetType.getField(propertyName);
+            return Modifier.isStatic(field.getModifiers()) ? null : field;
+        } catch (NoSuchFieldException ignored) {
+            return null;
+        }
+    }
+
+    public void clear() {
+        propertyPathMap.clear();
+        classAccessorMap.clear();
+    }
+
+    public static class CompiledPropertyAccessor {
+
+        protected final String propertyName; // not null
+        protected final MethodHandle handle; // null allowed (only when not-found mark), (Object)Object
+
+        public CompiledPropertyAccessor(String propertyName, MethodHandle handle) {
+            this.propertyName = propertyName;
+            this.handle = handle;
+        }
+
+        /**
+         * @param target The target object that has the property. (NotNull)
+         * @param expressionText The text of evaluated expression for exception message. (NotNull)
+         * @return The value of the property. (NullAllowed)
+         * @throws TemplateProcessingException When the getter throws exception, same as the standard evaluator.
+         */
+        public Object get(Object target, String expressionText) {
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) { // exception from getter, wrapped like OGNLVariableExpressionEvaluator
+                throw new TemplateProcessingException("Exception evaluating OGNL expression: \"" + expressionText + "\"", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.List;
+
+import org.dbflute.jdbc.Classification;
+import org.lastaflute.thymeleaf.expression.ClassificationExpressionObject;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex;
+import org.thymeleaf.context.IExpressionContext;
+
+/**
+ * The classification expression object (#cls) that records its calls to the breakdown of sampled rendering. <br>
+ * It is timed where it is called, so calls by processors (e.g. direct la:optionCls) are also recorded.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class BreakdownClassificationExpressionObject extends ClassificationExpressionObject {
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param context The context of expression for current template. (NotNull)
+     * @param metaIndex The index of classification meta shared in template engine. (NullAllowed: no index)
+     */
+    public BreakdownClassificationExpressionObject(IExpressionContext context, ClassificationMetaIndex metaIndex) {
+        super(context, metaIndex);
+    }
+
+    // ===================================================================================
+    //                                                                          Expression
+    //                                                                          ==========
+    @Override
+    public List<Classification> list(String classificationName) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.list(classificationName);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public List<Classification> listAll(String classificationName) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.listAll(classificationName);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public String alias(Object cls) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.alias(cls);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public String alias(Object cls, String defaultValue) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.alias(cls, defaultValue);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public String alias(String classificationName, String elementName) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.alias(classificationName, elementName);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public String code(Object cls) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.code(cls);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public String code(String classificationName, String elementName) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.code(classificationName, elementName);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public Classification codeOf(String classificationName, String code) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.codeOf(classificationName, code);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+
+    @Override
+    public Classification nameOf(String classificationName, String name) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.nameOf(classificationName, name);
+        } finally {
+            ThymeleafRenderingBreakdown.endClassificationCall(beginTime);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.dbflute.helper.HandyDate;
+import org.lastaflute.thymeleaf.expression.HandyDateExpressionObject;
+
+/**
+ * The handy date expression object (#handy) that records its calls to the breakdown of sampled rendering. <br>
+ * It is shared in template engine, and the breakdown is of current rendering thread (nothing recorded if not sampled).
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class BreakdownHandyDateExpressionObject extends HandyDateExpressionObject {
+
+    // ===================================================================================
+    //                                                                          Handy Date
+    //                                                                          ==========
+    @Override
+    public HandyDate date(Object expression) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.date(expression);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public HandyDate date(Object expression, Object arg2) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.date(expression, arg2);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public HandyDate date(Object expression, Object pattern, Object locale) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.date(expression, pattern, locale);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public HandyDate date(Object expression, Object timeZone, Object pattern, Object locale) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.date(expression, timeZone, pattern, locale);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public String format(Object expression) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.format(expression);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public String format(Object expression, Object objPattern) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.format(expression, objPattern);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public List<String> formatAll(Collection<?> expressions) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.formatAll(expressions);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public List<String> formatAll(Collection<?> expressions, Object objPattern) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.formatAll(expressions, objPattern);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public List<String> formatProperty(Collection<?> beans, String propertyName) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.formatProperty(beans, propertyName);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+
+    @Override
+    public List<String> formatProperty(Collection<?> beans, String propertyName, Object objPattern) {
+        final long beginTime = ThymeleafRenderingBreakdown.beginObjectCall();
+        try {
+            return super.formatProperty(beans, propertyName, objPattern);
+        } finally {
+            ThymeleafRenderingBreakdown.endHandyDateCall(beginTime);
+        }
+    }
+}
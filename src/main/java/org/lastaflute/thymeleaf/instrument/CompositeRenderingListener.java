@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The listener that calls several listeners in registration order, e.g. application listener and engine statistics.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class CompositeRenderingListener implements ThymeleafRenderingListener {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<ThymeleafRenderingListener> listenerList; // not null, read-only, only listening ones
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CompositeRenderingListener(List<ThymeleafRenderingListener> listenerList) {
+        if (listenerList == null) {
+            throw new IllegalArgumentException("The argument 'listenerList' should not be null.");
+        }
+        final List<ThymeleafRenderingListener> listeningList = new ArrayList<ThymeleafRenderingListener>(listenerList.size());
+        for (ThymeleafRenderingListener listener : listenerList) {
+            if (listener.isListening()) {
+                listeningList.add(listener);
+            }
+        }
+        this.listenerList = Collections.unmodifiableList(listeningList);
+    }
+
+    // ===================================================================================
+    //                                                                              Listen
+    //                                                                              ======
+    @Override
+    public boolean isListening() {
+        return !listenerList.isEmpty();
+    }
+
+    @Override
+    public void onRenderingBegun(String templateName) {
+        for (ThymeleafRenderingListener listener : listenerList) {
+            listener.onRenderingBegun(templateName);
+        }
+    }
+
+    @Override
+    public void onRendered(ThymeleafRenderingTiming timing) {
+        for (ThymeleafRenderingListener listener : listenerList) {
+            listener.onRendered(timing);
+        }
+    }
+
+    @Override
+    public void onRenderingEnded(String templateName) {
+        for (ThymeleafRenderingListener listener : listenerList) {
+            listener.onRenderingEnded(templateName);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public List<ThymeleafRenderingListener> getListenerList() {
+        return listenerList;
+    }
+}
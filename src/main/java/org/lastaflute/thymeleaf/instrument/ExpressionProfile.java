@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The profile of expression evaluations, count and time per expression of each template. <br>
+ * The profile of one rendering is bound to the rendering thread, and merged into cumulative profile of profiler.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ExpressionProfile {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The profile of current rendering thread, only while profiled rendering. (NotNull, value NullAllowed) */
+    protected static final ThreadLocal<ExpressionProfile> currentLocal = new ThreadLocal<ExpressionProfile>();
+
+    /** The template name when unknown, e.g. evaluated outside template. */
+    public static final String UNKNOWN_TEMPLATE_NAME = "(unknown)";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of expression statistics, keyed by template name and expression text. (NotNull) */
+    protected final Map<String, Map<String, ExpressionStat>> templateMap = new LinkedHashMap<String, Map<String, ExpressionStat>>();
+
+    // ===================================================================================
+    //                                                                       Thread Status
+    //                                                                       =============
+    /**
+     * Begin the profile of current rendering thread, end it by end() in finally.
+     * @return The new profile bound to current thread. (NotNull)
+     */
+    public static ExpressionProfile begin() {
+        final ExpressionProfile profile = new ExpressionProfile();
+        currentLocal.set(profile);
+        return profile;
+    }
+
+    /**
+     * @return The profile of current rendering thread. (NullAllowed: when not profiled)
+     */
+    public static ExpressionProfile current() {
+        return currentLocal.get();
+    }
+
+    public static void end() {
+        currentLocal.remove();
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param templateName The name of template (or fragment template) that has the expression. (NullAllowed: unknown)
+     * @param expressionText The text of evaluated expression, e.g. ${member.memberName}. (NotNull)
+     * @param nanos The nanoseconds of the evaluation.
+     */
+    public void record(String templateName, String expressionText, long nanos) {
+        findStat(templateName != null ? templateName : UNKNOWN_TEMPLATE_NAME, expressionText).record(1, nanos);
+    }
+
+    /**
+     * Merge the other profile into this, e.g. the profile of one rendering into cumulative profile.
+     * @param other The other profile to be merged. (NotNull)
+     */
+    public void merge(ExpressionProfile other) {
+        other.templateMap.forEach((templateName, statMap) -> {
+            statMap.forEach((expressionText, stat) -> {
+                findStat(templateName, expressionText).record(stat.getCount(), stat.getNanos());
+            });
+        });
+    }
+
+    protected ExpressionStat findStat(String templateName, String expressionText) {
+        Map<String, ExpressionStat> statMap = templateMap.get(templateName);
+        if (statMap == null) {
+            statMap = new LinkedHashMap<String, ExpressionStat>();
+            templateMap.put(templateName, statMap);
+        }
+        ExpressionStat stat = statMap.get(expressionText);
+        if (stat == null) {
+            stat = new ExpressionStat();
+            statMap.put(expressionText, stat);
+        }
+        return stat;
+    }
+
+    public static class ExpressionStat {
+
+        protected long count;
+        protected long nanos;
+
+        public void record(long count, long nanos) {
+            this.count += count;
+            this.nanos += nanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Build the report: templates by total time descending, and expressions by time descending in each template.
+     * @param title The title of the report, e.g. rendered template name. (NotNull)
+     * @return The report string, times are microseconds. (NotNull)
+     */
+    public String buildReport(String title) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Expression Profile] ").append(title).append(" (microseconds)");
+        final List<Entry<String, Map<String, ExpressionStat>>> templateList =
+                new ArrayList<Entry<String, Map<String, ExpressionStat>>>(templateMap.entrySet());
+        templateList.sort((e1, e2) -> Long.compare(sumNanos(e2.getValue()), sumNanos(e1.getValue())));
+        for (Entry<String, Map<String, ExpressionStat>> templateEntry : templateList) {
+            final Map<String, ExpressionStat> statMap = templateEntry.getValue();
+            sb.append("\n").append(templateEntry.getKey()).append(" (").append(sumCount(statMap)).append(" evaluations, ");
+            sb.append(toMicros(sumNanos(statMap))).append(")");
+            final List<Entry<String, ExpressionStat>> statList = new ArrayList<Entry<String, ExpressionStat>>(statMap.entrySet());
+            statList.sort((e1, e2) -> Long.compare(e2.getValue().getNanos(), e1.getValue().getNanos()));
+            for (Entry<String, ExpressionStat> statEntry : statList) {
+                final ExpressionStat stat = statEntry.getValue();
+                sb.append("\n  ").append(toMicros(stat.getNanos())).append(" (").append(stat.getCount()).append(" times) ");
+                sb.append(statEntry.getKey());
+            }
+        }
+        return sb.toString();
+    }
+
+    protected long sumCount(Map<String, ExpressionStat> statMap) {
+        return statMap.values().stream().mapToLong(stat -> stat.getCount()).sum();
+    }
+
+    protected long sumNanos(Map<String, ExpressionStat> statMap) {
+        return statMap.values().stream().mapToLong(stat -> stat.getNanos()).sum();
+    }
+
+    protected long toMicros(long nanos) {
+        return nanos / 1000L;
+    }
+
+    /**
+     * Clear all statistics, e.g. after dumping cumulative profile.
+     */
+    public void clear() {
+        templateMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Map<String, Map<String, ExpressionStat>> getTemplateMap() {
+        return Collections.unmodifiableMap(templateMap);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The profiler of expression evaluations in development, which shows hot expressions per template. <br>
+ * The profile of each rendering is output by log or HTML comment, and cumulative profile is kept for dump.
+ * <pre>
+ * provider.asDevelopment(true).profileExpression(ExpressionProfileOutput.HTML_COMMENT);
+ * ...
+ * provider.getExpressionProfiler().dumpReport(); // cumulative
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ExpressionProfiler {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(ExpressionProfiler.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ExpressionProfileOutput output; // not null
+    protected final ExpressionProfile cumulativeProfile = new ExpressionProfile(); // guarded by this
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ExpressionProfiler(ExpressionProfileOutput output) {
+        if (output == null) {
+            throw new IllegalArgumentException("The argument 'output' should not be null.");
+        }
+        this.output = output;
+    }
+
+    // ===================================================================================
+    //                                                                             Profile
+    //                                                                             =======
+    /**
+     * Begin the profile of the rendering, end it by ExpressionProfile.end() in finally.
+     * @return The profile bound to current thread. (NotNull)
+     */
+    public ExpressionProfile beginProfile() {
+        return ExpressionProfile.begin();
+    }
+
+    /**
+     * Complete the profile of the rendering: merge into cumulative profile, and output it.
+     * @param templateName The name of rendered template, e.g. /member/member_list.html. (NotNull)
+     * @param html The rendered HTML. (NotNull)
+     * @param profile The profile of the rendering. (NotNull)
+     * @return The HTML to be written, with the profile comment if HTML comment output. (NotNull)
+     */
+    public String completeProfile(String templateName, String html, ExpressionProfile profile) {
+        synchronized (this) {
+            cumulativeProfile.merge(profile);
+        }
+        final String report = profile.buildReport(templateName);
+        if (output == ExpressionProfileOutput.HTML_COMMENT) {
+            return html + "\n<!--\n" + escapeComment(report) + "\n-->\n";
+        }
+        logger.info(report);
+        return html;
+    }
+
+    protected String escapeComment(String report) { // e.g. ${a--b} ends comment
+        String escaped = report;
+        while (escaped.contains("--")) {
+            escaped = escaped.replace("--", "- -");
+        }
+        return escaped;
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * @return The report of cumulative profile since startup (or clear). (NotNull)
+     */
+    public synchronized String buildReport() {
+        return cumulativeProfile.buildReport("(cumulative)");
+    }
+
+    /**
+     * Log the report of cumulative profile as INFO level.
+     */
+    public void dumpReport() {
+        logger.info(buildReport());
+    }
+
+    public synchronized void clear() {
+        cumulativeProfile.clear();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ExpressionProfileOutput getOutput() {
+        return output;
+    }
+}
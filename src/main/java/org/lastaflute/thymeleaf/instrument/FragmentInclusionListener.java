@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+/**
+ * The listener of fragment inclusion (th:insert, th:replace, th:include), called before the inclusion.
+ * <pre>
+ * Usage: (in your rendering provider)
+ *   provider.customizeLastaDialect(dialect -&gt; {
+ *       dialect.listenFragmentInclusion((templateName, fragmentExpression) -&gt; ...);
+ *   });
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+@FunctionalInterface
+public interface FragmentInclusionListener {
+
+    /**
+     * Called in the rendering thread so it should be thread-safe and light.
+     * @param templateName The name of template that includes the fragment. (NotNull)
+     * @param fragmentExpression The expression of fragment, e.g. ~{common/layout :: footer}. (NullAllowed: if empty attribute)
+     */
+    void onIncluded(String templateName, String fragmentExpression);
+}
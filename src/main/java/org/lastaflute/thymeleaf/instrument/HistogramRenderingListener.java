@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The listener that records histograms of phase timings and output length per template. <br>
+ * You can see which phase dominates for which template by the report, e.g. in your monitoring action.
+ * <pre>
+ * HistogramRenderingListener listener = new HistogramRenderingListener();
+ * provider.listenRendering(listener);
+ * ...
+ * logger.info(listener.buildReport());
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class HistogramRenderingListener implements ThymeleafRenderingListener {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The max count of templates, recorded as others if over (basically no way because of template files). */
+    protected static final int TEMPLATE_LIMIT = 1000;
+
+    /** The template name of recorded as others when over the limit. */
+    public static final String OTHERS_TEMPLATE_NAME = "(others)";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of histograms, keyed by template name. (NotNull) */
+    protected final Map<String, TemplateHistograms> histogramsMap = new ConcurrentHashMap<String, TemplateHistograms>();
+
+    // ===================================================================================
+    //                                                                              Listen
+    //                                                                              ======
+    @Override
+    public void onRendered(ThymeleafRenderingTiming timing) {
+        findHistograms(timing.getTemplateName()).record(timing);
+    }
+
+    protected TemplateHistograms findHistograms(String templateName) {
+        final TemplateHistograms cached = histogramsMap.get(templateName); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final String key = histogramsMap.size() < TEMPLATE_LIMIT ? templateName : OTHERS_TEMPLATE_NAME;
+        final TemplateHistograms created = newTemplateHistograms();
+        final TemplateHistograms existing = histogramsMap.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    protected TemplateHistograms newTemplateHistograms() {
+        return new TemplateHistograms();
+    }
+
+    public static class TemplateHistograms {
+
+        protected final Map<ThymeleafRenderingPhase, RenderingHistogram> phaseMap; // not null, read-only
+        protected final RenderingHistogram totalHistogram = new RenderingHistogram();
+        protected final RenderingHistogram outputBytesHistogram = new RenderingHistogram();
+
+        public TemplateHistograms() {
+            final Map<ThymeleafRenderingPhase, RenderingHistogram> map =
+                    new EnumMap<ThymeleafRenderingPhase, RenderingHistogram>(ThymeleafRenderingPhase.class);
+            for (ThymeleafRenderingPhase phase : ThymeleafRenderingPhase.values()) {
+                map.put(phase, new RenderingHistogram());
+            }
+            phaseMap = Collections.unmodifiableMap(map);
+        }
+
+        public void record(ThymeleafRenderingTiming timing) {
+            phaseMap.forEach((phase, histogram) -> histogram.record(timing.getPhaseNanos(phase)));
+            totalHistogram.record(timing.getTotalNanos());
+            outputBytesHistogram.record(timing.getOutputBytes());
+        }
+
+        public RenderingHistogram getPhaseHistogram(ThymeleafRenderingPhase phase) {
+            return phaseMap.get(phase);
+        }
+
+        public RenderingHistogram getTotalHistogram() {
+            return totalHistogram;
+        }
+
+        public RenderingHistogram getOutputBytesHistogram() {
+            return outputBytesHistogram;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Build the report of histograms: count, and mean, p50, p99 and max (microseconds) per phase for each template.
+     * @return The report string, templates in name order. (NotNull)
+     */
+    public String buildReport() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Rendering Timing] (microseconds: mean/p50/p99/max)");
+        new TreeMap<String, TemplateHistograms>(histogramsMap).forEach((templateName, histograms) -> {
+            final RenderingHistogram total = histograms.getTotalHistogram();
+            sb.append("\n").append(templateName).append(" (").append(total.getCount()).append(" renderings");
+            sb.append(", ").append(histograms.getOutputBytesHistogram().getMean()).append(" bytes)");
+            for (ThymeleafRenderingPhase phase : ThymeleafRenderingPhase.values()) {
+                sb.append("\n  ").append(phase.name().toLowerCase()).append(": ");
+                sb.append(buildMicrosExpression(histograms.getPhaseHistogram(phase)));
+            }
+            sb.append("\n  total: ").append(buildMicrosExpression(total));
+        });
+        return sb.toString();
+    }
+
+    protected String buildMicrosExpression(RenderingHistogram histogram) {
+        return toMicros(histogram.getMean()) + "/" + toMicros(histogram.getPercentile(50.0)) + "/" + toMicros(histogram.getPercentile(99.0))
+                + "/" + toMicros(histogram.getMax());
+    }
+
+    protected long toMicros(long nanos) {
+        return nanos / 1000L;
+    }
+
+    /**
+     * Clear all histograms, e.g. after reporting for next period.
+     */
+    public void clear() {
+        histogramsMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Map<String, TemplateHistograms> getHistogramsMap() {
+        return Collections.unmodifiableMap(histogramsMap);
+    }
+}
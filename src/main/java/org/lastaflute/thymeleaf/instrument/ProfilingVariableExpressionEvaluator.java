@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.standard.expression.IStandardVariableExpression;
+import org.thymeleaf.standard.expression.IStandardVariableExpressionEvaluator;
+import org.thymeleaf.standard.expression.StandardExpressionExecutionContext;
+
+/**
+ * The variable expression evaluator that records evaluations to the expression profile in development. <br>
+ * Also th:* attributes generated by la: processors are profiled because they are evaluated by this evaluator.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ProfilingVariableExpressionEvaluator implements IStandardVariableExpressionEvaluator {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final IStandardVariableExpressionEvaluator wrappedEvaluator; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ProfilingVariableExpressionEvaluator(IStandardVariableExpressionEvaluator wrappedEvaluator) {
+        if (wrappedEvaluator == null) {
+            throw new IllegalArgumentException("The argument 'wrappedEvaluator' should not be null.");
+        }
+        this.wrappedEvaluator = wrappedEvaluator;
+    }
+
+    // ===================================================================================
+    //                                                                            Evaluate
+    //                                                                            ========
+    @Override
+    public Object evaluate(IExpressionContext context, IStandardVariableExpression expression, StandardExpressionExecutionContext expContext) {
+        final ExpressionProfile profile = ExpressionProfile.current();
+        if (profile == null) { // e.g. outside rendering
+            return wrappedEvaluator.evaluate(context, expression, expContext);
+        }
+        final long beginTime = System.nanoTime();
+        try {
+            return wrappedEvaluator.evaluate(context, expression, expContext);
+        } finally {
+            profile.record(extractTemplateName(context), buildExpressionText(expression), System.nanoTime() - beginTime);
+        }
+    }
+
+    protected String extractTemplateName(IExpressionContext context) { // null allowed
+        if (context instanceof ITemplateContext) { // basically here, fragment template if in fragment
+            return ((ITemplateContext) context).getTemplateData().getTemplate();
+        }
+        return null;
+    }
+
+    protected String buildExpressionText(IStandardVariableExpression expression) {
+        return (expression.getUseSelectionAsRoot() ? "*{" : "${") + expression.getExpression() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public IStandardVariableExpressionEvaluator getWrappedEvaluator() {
+        return wrappedEvaluator;
+    }
+}
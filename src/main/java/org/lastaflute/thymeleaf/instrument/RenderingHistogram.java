@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock-free histogram of values in power-of-two buckets, e.g. nanoseconds of rendering phase. <br>
+ * Percentiles are approximate (upper bound of the bucket, so at most twice of actual value).
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class RenderingHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int BUCKET_SIZE = 64; // bucket index is bit length of value
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AtomicLongArray bucketArray = new AtomicLongArray(BUCKET_SIZE);
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder sum = new LongAdder();
+    protected final AtomicLong max = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param value The recorded value, minus is treated as zero.
+     */
+    public void record(long value) {
+        final long filtered = Math.max(value, 0L);
+        bucketArray.incrementAndGet(BUCKET_SIZE - Long.numberOfLeadingZeros(filtered)); // e.g. 0: 0, 1: 1, 2-3: 2, 4-7: 3
+        count.increment();
+        sum.add(filtered);
+        if (filtered > max.get()) { // avoid CAS in most cases
+            max.accumulateAndGet(filtered, Math::max);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Statistic
+    //                                                                           =========
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMean() {
+        final long currentCount = count.sum();
+        return currentCount > 0 ? sum.sum() / currentCount : 0L;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile The percentile, e.g. 50.0, 99.0. (0.0 to 100.0)
+     * @return The approximate value at the percentile, upper bound of the bucket (but not over max). (zero if no record)
+     */
+    public long getPercentile(double percentile) {
+        final long currentCount = count.sum();
+        if (currentCount == 0L) {
+            return 0L;
+        }
+        final long threshold = (long) Math.ceil(currentCount * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0);
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            accumulated += bucketArray.get(i);
+            if (accumulated >= Math.max(threshold, 1L)) { // at least one record
+                final long upperBound = (1L << i) - 1; // e.g. 0: 0, 1: 1, 2: 3 (63: max value by overflow)
+                return Math.min(upperBound, getMax());
+            }
+        }
+        return getMax(); // basically no way (recording in progress)
+    }
+}
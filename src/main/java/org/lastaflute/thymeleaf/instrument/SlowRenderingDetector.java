@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingBreakdown.BreakdownEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The detector of slow rendering, which logs the report of phases and breakdown when over the threshold. <br>
+ * All renderings are checked by the threshold, and the breakdown is gathered only for sampled renderings (one in interval).
+ * <pre>
+ * provider.detectSlowRendering(1000L, 10); // over 1 second, breakdown for one in ten renderings
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class SlowRenderingDetector {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(SlowRenderingDetector.class);
+
+    /** The max count of templates and fragments in the report. */
+    protected static final int TOP_LIMIT = 5;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long thresholdMillis;
+    protected final long thresholdNanos;
+    protected final int samplingInterval; // 1 means all renderings
+    protected final AtomicLong renderingCount = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param thresholdMillis The threshold of rendering time as milliseconds, slow if over it. (Positive)
+     * @param samplingInterval The interval of sampled renderings for breakdown, e.g. 10 means one in ten. (Positive)
+     */
+    public SlowRenderingDetector(long thresholdMillis, int samplingInterval) {
+        if (thresholdMillis <= 0L) {
+            throw new IllegalArgumentException("The argument 'thresholdMillis' should be positive: " + thresholdMillis);
+        }
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("The argument 'samplingInterval' should be positive: " + samplingInterval);
+        }
+        this.thresholdMillis = thresholdMillis;
+        this.thresholdNanos = thresholdMillis * 1000000L;
+        this.samplingInterval = samplingInterval;
+    }
+
+    // ===================================================================================
+    //                                                                            Sampling
+    //                                                                            ========
+    /**
+     * Begin the breakdown of the rendering if sampled, end it by ThymeleafRenderingBreakdown.end() in finally.
+     * @return The breakdown bound to current thread. (NullAllowed: when not sampled)
+     */
+    public ThymeleafRenderingBreakdown beginBreakdownIfSampled() {
+        if (renderingCount.incrementAndGet() % samplingInterval != 0) {
+            return null;
+        }
+        return ThymeleafRenderingBreakdown.begin();
+    }
+
+    // ===================================================================================
+    //                                                                              Detect
+    //                                                                              ======
+    /**
+     * @param timing The timing of the rendering. (NotNull)
+     * @param breakdown The breakdown of the rendering. (NullAllowed: when not sampled)
+     * @return true if the rendering is slow and reported.
+     */
+    public boolean detect(ThymeleafRenderingTiming timing, ThymeleafRenderingBreakdown breakdown) {
+        if (timing.getTotalNanos() <= thresholdNanos) {
+            return false;
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn(buildReport(timing, breakdown));
+        }
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Build the report of slow rendering: phases, expressions, #cls, #handy, messages, top templates and fragment counts.
+     * @param timing The timing of the rendering. (NotNull)
+     * @param breakdown The breakdown of the rendering. (NullAllowed: when not sampled)
+     * @return The report string, times are microseconds. (NotNull)
+     */
+    public String buildReport(ThymeleafRenderingTiming timing, ThymeleafRenderingBreakdown breakdown) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Slow Rendering] ").append(timing.getTemplateName());
+        sb.append(" (").append(toMillis(timing.getTotalNanos())).append(" ms > ").append(thresholdMillis).append(" ms");
+        sb.append(", ").append(timing.getOutputBytes()).append(" bytes) (microseconds)");
+        sb.append("\n  phases:");
+        for (ThymeleafRenderingPhase phase : ThymeleafRenderingPhase.values()) {
+            sb.append(" ").append(phase.name().toLowerCase()).append("=").append(toMicros(timing.getPhaseNanos(phase)));
+        }
+        if (breakdown == null) {
+            sb.append("\n  (no breakdown: not sampled, one in ").append(samplingInterval).append(" renderings)");
+            return sb.toString();
+        }
+        sb.append("\n  expressions: ").append(breakdown.getExpressionCount()).append(" evaluated, ");
+        sb.append(toMicros(breakdown.getExpressionNanos()));
+        appendEntry(sb, breakdown.getClsEntry(), "calls");
+        appendEntry(sb, breakdown.getHandyEntry(), "calls");
+        appendEntry(sb, breakdown.getMessageEntry(), "resolutions");
+        sb.append("\n  top templates (by expression time):");
+        for (BreakdownEntry entry : breakdown.getTopTemplateList(TOP_LIMIT)) {
+            sb.append("\n    ").append(entry.getName()).append(": ").append(entry.getCount()).append(" expressions, ");
+            sb.append(toMicros(entry.getNanos()));
+        }
+        sb.append("\n  top fragments (by inclusion count, not timed):");
+        for (BreakdownEntry entry : breakdown.getTopFragmentList(TOP_LIMIT)) {
+            sb.append("\n    ").append(entry.getName()).append(": ").append(entry.getCount()).append(" inclusions");
+        }
+        return sb.toString();
+    }
+
+    protected void appendEntry(StringBuilder sb, BreakdownEntry entry, String countUnit) {
+        sb.append("\n  ").append(entry.getName()).append(": ").append(entry.getCount()).append(" ").append(countUnit);
+        sb.append(", ").append(toMicros(entry.getNanos()));
+    }
+
+    protected long toMillis(long nanos) {
+        return nanos / 1000000L;
+    }
+
+    protected long toMicros(long nanos) {
+        return nanos / 1000L;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public int getSamplingInterval() {
+        return samplingInterval;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.ICacheEntryValidityChecker;
+
+/**
+ * The cache wrapper that counts hits and misses of the wrapped cache, e.g. template cache of engine.
+ * @param <KEY> The type of cache key.
+ * @param <VALUE> The type of cached value.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class StatisticsCache<KEY, VALUE> implements ICache<KEY, VALUE> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ICache<KEY, VALUE> wrappedCache; // not null
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public StatisticsCache(ICache<KEY, VALUE> wrappedCache) {
+        if (wrappedCache == null) {
+            throw new IllegalArgumentException("The argument 'wrappedCache' should not be null.");
+        }
+        this.wrappedCache = wrappedCache;
+    }
+
+    // ===================================================================================
+    //                                                                        Cache Access
+    //                                                                        ============
+    @Override
+    public void put(KEY key, VALUE value) {
+        wrappedCache.put(key, value);
+    }
+
+    @Override
+    public VALUE get(KEY key) {
+        return count(wrappedCache.get(key));
+    }
+
+    @Override
+    public VALUE get(KEY key, ICacheEntryValidityChecker<? super KEY, ? super VALUE> validityChecker) {
+        return count(wrappedCache.get(key, validityChecker));
+    }
+
+    protected VALUE count(VALUE value) {
+        if (value != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        wrappedCache.clear();
+    }
+
+    @Override
+    public void clearKey(KEY key) {
+        wrappedCache.clearKey(key);
+    }
+
+    @Override
+    public Set<KEY> keySet() {
+        return wrappedCache.keySet();
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public int size() {
+        return wrappedCache.keySet().size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return The ratio of hits in all gets, 0.0 if no get.
+     */
+    public double getHitRatio() {
+        final long hit = getHitCount();
+        final long all = hit + getMissCount();
+        return all > 0L ? (double) hit / all : 0.0;
+    }
+
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ICache<KEY, VALUE> getWrappedCache() {
+        return wrappedCache;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.List;
+
+import org.thymeleaf.cache.ExpressionCacheKey;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.ICacheManager;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.engine.TemplateModel;
+
+/**
+ * The cache manager that counts hits and misses of template and expression caches of the wrapped manager.
+ * <pre>
+ * engine.setCacheManager(new StatisticsCacheManager(engine.getCacheManager())); // before initialization
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class StatisticsCacheManager implements ICacheManager {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ICacheManager wrappedManager; // not null
+    protected final StatisticsCache<TemplateCacheKey, TemplateModel> templateCache; // null allowed (when no cache)
+    protected final StatisticsCache<ExpressionCacheKey, Object> expressionCache; // null allowed (when no cache)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public StatisticsCacheManager(ICacheManager wrappedManager) {
+        if (wrappedManager == null) {
+            throw new IllegalArgumentException("The argument 'wrappedManager' should not be null.");
+        }
+        this.wrappedManager = wrappedManager;
+        this.templateCache = wrapCache(wrappedManager.getTemplateCache());
+        this.expressionCache = wrapCache(wrappedManager.getExpressionCache());
+    }
+
+    protected <KEY, VALUE> StatisticsCache<KEY, VALUE> wrapCache(ICache<KEY, VALUE> cache) { // null allowed
+        return cache != null ? new StatisticsCache<KEY, VALUE>(cache) : null;
+    }
+
+    // ===================================================================================
+    //                                                                       Cache Manager
+    //                                                                       =============
+    @Override
+    public ICache<TemplateCacheKey, TemplateModel> getTemplateCache() {
+        return templateCache;
+    }
+
+    @Override
+    public ICache<ExpressionCacheKey, Object> getExpressionCache() {
+        return expressionCache;
+    }
+
+    @Override
+    public <KEY, VALUE> ICache<KEY, VALUE> getSpecificCache(String name) {
+        return wrappedManager.getSpecificCache(name);
+    }
+
+    @Override
+    public List<String> getAllSpecificCacheNames() {
+        return wrappedManager.getAllSpecificCacheNames();
+    }
+
+    @Override
+    public void clearAllCaches() {
+        wrappedManager.clearAllCaches();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ICacheManager getWrappedManager() {
+        return wrappedManager;
+    }
+
+    public StatisticsCache<TemplateCacheKey, TemplateModel> getStatisticsTemplateCache() { // null allowed
+        return templateCache;
+    }
+
+    public StatisticsCache<ExpressionCacheKey, Object> getStatisticsExpressionCache() { // null allowed
+        return expressionCache;
+    }
+}
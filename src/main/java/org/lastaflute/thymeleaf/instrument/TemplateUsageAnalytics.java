@@ -0,0 +1,292 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.dbflute.util.DfTypeUtil;
+import org.dbflute.util.Srl;
+import org.lastaflute.thymeleaf.warmup.HotTemplate;
+
+/**
+ * The analytics of template usage: render count, last-used time and cumulative cost per template,
+ * and inclusion count and last-used time per fragment template. <br>
+ * The report lists unused and rarely used templates, and the usage ranking drives the order of template warm-up.
+ * <pre>
+ * provider.analyzeTemplateUsage();
+ * ...
+ * logger.info(provider.buildTemplateUsageReport(10)); // rarely used if 10 or less
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class TemplateUsageAnalytics implements ThymeleafRenderingListener, FragmentInclusionListener {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The max count of usages per map, recorded as others if over (basically no way because of template files). */
+    protected static final int USAGE_LIMIT = 10000;
+
+    /** The name of usage recorded as others when over the limit. */
+    public static final String OTHERS_NAME = "(others)";
+
+    /** The max count of locales per template, not recorded if over (basically no way). */
+    protected static final int LOCALE_LIMIT = 100;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long beginTimeMillis = System.currentTimeMillis(); // since for report
+
+    /** The map of template usage, keyed by template name (routing path). (NotNull) */
+    protected final Map<String, TemplateUsage> templateUsageMap = new ConcurrentHashMap<String, TemplateUsage>();
+
+    /** The map of fragment usage, keyed by fragment template name. (NotNull) */
+    protected final Map<String, TemplateUsage> fragmentUsageMap = new ConcurrentHashMap<String, TemplateUsage>();
+
+    // ===================================================================================
+    //                                                                              Listen
+    //                                                                              ======
+    @Override
+    public void onRendered(ThymeleafRenderingTiming timing) {
+        final TemplateUsage usage = findUsage(templateUsageMap, timing.getTemplateName());
+        usage.record(timing.getTotalNanos());
+        if (timing.getLocale() != null) {
+            usage.recordLocale(timing.getLocale());
+        }
+    }
+
+    @Override
+    public void onIncluded(String templateName, String fragmentExpression) {
+        final String fragmentTemplate = extractFragmentTemplate(fragmentExpression);
+        if (fragmentTemplate != null) { // null if e.g. this :: header
+            findUsage(fragmentUsageMap, fragmentTemplate).record(0L); // cost is included in the rendering
+        }
+    }
+
+    /**
+     * @param fragmentExpression The expression of fragment, e.g. ~{common/layout :: footer}. (NullAllowed)
+     * @return The template name of the fragment, e.g. common/layout. (NullAllowed: when empty or the same template)
+     */
+    protected String extractFragmentTemplate(String fragmentExpression) {
+        if (fragmentExpression == null) {
+            return null;
+        }
+        String exp = fragmentExpression.trim();
+        if (exp.startsWith("~{") && exp.endsWith("}")) {
+            exp = exp.substring("~{".length(), exp.length() - "}".length()).trim();
+        }
+        final String templatePart = Srl.substringFirstFront(exp, "::").trim();
+        if (templatePart.isEmpty() || "this".equals(templatePart) || templatePart.contains("${")) { // dynamic is unknown
+            return null;
+        }
+        return templatePart;
+    }
+
+    protected TemplateUsage findUsage(Map<String, TemplateUsage> usageMap, String name) {
+        final TemplateUsage cached = usageMap.get(name); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final String key = usageMap.size() < USAGE_LIMIT ? name : OTHERS_NAME;
+        final TemplateUsage created = new TemplateUsage(key);
+        final TemplateUsage existing = usageMap.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    public static class TemplateUsage {
+
+        protected final String name; // not null
+        protected final LongAdder count = new LongAdder();
+        protected final LongAdder costNanos = new LongAdder();
+        protected volatile long lastUsedMillis;
+        protected final Map<Locale, LongAdder> localeCountMap = new ConcurrentHashMap<Locale, LongAdder>(4); // basically few
+
+        public TemplateUsage(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos) {
+            count.increment();
+            costNanos.add(nanos);
+            lastUsedMillis = System.currentTimeMillis(); // may be overwritten by other thread but almost same
+        }
+
+        public void recordLocale(Locale locale) {
+            LongAdder localeCount = localeCountMap.get(locale); // lock-free
+            if (localeCount == null) {
+                if (localeCountMap.size() >= LOCALE_LIMIT) { // basically no way
+                    return;
+                }
+                localeCount = localeCountMap.computeIfAbsent(locale, key -> new LongAdder());
+            }
+            localeCount.increment();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getCostNanos() {
+            return costNanos.sum();
+        }
+
+        public long getLastUsedMillis() {
+            return lastUsedMillis;
+        }
+
+        public Map<Locale, Long> getLocaleCountMap() { // snapshot
+            final Map<Locale, Long> snapshotMap = new HashMap<Locale, Long>(localeCountMap.size());
+            localeCountMap.forEach((locale, count) -> snapshotMap.put(locale, count.sum()));
+            return snapshotMap;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                             Ranking
+    //                                                                             =======
+    /**
+     * Select the template names in usage ranking, e.g. for the most used templates in monitoring.
+     * @param limit The max size of returned list.
+     * @return The list of template names by count descending (cost descending if same count). (NotNull)
+     */
+    public List<String> selectRankedTemplateList(int limit) {
+        return templateUsageMap.values().stream().filter(usage -> !OTHERS_NAME.equals(usage.getName())).sorted((u1, u2) -> {
+            final int countCompared = Long.compare(u2.getCount(), u1.getCount());
+            return countCompared != 0 ? countCompared : Long.compare(u2.getCostNanos(), u1.getCostNanos());
+        }).limit(limit).map(usage -> usage.getName()).collect(Collectors.toList());
+    }
+
+    /**
+     * Select the hot templates with locale, e.g. for persisted warm-up list.
+     * @param limit The max size of returned list.
+     * @return The list of hot templates by count of template and locale descending. (NotNull)
+     */
+    public List<HotTemplate> selectHotTemplateList(int limit) {
+        final List<HotTemplate> hotList = new ArrayList<HotTemplate>();
+        for (TemplateUsage usage : templateUsageMap.values()) {
+            if (OTHERS_NAME.equals(usage.getName())) {
+                continue;
+            }
+            usage.getLocaleCountMap().forEach((locale, count) -> {
+                hotList.add(new HotTemplate(usage.getName(), locale, count));
+            });
+        }
+        hotList.sort((h1, h2) -> Long.compare(h2.getCount(), h1.getCount()));
+        return hotList.size() > limit ? new ArrayList<HotTemplate>(hotList.subList(0, limit)) : hotList;
+    }
+
+    // ===================================================================================
+    //                                                                              Report
+    //                                                                              ======
+    /**
+     * Build the report of template usage: unused templates, rarely used templates and fragments, and all usages.
+     * @param knownTemplateNames The names of all template files, e.g. /member/member_list.html. (NotNull, EmptyAllowed: unknown)
+     * @param rareCount The max count of rarely used, e.g. 10 means used 1 to 10 times.
+     * @return The report string, cost is milliseconds. (NotNull)
+     */
+    public String buildReport(Collection<String> knownTemplateNames, long rareCount) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[Template Usage] since ").append(DfTypeUtil.toString(new Date(beginTimeMillis), "yyyy/MM/dd HH:mm:ss"));
+        final List<String> unusedList = extractUnusedTemplateList(knownTemplateNames);
+        sb.append("\n-- unused templates (").append(unusedList.size()).append(" of ").append(knownTemplateNames.size()).append(")");
+        unusedList.forEach(templateName -> sb.append("\n  ").append(templateName));
+        sb.append("\n-- rarely used templates (").append(rareCount).append(" or less)");
+        appendUsages(sb, filterRareUsages(templateUsageMap, rareCount));
+        sb.append("\n-- rarely used fragments (").append(rareCount).append(" or less)");
+        appendUsages(sb, filterRareUsages(fragmentUsageMap, rareCount));
+        sb.append("\n-- all templates");
+        appendUsages(sb, new TreeMap<String, TemplateUsage>(templateUsageMap).values());
+        sb.append("\n-- all fragments");
+        appendUsages(sb, new TreeMap<String, TemplateUsage>(fragmentUsageMap).values());
+        return sb.toString();
+    }
+
+    /**
+     * @param knownTemplateNames The names of all template files, e.g. /member/member_list.html. (NotNull)
+     * @return The list of template names neither rendered nor included, in name order. (NotNull)
+     */
+    public List<String> extractUnusedTemplateList(Collection<String> knownTemplateNames) {
+        final List<String> unusedList = new ArrayList<String>();
+        for (String templateName : knownTemplateNames) {
+            if (!isUsed(templateName)) {
+                unusedList.add(templateName);
+            }
+        }
+        Collections.sort(unusedList);
+        return unusedList;
+    }
+
+    protected boolean isUsed(String templateName) { // fragment may be referred without slash or extension
+        final String normalized = normalizeTemplateName(templateName);
+        return templateUsageMap.keySet().stream().anyMatch(name -> normalizeTemplateName(name).equals(normalized))
+                || fragmentUsageMap.keySet().stream().anyMatch(name -> normalizeTemplateName(name).equals(normalized));
+    }
+
+    protected String normalizeTemplateName(String templateName) {
+        final String noSlash = Srl.ltrim(templateName, "/");
+        return noSlash.endsWith(".html") ? Srl.substringLastFront(noSlash, ".html") : noSlash;
+    }
+
+    protected List<TemplateUsage> filterRareUsages(Map<String, TemplateUsage> usageMap, long rareCount) {
+        return new TreeMap<String, TemplateUsage>(usageMap).values().stream().filter(usage -> {
+            return usage.getCount() <= rareCount;
+        }).collect(Collectors.toList());
+    }
+
+    protected void appendUsages(StringBuilder sb, Collection<TemplateUsage> usages) {
+        for (TemplateUsage usage : usages) {
+            sb.append("\n  ").append(usage.getName()).append(": count=").append(usage.getCount());
+            sb.append(", cost=").append(usage.getCostNanos() / 1000000L).append("ms");
+            sb.append(", last=").append(DfTypeUtil.toString(new Date(usage.getLastUsedMillis()), "yyyy/MM/dd HH:mm:ss"));
+        }
+    }
+
+    /**
+     * Clear all usages, e.g. after reporting for next period.
+     */
+    public void clear() {
+        templateUsageMap.clear();
+        fragmentUsageMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Map<String, TemplateUsage> getTemplateUsageMap() {
+        return Collections.unmodifiableMap(templateUsageMap);
+    }
+
+    public Map<String, TemplateUsage> getFragmentUsageMap() {
+        return Collections.unmodifiableMap(fragmentUsageMap);
+    }
+}
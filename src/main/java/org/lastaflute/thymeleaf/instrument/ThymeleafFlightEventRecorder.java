@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Locale;
+
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+
+/**
+ * The recorder of flight recorder events, implemented by JfrThymeleafRecorder. <br>
+ * The implementation is compiled separately (src/main/jfr) because it needs jdk.jfr,
+ * and it is loaded by {@link ThymeleafFlightRecorder} only when flight recorder is available.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public interface ThymeleafFlightEventRecorder {
+
+    /**
+     * @return true if flight recorder is available in this JVM.
+     */
+    boolean isAvailable();
+
+    ThymeleafRecording beginRendering(String templateName);
+
+    void endRendering(ThymeleafRecording recording, Locale locale, long bytesWritten);
+
+    void recordFragmentInclusion(IProcessableElementTag tag, AttributeName attributeName, String fragmentExpression);
+
+    ThymeleafRecording beginExpressionObjectCreation(String expressionObjectName, IExpressionContext context);
+
+    ThymeleafRecording beginLastaProcessor(IProcessableElementTag tag, AttributeName attributeName, String attributeValue);
+}
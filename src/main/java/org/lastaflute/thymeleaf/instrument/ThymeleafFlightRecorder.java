@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Locale;
+
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+
+/**
+ * The recorder of Java Flight Recorder events for template rendering, fragment inclusion,
+ * expression object creation and Lasta processor execution. <br>
+ * Nothing is recorded (and almost no cost) if JFR is unavailable (e.g. old Java8) or the event is disabled in recording.
+ * <pre>
+ * e.g. java -XX:StartFlightRecording:... (events are in the category "LastaFlute / Thymeleaf")
+ * you can disable it by system property: -Dlastaflute.thymeleaf.flightRecorderDisabled=true
+ *
+ * fragment inclusion events need the recording processors: dialect.recordFragmentInclusion()
+ * </pre>
+ * The JFR implementation is compiled separately (src/main/jfr) and loaded by class name,
+ * so this class (and the main source set) does not depend on jdk.jfr.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafFlightRecorder {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String DISABLED_PROPERTY = "lastaflute.thymeleaf.flightRecorderDisabled";
+
+    /** The class name of JFR implementation, compiled separately with jdk.jfr. */
+    public static final String JFR_RECORDER_CLASS_NAME = "org.lastaflute.thymeleaf.instrument.jfr.JfrThymeleafRecorder";
+
+    /** The recorder of JFR events. (NullAllowed: when flight recorder is unavailable or disabled, JFR classes are not loaded) */
+    protected static final ThymeleafFlightEventRecorder eventRecorder = prepareEventRecorder();
+
+    protected static ThymeleafFlightEventRecorder prepareEventRecorder() { // null allowed
+        if (Boolean.getBoolean(DISABLED_PROPERTY)) {
+            return null;
+        }
+        try {
+            final Class<?> recorderType = Class.forName(JFR_RECORDER_CLASS_NAME);
+            final ThymeleafFlightEventRecorder recorder = (ThymeleafFlightEventRecorder) recorderType.newInstance();
+            return recorder.isAvailable() ? recorder : null;
+        } catch (ReflectiveOperationException | LinkageError e) { // e.g. Java8 before 8u262 (no jdk.jfr)
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Available
+    //                                                                           =========
+    public static boolean isAvailable() {
+        return eventRecorder != null;
+    }
+
+    // ===================================================================================
+    //                                                                           Rendering
+    //                                                                           =========
+    /**
+     * @param templateName The name of rendered template, e.g. /member/member_list.html. (NotNull)
+     * @return The recording of the rendering, end it by endRendering(). (NotNull)
+     */
+    public static ThymeleafRecording beginRendering(String templateName) {
+        return eventRecorder != null ? eventRecorder.beginRendering(templateName) : ThymeleafRecording.NONE;
+    }
+
+    /**
+     * @param recording The recording of the rendering. (NotNull)
+     * @param locale The locale of the rendering. (NullAllowed)
+     * @param bytesWritten The size of rendered HTML as bytes.
+     */
+    public static void endRendering(ThymeleafRecording recording, Locale locale, long bytesWritten) {
+        if (recording.isRecording()) { // only when begun by event recorder
+            eventRecorder.endRendering(recording, locale, bytesWritten);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                  Fragment Inclusion
+    //                                                                  ==================
+    /**
+     * @param tag The element tag that includes the fragment. (NotNull)
+     * @param attributeName The name of inclusion attribute, e.g. th:replace. (NotNull)
+     * @param fragmentExpression The expression of fragment, e.g. ~{common/layout :: footer}. (NullAllowed)
+     */
+    public static void recordFragmentInclusion(IProcessableElementTag tag, AttributeName attributeName, String fragmentExpression) {
+        if (eventRecorder != null) {
+            eventRecorder.recordFragmentInclusion(tag, attributeName, fragmentExpression);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                   Expression Object
+    //                                                                   =================
+    /**
+     * @param expressionObjectName The name of created expression object, e.g. cls. (NotNull)
+     * @param context The context of expression. (NullAllowed)
+     * @return The recording of the creation, end it after creation. (NotNull)
+     */
+    public static ThymeleafRecording beginExpressionObjectCreation(String expressionObjectName, IExpressionContext context) {
+        final ThymeleafFlightEventRecorder recorder = eventRecorder; // not null if available
+        return recorder != null ? recorder.beginExpressionObjectCreation(expressionObjectName, context) : ThymeleafRecording.NONE;
+    }
+
+    // ===================================================================================
+    //                                                                      Lasta Processor
+    //                                                                      ===============
+    /**
+     * @param tag The processed element tag. (NotNull)
+     * @param attributeName The name of Lasta attribute, e.g. la:property. (NotNull)
+     * @param attributeValue The value of Lasta attribute. (NullAllowed)
+     * @return The recording of the processing, end it after processing. (NotNull)
+     */
+    public static ThymeleafRecording beginLastaProcessor(IProcessableElementTag tag, AttributeName attributeName, String attributeValue) {
+        return eventRecorder != null ? eventRecorder.beginLastaProcessor(tag, attributeName, attributeValue) : ThymeleafRecording.NONE;
+    }
+}
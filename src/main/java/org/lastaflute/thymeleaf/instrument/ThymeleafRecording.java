@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+/**
+ * The recording of one flight recorder event, which is begun by {@link ThymeleafFlightRecorder}.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public interface ThymeleafRecording {
+
+    /** The recording that does nothing, when flight recorder is unavailable or the event is disabled. */
+    ThymeleafRecording NONE = new ThymeleafRecording() {
+
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    /**
+     * @return true if the event is actually recorded. (you can skip preparing event values if false)
+     */
+    boolean isRecording();
+
+    /**
+     * End the event and commit it if it should be committed e.g. over threshold.
+     */
+    void end();
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The breakdown of one sampled rendering: expressions per template, fragment inclusions (count only),
+ * and time spent in #cls, #handy and message resolution. <br>
+ * It is bound to the rendering thread only while the rendering is sampled, so recording points do nothing if no current breakdown. <br>
+ * Categories may overlap, e.g. ${er.message} is counted as both expression and message resolution. <br>
+ * Calls of #cls and #handy are timed where the expression objects are invoked (also by processors e.g. direct la:optionCls),
+ * and nested calls (e.g. #handy called in #cls) are included in the outer call.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafRenderingBreakdown {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The breakdown of current rendering thread, only while sampled rendering. (NotNull, value NullAllowed) */
+    protected static final ThreadLocal<ThymeleafRenderingBreakdown> currentLocal = new ThreadLocal<ThymeleafRenderingBreakdown>();
+
+    /** The max count of entries per map, recorded as others if over (e.g. many dynamic fragment expressions). */
+    protected static final int ENTRY_LIMIT = 200;
+
+    /** The name of entry recorded as others when over the limit. */
+    public static final String OTHERS_NAME = "(others)";
+
+    /** The begin time of expression object call that is not measured (not sampled or nested call). */
+    public static final long NO_MEASUREMENT = -1L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int expressionCount;
+    protected long expressionNanos;
+    protected final Map<String, BreakdownEntry> templateMap = new HashMap<String, BreakdownEntry>(); // expressions per template
+    protected final Map<String, BreakdownEntry> fragmentMap = new HashMap<String, BreakdownEntry>(); // inclusions per fragment
+    protected final BreakdownEntry clsEntry = new BreakdownEntry("#cls");
+    protected final BreakdownEntry handyEntry = new BreakdownEntry("#handy");
+    protected final BreakdownEntry messageEntry = new BreakdownEntry("message");
+    protected boolean objectCalling; // true while calling expression object, to ignore nested calls
+
+    // ===================================================================================
+    //                                                                       Thread Status
+    //                                                                       =============
+    /**
+     * Begin the breakdown of current rendering thread, end it by end() in finally.
+     * @return The new breakdown bound to current thread. (NotNull)
+     */
+    public static ThymeleafRenderingBreakdown begin() {
+        final ThymeleafRenderingBreakdown breakdown = new ThymeleafRenderingBreakdown();
+        currentLocal.set(breakdown);
+        return breakdown;
+    }
+
+    /**
+     * @return The breakdown of current rendering thread. (NullAllowed: when the rendering is not sampled)
+     */
+    public static ThymeleafRenderingBreakdown current() {
+        return currentLocal.get();
+    }
+
+    public static void end() {
+        currentLocal.remove();
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param templateName The name of template (or fragment template) that has the expression. (NullAllowed: unknown)
+     * @param nanos The nanoseconds of the evaluation.
+     */
+    public void recordExpression(String templateName, long nanos) {
+        ++expressionCount;
+        expressionNanos += nanos;
+        findEntry(templateMap, templateName != null ? templateName : OTHERS_NAME).record(nanos);
+    }
+
+    /**
+     * Count the fragment inclusion, not timed because the fragment is processed by standard processor after the recording.
+     * @param templateName The name of template that includes the fragment. (NullAllowed: unknown)
+     * @param fragmentExpression The expression of fragment, e.g. ~{common/layout :: footer}. (NullAllowed)
+     */
+    public void recordFragmentInclusion(String templateName, String fragmentExpression) {
+        findEntry(fragmentMap, fragmentExpression + " in " + templateName).countUp();
+    }
+
+    /**
+     * @param nanos The nanoseconds of the message resolution.
+     */
+    public void recordMessage(long nanos) {
+        messageEntry.record(nanos);
+    }
+
+    // -----------------------------------------------------
+    //                                     Expression Object
+    //                                     -----------------
+    /**
+     * Begin the call of expression object (e.g. #cls), end it by endClassificationCall() or endHandyDateCall() in finally.
+     * @return The begin time of the call. (NO_MEASUREMENT: when not sampled or nested call)
+     */
+    public static long beginObjectCall() {
+        final ThymeleafRenderingBreakdown breakdown = current();
+        if (breakdown == null || breakdown.objectCalling) { // not sampled or nested call
+            return NO_MEASUREMENT;
+        }
+        breakdown.objectCalling = true;
+        return System.nanoTime();
+    }
+
+    /**
+     * @param beginTime The begin time returned by beginObjectCall(). (NO_MEASUREMENT: do nothing)
+     */
+    public static void endClassificationCall(long beginTime) {
+        final ThymeleafRenderingBreakdown breakdown = finishObjectCall(beginTime);
+        if (breakdown != null) {
+            breakdown.clsEntry.record(System.nanoTime() - beginTime);
+        }
+    }
+
+    /**
+     * @param beginTime The begin time returned by beginObjectCall(). (NO_MEASUREMENT: do nothing)
+     */
+    public static void endHandyDateCall(long beginTime) {
+        final ThymeleafRenderingBreakdown breakdown = finishObjectCall(beginTime);
+        if (breakdown != null) {
+            breakdown.handyEntry.record(System.nanoTime() - beginTime);
+        }
+    }
+
+    protected static ThymeleafRenderingBreakdown finishObjectCall(long beginTime) { // null allowed
+        if (beginTime == NO_MEASUREMENT) {
+            return null;
+        }
+        final ThymeleafRenderingBreakdown breakdown = current();
+        if (breakdown != null) {
+            breakdown.objectCalling = false;
+        }
+        return breakdown;
+    }
+
+    // -----------------------------------------------------
+    //                                          Entry Helper
+    //                                          ------------
+    protected BreakdownEntry findEntry(Map<String, BreakdownEntry> entryMap, String name) {
+        BreakdownEntry entry = entryMap.get(name);
+        if (entry == null) { // no lock because only in one thread
+            final String key = entryMap.size() < ENTRY_LIMIT ? name : OTHERS_NAME;
+            entry = entryMap.get(key);
+            if (entry == null) {
+                entry = new BreakdownEntry(key);
+                entryMap.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public static class BreakdownEntry {
+
+        protected final String name; // not null
+        protected int count;
+        protected long nanos;
+
+        public BreakdownEntry(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos) {
+            ++count;
+            this.nanos += nanos;
+        }
+
+        public void countUp() { // without time
+            ++count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Top Entries
+    //                                                                         ===========
+    /**
+     * @param limit The max size of returned list.
+     * @return The list of templates by expression time descending. (NotNull)
+     */
+    public List<BreakdownEntry> getTopTemplateList(int limit) {
+        return extractTopList(templateMap, limit);
+    }
+
+    /**
+     * @param limit The max size of returned list.
+     * @return The list of fragments (with including template) by inclusion count descending, not timed. (NotNull)
+     */
+    public List<BreakdownEntry> getTopFragmentList(int limit) {
+        return extractTopList(fragmentMap, limit);
+    }
+
+    protected List<BreakdownEntry> extractTopList(Map<String, BreakdownEntry> entryMap, int limit) {
+        final List<BreakdownEntry> entryList = new ArrayList<BreakdownEntry>(entryMap.values());
+        entryList.sort((e1, e2) -> {
+            final int nanosCompared = Long.compare(e2.getNanos(), e1.getNanos());
+            return nanosCompared != 0 ? nanosCompared : Integer.compare(e2.getCount(), e1.getCount());
+        });
+        return entryList.size() > limit ? entryList.subList(0, limit) : entryList;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getExpressionCount() {
+        return expressionCount;
+    }
+
+    public long getExpressionNanos() {
+        return expressionNanos;
+    }
+
+    public BreakdownEntry getClsEntry() {
+        return clsEntry;
+    }
+
+    public BreakdownEntry getHandyEntry() {
+        return handyEntry;
+    }
+
+    public BreakdownEntry getMessageEntry() {
+        return messageEntry;
+    }
+}
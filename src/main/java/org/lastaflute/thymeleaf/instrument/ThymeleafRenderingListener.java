@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+/**
+ * The listener of rendering, called with nanosecond timings per phase after rendering. <br>
+ * It is called in the request thread so the implementation should be thread-safe and light.
+ * <pre>
+ * Usage: (in your rendering provider)
+ *   provider.listenRendering(new HistogramRenderingListener());
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public interface ThymeleafRenderingListener {
+
+    /**
+     * @return true if the listener needs timings. (false: no timing object is created)
+     */
+    default boolean isListening() {
+        return true;
+    }
+
+    /**
+     * Called before rendering, always paired with onRenderingEnded(), e.g. for count of active renderings.
+     * @param templateName The name of rendered template, e.g. /member/member_list.html. (NotNull)
+     */
+    default void onRenderingBegun(String templateName) {
+    }
+
+    /**
+     * Called after successful rendering (not called if exception).
+     * @param timing The timing of the rendering, template name and output size. (NotNull)
+     */
+    void onRendered(ThymeleafRenderingTiming timing);
+
+    /**
+     * Called after rendering in finally, even if exception.
+     * @param templateName The name of rendered template, e.g. /member/member_list.html. (NotNull)
+     */
+    default void onRenderingEnded(String templateName) {
+    }
+}
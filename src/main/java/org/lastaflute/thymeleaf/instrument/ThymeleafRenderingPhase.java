@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+/**
+ * The phase of rendering in ThymeleafHtmlRenderer, in the order of processing.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public enum ThymeleafRenderingPhase {
+
+    /** createTemplateContext(): web context from request. */
+    CREATE_CONTEXT,
+
+    /** exportErrorsToContext(): errors and version query. */
+    EXPORT_ERRORS,
+
+    /** exportFormPropertyToContext(): properties of action form. */
+    EXPORT_FORM,
+
+    /** createResponseBody(): template processing by engine. */
+    CREATE_BODY,
+
+    /** write(): writing HTML to response. */
+    WRITE
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Locale;
+
+/**
+ * The timing of one rendering: nanoseconds per phase, template name and output size (bytes).
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafRenderingTiming {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String templateName; // not null
+    protected final long[] phaseNanos; // not null, indexed by ordinal of phase
+    protected final long outputBytes; // bytes of written HTML in response encoding
+    protected final Locale locale; // null allowed (when unknown)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param templateName The name of rendered template, e.g. /member/member_list.html. (NotNull)
+     * @param phaseNanos The array of nanoseconds per phase, indexed by ordinal of phase. (NotNull)
+     * @param outputBytes The bytes of written HTML in response encoding.
+     */
+    public ThymeleafRenderingTiming(String templateName, long[] phaseNanos, long outputBytes) {
+        this(templateName, phaseNanos, outputBytes, null);
+    }
+
+    /**
+     * @param templateName The name of rendered template, e.g. /member/member_list.html. (NotNull)
+     * @param phaseNanos The array of nanoseconds per phase, indexed by ordinal of phase. (NotNull)
+     * @param outputBytes The bytes of written HTML in response encoding.
+     * @param locale The locale of the rendering. (NullAllowed: when unknown)
+     */
+    public ThymeleafRenderingTiming(String templateName, long[] phaseNanos, long outputBytes, Locale locale) {
+        if (phaseNanos.length != ThymeleafRenderingPhase.values().length) {
+            throw new IllegalArgumentException("The length of phaseNanos should be same as phases: " + phaseNanos.length);
+        }
+        this.templateName = templateName;
+        this.phaseNanos = phaseNanos;
+        this.outputBytes = outputBytes;
+        this.locale = locale;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("timing:{").append(templateName);
+        for (ThymeleafRenderingPhase phase : ThymeleafRenderingPhase.values()) {
+            sb.append(", ").append(phase.name().toLowerCase()).append("=").append(getPhaseNanos(phase));
+        }
+        sb.append(", total=").append(getTotalNanos()).append(", bytes=").append(outputBytes).append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public long getPhaseNanos(ThymeleafRenderingPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        long total = 0L;
+        for (long nanos : phaseNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    public Locale getLocale() { // null allowed
+        return locale;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jmx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.instrument.HistogramRenderingListener;
+import org.lastaflute.thymeleaf.instrument.HistogramRenderingListener.TemplateHistograms;
+import org.lastaflute.thymeleaf.instrument.RenderingHistogram;
+import org.lastaflute.thymeleaf.instrument.StatisticsCache;
+import org.lastaflute.thymeleaf.instrument.StatisticsCacheManager;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingListener;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingTiming;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.TemplateCacheKey;
+
+/**
+ * The statistics of template engine exposed as MBean, also listening renderings for counts and latencies.
+ * <pre>
+ * provider.registerEngineMBean(); // org.lastaflute.thymeleaf:type=TemplateEngine,context="/harbor"
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafEngineStatistics implements ThymeleafEngineStatisticsMBean, ThymeleafRenderingListener {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final TemplateEngine templateEngine; // not null
+    protected final StatisticsCacheManager cacheManager; // null allowed (when engine has no cache manager)
+    protected final LastaThymeleafDialect lastaDialect; // not null
+    protected final HistogramRenderingListener histogramListener; // not null
+    protected final AtomicInteger activeRenderingCount = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ThymeleafEngineStatistics(TemplateEngine templateEngine, StatisticsCacheManager cacheManager,
+            LastaThymeleafDialect lastaDialect) {
+        if (templateEngine == null) {
+            throw new IllegalArgumentException("The argument 'templateEngine' should not be null.");
+        }
+        if (lastaDialect == null) {
+            throw new IllegalArgumentException("The argument 'lastaDialect' should not be null.");
+        }
+        this.templateEngine = templateEngine;
+        this.cacheManager = cacheManager;
+        this.lastaDialect = lastaDialect;
+        this.histogramListener = newHistogramRenderingListener();
+    }
+
+    protected HistogramRenderingListener newHistogramRenderingListener() {
+        return new HistogramRenderingListener();
+    }
+
+    // ===================================================================================
+    //                                                                      Template Cache
+    //                                                                      ==============
+    @Override
+    public int getTemplateCacheSize() {
+        final StatisticsCache<?, ?> cache = findTemplateCache();
+        return cache != null ? cache.size() : 0;
+    }
+
+    @Override
+    public long getTemplateCacheHitCount() {
+        final StatisticsCache<?, ?> cache = findTemplateCache();
+        return cache != null ? cache.getHitCount() : 0L;
+    }
+
+    @Override
+    public long getTemplateCacheMissCount() {
+        final StatisticsCache<?, ?> cache = findTemplateCache();
+        return cache != null ? cache.getMissCount() : 0L;
+    }
+
+    @Override
+    public double getTemplateCacheHitRatio() {
+        final StatisticsCache<?, ?> cache = findTemplateCache();
+        return cache != null ? cache.getHitRatio() : 0.0;
+    }
+
+    @Override
+    public String[] getCachedTemplateNames() {
+        final StatisticsCache<TemplateCacheKey, ?> cache = findTemplateCache();
+        if (cache == null) {
+            return new String[0];
+        }
+        return cache.keySet().stream().map(key -> key.getTemplate()).distinct().sorted().toArray(String[]::new);
+    }
+
+    protected StatisticsCache<TemplateCacheKey, ?> findTemplateCache() { // null allowed
+        return cacheManager != null ? cacheManager.getStatisticsTemplateCache() : null;
+    }
+
+    // ===================================================================================
+    //                                                                    Expression Cache
+    //                                                                    ================
+    @Override
+    public int getExpressionCacheSize() {
+        final StatisticsCache<?, ?> cache = findExpressionCache();
+        return cache != null ? cache.size() : 0;
+    }
+
+    @Override
+    public long getExpressionCacheHitCount() {
+        final StatisticsCache<?, ?> cache = findExpressionCache();
+        return cache != null ? cache.getHitCount() : 0L;
+    }
+
+    @Override
+    public long getExpressionCacheMissCount() {
+        final StatisticsCache<?, ?> cache = findExpressionCache();
+        return cache != null ? cache.getMissCount() : 0L;
+    }
+
+    @Override
+    public double getExpressionCacheHitRatio() {
+        final StatisticsCache<?, ?> cache = findExpressionCache();
+        return cache != null ? cache.getHitRatio() : 0.0;
+    }
+
+    protected StatisticsCache<?, ?> findExpressionCache() { // null allowed
+        return cacheManager != null ? cacheManager.getStatisticsExpressionCache() : null;
+    }
+
+    // ===================================================================================
+    //                                                                           Rendering
+    //                                                                           =========
+    @Override
+    public void onRenderingBegun(String templateName) {
+        activeRenderingCount.incrementAndGet();
+    }
+
+    @Override
+    public void onRendered(ThymeleafRenderingTiming timing) {
+        histogramListener.onRendered(timing);
+    }
+
+    @Override
+    public void onRenderingEnded(String templateName) {
+        activeRenderingCount.decrementAndGet();
+    }
+
+    @Override
+    public long getRenderingCount() {
+        long count = 0L;
+        for (TemplateHistograms histograms : histogramListener.getHistogramsMap().values()) {
+            count += histograms.getTotalHistogram().getCount();
+        }
+        return count;
+    }
+
+    @Override
+    public int getActiveRenderingCount() {
+        return activeRenderingCount.get();
+    }
+
+    @Override
+    public String[] getTemplateRenderingSummaries() {
+        final Map<String, TemplateHistograms> histogramsMap = new TreeMap<String, TemplateHistograms>(histogramListener.getHistogramsMap());
+        final List<String> summaryList = new ArrayList<String>(histogramsMap.size());
+        histogramsMap.forEach((templateName, histograms) -> {
+            final RenderingHistogram total = histograms.getTotalHistogram();
+            summaryList.add(templateName + ": count=" + total.getCount() + ", p50=" + toMicros(total.getPercentile(50.0)) + ", p99="
+                    + toMicros(total.getPercentile(99.0)) + ", max=" + toMicros(total.getMax()) + " (microseconds)");
+        });
+        return summaryList.toArray(new String[summaryList.size()]);
+    }
+
+    protected long toMicros(long nanos) {
+        return nanos / 1000L;
+    }
+
+    @Override
+    public String buildRenderingReport() {
+        return histogramListener.buildReport();
+    }
+
+    // ===================================================================================
+    //                                                                       Dialect Cache
+    //                                                                       =============
+    @Override
+    public int getClassificationIndexCount() {
+        return lastaDialect.getClassificationMetaIndex().getIndexedCount();
+    }
+
+    @Override
+    public int getClassificationLocaleAliasCount() {
+        return lastaDialect.getClassificationMetaIndex().getLocaleAliasCount();
+    }
+
+    @Override
+    public int getGeneratedExpressionCacheSize() {
+        return lastaDialect.getGeneratedExpressionCache().size();
+    }
+
+    // ===================================================================================
+    //                                                                           Operation
+    //                                                                           =========
+    @Override
+    public void clearTemplateCache() {
+        templateEngine.clearTemplateCache();
+    }
+
+    @Override
+    public void invalidateTemplate(String templateName) {
+        if (templateName == null) {
+            throw new IllegalArgumentException("The argument 'templateName' should not be null.");
+        }
+        templateEngine.clearTemplateCacheFor(templateName);
+    }
+
+    @Override
+    public void clearExpressionCache() {
+        final ICache<?, ?> cache = templateEngine.getCacheManager() != null ? templateEngine.getCacheManager().getExpressionCache() : null;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void clearDialectCaches() {
+        lastaDialect.getClassificationMetaIndex().clear();
+        lastaDialect.getGeneratedExpressionCache().clear();
+    }
+
+    @Override
+    public void clearAllCaches() {
+        clearTemplateCache();
+        clearExpressionCache();
+        clearDialectCaches();
+    }
+
+    @Override
+    public void resetStatistics() {
+        final StatisticsCache<?, ?> templateCache = findTemplateCache();
+        if (templateCache != null) {
+            templateCache.resetStatistics();
+        }
+        final StatisticsCache<?, ?> expressionCache = findExpressionCache();
+        if (expressionCache != null) {
+            expressionCache.resetStatistics();
+        }
+        histogramListener.clear();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public TemplateEngine getTemplateEngine() {
+        return templateEngine;
+    }
+
+    public HistogramRenderingListener getHistogramListener() {
+        return histogramListener;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jmx;
+
+/**
+ * The management interface of template engine: caches, renderings and dialect caches, with operations to clear them.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public interface ThymeleafEngineStatisticsMBean {
+
+    // ===================================================================================
+    //                                                                      Template Cache
+    //                                                                      ==============
+    int getTemplateCacheSize();
+
+    long getTemplateCacheHitCount();
+
+    long getTemplateCacheMissCount();
+
+    double getTemplateCacheHitRatio();
+
+    /**
+     * @return The names of cached templates (including fragment templates), in name order. (NotNull)
+     */
+    String[] getCachedTemplateNames();
+
+    // ===================================================================================
+    //                                                                    Expression Cache
+    //                                                                    ================
+    int getExpressionCacheSize();
+
+    long getExpressionCacheHitCount();
+
+    long getExpressionCacheMissCount();
+
+    double getExpressionCacheHitRatio();
+
+    // ===================================================================================
+    //                                                                           Rendering
+    //                                                                           =========
+    long getRenderingCount();
+
+    int getActiveRenderingCount();
+
+    /**
+     * @return The summaries of rendering per template: count, and p50, p99, max (microseconds), in name order. (NotNull)
+     */
+    String[] getTemplateRenderingSummaries();
+
+    /**
+     * @return The report of phase timings per template. (NotNull)
+     */
+    String buildRenderingReport();
+
+    // ===================================================================================
+    //                                                                       Dialect Cache
+    //                                                                       =============
+    int getClassificationIndexCount();
+
+    int getClassificationLocaleAliasCount();
+
+    int getGeneratedExpressionCacheSize();
+
+    // ===================================================================================
+    //                                                                           Operation
+    //                                                                           =========
+    void clearTemplateCache();
+
+    /**
+     * @param templateName The name of template to be invalidated, e.g. /member/member_list.html. (NotNull)
+     */
+    void invalidateTemplate(String templateName);
+
+    void clearExpressionCache();
+
+    void clearDialectCaches();
+
+    /**
+     * Clear template and expression caches of engine, and also dialect caches.
+     */
+    void clearAllCaches();
+
+    /**
+     * Reset hit/miss counts and rendering statistics, not caches.
+     */
+    void resetStatistics();
+}
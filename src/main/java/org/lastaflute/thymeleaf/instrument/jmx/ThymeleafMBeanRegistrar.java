@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jmx;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registrar of MBeans to platform MBean server, replacing existing one of the same name (e.g. after redeploy).
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafMBeanRegistrar {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafMBeanRegistrar.class);
+
+    /** The base of object name of template engine statistics, with context key for each application. */
+    public static final String ENGINE_OBJECT_NAME_BASE = "org.lastaflute.thymeleaf:type=TemplateEngine";
+
+    // ===================================================================================
+    //                                                                         Object Name
+    //                                                                         ===========
+    /**
+     * Build the object name of template engine statistics unique in the JVM per application (context path). <br>
+     * e.g. org.lastaflute.thymeleaf:type=TemplateEngine,context="/harbor"
+     * @param contextPath The context path of the application, empty string for root. (NotNull)
+     * @return The object name string. (NotNull)
+     */
+    public String buildEngineObjectName(String contextPath) {
+        if (contextPath == null) {
+            throw new IllegalArgumentException("The argument 'contextPath' should not be null.");
+        }
+        final String contextKey = contextPath.isEmpty() ? "/" : contextPath; // root context
+        return ENGINE_OBJECT_NAME_BASE + ",context=" + ObjectName.quote(contextKey); // quoted for any characters
+    }
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    /**
+     * Register the MBean, monitoring failure is only logged not to stop rendering.
+     * @param mbean The instance of standard MBean. (NotNull)
+     * @param objectName The object name of the MBean, e.g. org.lastaflute.thymeleaf:type=TemplateEngine,context="/harbor". (NotNull)
+     * @return true if registered.
+     */
+    public boolean register(Object mbean, String objectName) {
+        try {
+            final MBeanServer server = getMBeanServer();
+            final ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) { // e.g. redeployed application in the same JVM
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            logger.debug("...Registering the MBean of thymeleaf: {}", objectName);
+            return true;
+        } catch (JMException e) {
+            logger.warn("Failed to register the MBean of thymeleaf: " + objectName, e);
+            return false;
+        }
+    }
+
+    /**
+     * Unregister the MBean if registered, e.g. when the application is destroyed, failure is only logged.
+     * @param objectName The object name of the registered MBean. (NotNull)
+     */
+    public void unregister(String objectName) {
+        try {
+            final MBeanServer server = getMBeanServer();
+            final ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            logger.warn("Failed to unregister the MBean of thymeleaf: " + objectName, e);
+        }
+    }
+
+    protected MBeanServer getMBeanServer() {
+        return ManagementFactory.getPlatformMBeanServer();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.linter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.dbflute.helper.message.ExceptionMessageBuilder;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.exception.ThymeleafBrokenLastaAttributeException;
+import org.lastaflute.thymeleaf.linter.LastaTemplateScanner.ScannedAttribute;
+import org.lastaflute.thymeleaf.linter.LastaTemplateScanner.ScannedTag;
+import org.lastaflute.thymeleaf.processor.attr.ErrorsAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.OptionClsAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.PropertyAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.TokenAttrProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The linter of Lasta attributes in templates, at startup or build time. <br>
+ * It detects the same mistakes as the mistake dialect (e.g. th:property) before rendering,
+ * so the mistake dialect can be removed from template engine. And also detects:
+ * <pre>
+ * o la:token except hidden input
+ * o empty value of Lasta attributes e.g. la:property=""
+ * o unknown classification name of la:optionCls (if classification determiner is specified)
+ * o remaining Lasta attributes (if expanded templates, no Lasta processor at runtime)
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class LastaTemplateLinter {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(LastaTemplateLinter.class);
+
+    /** The prefix mistaken for Lasta attributes. (NotNull) */
+    protected static final String MISTAKE_PREFIX = "th";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String dialectPrefix; // not null
+    protected final LastaTemplateScanner templateScanner; // not null
+    protected Charset templateCharset = StandardCharsets.UTF_8; // not null
+    protected Predicate<String> classificationDeterminer; // null allowed (if null, no check of classification name)
+    protected boolean lastaAttributeProhibited; // any Lasta attribute is problem if true (for expanded templates)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaTemplateLinter() {
+        this(LastaThymeleafDialect.LASTA_THYMELEAF_DIALECT_PREFIX);
+    }
+
+    public LastaTemplateLinter(String dialectPrefix) {
+        this.dialectPrefix = dialectPrefix;
+        this.templateScanner = newLastaTemplateScanner();
+    }
+
+    protected LastaTemplateScanner newLastaTemplateScanner() {
+        return new LastaTemplateScanner();
+    }
+
+    public LastaTemplateLinter templateCharset(Charset templateCharset) {
+        if (templateCharset == null) {
+            throw new IllegalArgumentException("The argument 'templateCharset' should not be null.");
+        }
+        this.templateCharset = templateCharset;
+        return this;
+    }
+
+    /**
+     * @param classificationDeterminer The determiner of classification name, true if the classification exists. (NotNull)
+     * @return this. (NotNull)
+     */
+    public LastaTemplateLinter determineClassification(Predicate<String> classificationDeterminer) {
+        if (classificationDeterminer == null) {
+            throw new IllegalArgumentException("The argument 'classificationDeterminer' should not be null.");
+        }
+        this.classificationDeterminer = classificationDeterminer;
+        return this;
+    }
+
+    /**
+     * Detect any Lasta attribute as problem, for templates expanded at build time (rendered without Lasta processors). <br>
+     * Attributes that the expander leaves (e.g. la:token, la:property="${sea}") cannot be rendered without the processors.
+     * @return this. (NotNull)
+     */
+    public LastaTemplateLinter prohibitLastaAttribute() {
+        this.lastaAttributeProhibited = true;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                                Main
+    //                                                                                ====
+    /**
+     * @param args The arguments: template directory. (NotNull)
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Specify template directory: " + args.length);
+        }
+        final Path templateDir = Paths.get(args[0]);
+        final int count = new LastaTemplateLinter().verifyDirectory(templateDir);
+        logger.info("...Linting Lasta attributes of {} templates: {}", count, templateDir);
+    }
+
+    // ===================================================================================
+    //                                                                      Lint Directory
+    //                                                                      ==============
+    /**
+     * Verify all templates (.html) under the directory.
+     * @param templateDir The directory of templates. (NotNull)
+     * @return The count of verified templates. (NotMinus)
+     * @throws ThymeleafBrokenLastaAttributeException When the Lasta attribute is broken in the templates.
+     */
+    public int verifyDirectory(Path templateDir) {
+        final List<Path> templateList = templateScanner.findTemplateList(templateDir);
+        final List<String> problemList = new ArrayList<String>();
+        for (Path templatePath : templateList) {
+            final String templateName = templateDir.relativize(templatePath).toString();
+            final String templateText;
+            try {
+                templateText = new String(Files.readAllBytes(templatePath), templateCharset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read the template: " + templatePath, e);
+            }
+            problemList.addAll(lint(templateName, templateText));
+        }
+        if (!problemList.isEmpty()) {
+            throwBrokenLastaAttributeException(templateDir, problemList);
+        }
+        return templateList.size();
+    }
+
+    protected void throwBrokenLastaAttributeException(Path templateDir, List<String> problemList) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Found the broken Lasta attributes in the templates.");
+        br.addItem("Advice");
+        br.addElement("Fix the attributes like this:");
+        br.addElement("  (x):");
+        br.addElement("    <input type=\"text\" th:property=\"memberName\"/> // *Bad");
+        br.addElement("    <form la:token=\"true\"> // *Bad");
+        br.addElement("  (o):");
+        br.addElement("    <input type=\"text\" la:property=\"memberName\"/> // Good");
+        br.addElement("    <input type=\"hidden\" la:token=\"true\"/> // Good");
+        br.addItem("Template Directory");
+        br.addElement(templateDir);
+        br.addItem("Problem");
+        for (String problem : problemList) {
+            br.addElement(problem);
+        }
+        final String msg = br.buildExceptionMessage();
+        throw new ThymeleafBrokenLastaAttributeException(msg);
+    }
+
+    // ===================================================================================
+    //                                                                       Lint Template
+    //                                                                       =============
+    /**
+     * @param templateName The name of template for problem message. (NotNull)
+     * @param templateText The text of template. (NotNull)
+     * @return The list of problem messages. (NotNull, EmptyAllowed: no problem)
+     */
+    public List<String> lint(String templateName, String templateText) {
+        final List<String> problemList = new ArrayList<String>();
+        templateScanner.scan(templateText, (tag, parentTag) -> {
+            lintTag(templateName, tag, problemList);
+            return tag.toOriginalText();
+        });
+        return problemList;
+    }
+
+    protected void lintTag(String templateName, ScannedTag tag, List<String> problemList) {
+        for (String attrName : new String[] { ErrorsAttrProcessor.ATTR_NAME, PropertyAttrProcessor.ATTR_NAME,
+                OptionClsAttrProcessor.ATTR_NAME, TokenAttrProcessor.ATTR_NAME }) {
+            final ScannedAttribute mistakeAttr = tag.findOriginalPrefixedAttribute(MISTAKE_PREFIX, attrName);
+            if (mistakeAttr != null) { // same as mistake dialect
+                addProblem(problemList, templateName, tag, "Mistaking prefix, use " + dialectPrefix + ":" + attrName);
+            }
+            final ScannedAttribute lastaAttr = tag.findOriginalLastaAttribute(dialectPrefix, attrName);
+            if (lastaAttr != null && lastaAttr.isEmptyValue()) {
+                addProblem(problemList, templateName, tag, "The Lasta attribute should have value: " + lastaAttr.getName());
+            }
+        }
+        if (!tag.hasLastaAttribute(dialectPrefix)) {
+            return;
+        }
+        if (lastaAttributeProhibited) { // rendered as it is if no processor
+            addProblem(problemList, templateName, tag, "The Lasta attribute remains in expanded template, needs Lasta processors.");
+        }
+        final ScannedAttribute tokenAttr = tag.findOriginalLastaAttribute(dialectPrefix, TokenAttrProcessor.ATTR_NAME);
+        if (tokenAttr != null) { // same as token processor
+            if (!"input".equals(tag.getLowerName())) {
+                addProblem(problemList, templateName, tag, "Cannot use the token attribute except input tag.");
+            } else if (!"hidden".equals(tag.findOriginalAttributeValue("type"))) {
+                addProblem(problemList, templateName, tag, "Cannot use the token attribute except hidden type.");
+            }
+        }
+        final ScannedAttribute optionClsAttr = tag.findOriginalLastaAttribute(dialectPrefix, OptionClsAttrProcessor.ATTR_NAME);
+        if (optionClsAttr != null && classificationDeterminer != null) {
+            final String classificationName = optionClsAttr.toLiteralValue(); // null if e.g. ${sea}
+            if (classificationName != null && !classificationDeterminer.test(classificationName)) {
+                addProblem(problemList, templateName, tag, "Not found the classification: " + classificationName);
+            }
+        }
+    }
+
+    protected void addProblem(List<String> problemList, String templateName, ScannedTag tag, String message) {
+        problemList.add(templateName + " " + tag.toOriginalText() + " // " + message);
+    }
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.linter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.attoparser.AbstractMarkupHandler;
+import org.attoparser.IMarkupParser;
+import org.attoparser.MarkupParser;
+import org.attoparser.ParseException;
+import org.attoparser.config.ParseConfiguration;
+import org.dbflute.util.Srl;
+
+/**
+ * The scanner of element tags in template text, used at build time (or startup) without template engine. <br>
+ * Tags are parsed by AttoParser with the same configuration as HTML template parser of Thymeleaf,
+ * so the expander, the linter and the runtime see the same elements and attributes. <br>
+ * Text other than element tags (comment, CDATA, script and style content) is kept as it is.
+ * Parser-level comments (&lt;!--/* ... *&#47;--&gt;) are not scanned because they are removed at runtime,
+ * and the content of prototype-only comments (&lt;!--/*&#47; ... /*&#47;--&gt;) is scanned because it is markup at runtime.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class LastaTemplateScanner {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String TEMPLATE_EXTENSION = ".html";
+
+    /** The pattern of token literal that is evaluated as itself e.g. memberName, sea.land. (NotNull) */
+    protected static final Pattern TOKEN_LITERAL_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_.\\-\\[\\]]*");
+
+    protected static final String PARSER_LEVEL_COMMENT_BEGIN = "<!--/*";
+    protected static final String PARSER_LEVEL_COMMENT_END = "*/-->";
+    protected static final String PROTOTYPE_ONLY_COMMENT_BEGIN = "<!--/*/";
+    protected static final String PROTOTYPE_ONLY_CONTENT_MARK = "/*/"; // at both ends of comment content
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final IMarkupParser markupParser; // not null, thread-safe
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaTemplateScanner() {
+        this.markupParser = newMarkupParser(prepareParseConfiguration());
+    }
+
+    /**
+     * @return The configuration of markup parser, same as HTML template parser of Thymeleaf. (NotNull)
+     */
+    protected ParseConfiguration prepareParseConfiguration() {
+        final ParseConfiguration config = ParseConfiguration.htmlConfiguration();
+        config.setElementBalancing(ParseConfiguration.ElementBalancing.NO_BALANCING);
+        config.setCaseSensitive(false);
+        config.setNoUnmatchedCloseElementsRequired(false);
+        config.setUniqueAttributesInElementRequired(true);
+        config.setXmlWellFormedAttributeValuesRequired(false);
+        config.setUniqueRootElementPresence(ParseConfiguration.UniqueRootElementPresence.NOT_VALIDATED);
+        config.getPrologParseConfiguration().setDoctypePresence(ParseConfiguration.PrologPresence.ALLOWED);
+        config.getPrologParseConfiguration().setXmlDeclarationPresence(ParseConfiguration.PrologPresence.ALLOWED);
+        config.getPrologParseConfiguration().setValidateProlog(false);
+        return config;
+    }
+
+    protected IMarkupParser newMarkupParser(ParseConfiguration config) {
+        return new MarkupParser(config);
+    }
+
+    // ===================================================================================
+    //                                                                       Find Template
+    //                                                                       =============
+    /**
+     * @param templateDir The directory of templates. (NotNull)
+     * @return The list of template (.html) paths under the directory. (NotNull)
+     */
+    public List<Path> findTemplateList(Path templateDir) {
+        final List<Path> templateList;
+        try (Stream<Path> stream = Files.walk(templateDir)) {
+            templateList = stream.filter(path -> {
+                return Files.isRegularFile(path) && path.getFileName().toString().endsWith(TEMPLATE_EXTENSION);
+            }).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to walk the template directory: " + templateDir, e);
+        }
+        return templateList;
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    /**
+     * Scan element tags in the template text.
+     * @param templateText The text of template. (NotNull)
+     * @param handler The handler of scanned tag, returning text of the tag. (NotNull)
+     * @return The text of template that tags are replaced with the handler results. (NotNull)
+     * @throws IllegalStateException When the template text cannot be parsed, e.g. duplicate attributes.
+     */
+    public String scan(String templateText, ScannedTagHandler handler) {
+        return doScan(templateText, handler, /*rootParentTag*/null);
+    }
+
+    protected String doScan(String templateText, ScannedTagHandler handler, ScannedTag rootParentTag) {
+        final String parsedText = maskParserLevelComment(templateText); // same length, tags are at the same index
+        final ScanningMarkupHandler markupHandler = newScanningMarkupHandler(templateText, handler, rootParentTag);
+        try {
+            markupParser.parse(parsedText, markupHandler);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Failed to parse the template text: " + e.getMessage(), e);
+        }
+        return markupHandler.toScannedText();
+    }
+
+    protected ScanningMarkupHandler newScanningMarkupHandler(String templateText, ScannedTagHandler handler, ScannedTag rootParentTag) {
+        return new ScanningMarkupHandler(templateText, handler, rootParentTag);
+    }
+
+    public static interface ScannedTagHandler {
+
+        /**
+         * @param tag The scanned tag. (NotNull)
+         * @param parentTag The tag of parent element. (NullAllowed: when root)
+         * @return The text of the tag written to result, e.g. tag.toOriginalText(). (NotNull)
+         */
+        String handle(ScannedTag tag, ScannedTag parentTag);
+    }
+
+    /**
+     * Mask parser-level comments with spaces (keeping line breaks for line numbers), because they are removed before parsing at runtime.
+     * @param templateText The text of template. (NotNull)
+     * @return The text for parser that has the same length as the template text. (NotNull)
+     */
+    protected String maskParserLevelComment(String templateText) {
+        int begin = templateText.indexOf(PARSER_LEVEL_COMMENT_BEGIN);
+        if (begin < 0) { // most cases
+            return templateText;
+        }
+        final char[] chars = templateText.toCharArray();
+        while (begin >= 0) {
+            if (templateText.startsWith(PROTOTYPE_ONLY_COMMENT_BEGIN, begin)) { // not removed
+                begin = templateText.indexOf(PARSER_LEVEL_COMMENT_BEGIN, begin + PROTOTYPE_ONLY_COMMENT_BEGIN.length());
+                continue;
+            }
+            final int found = templateText.indexOf(PARSER_LEVEL_COMMENT_END, begin + PARSER_LEVEL_COMMENT_BEGIN.length());
+            final int end = found >= 0 ? found + PARSER_LEVEL_COMMENT_END.length() : chars.length;
+            for (int i = begin; i < end; i++) {
+                if (chars[i] != '\n') {
+                    chars[i] = ' ';
+                }
+            }
+            begin = templateText.indexOf(PARSER_LEVEL_COMMENT_BEGIN, end);
+        }
+        return new String(chars);
+    }
+
+    // ===================================================================================
+    //                                                                      Markup Handler
+    //                                                                      ==============
+    /**
+     * The handler of parsing events, which writes the template text with tags replaced by the scanned tag handler. <br>
+     * Positions are calculated from line and column of events, not from buffer offsets of parser.
+     */
+    public class ScanningMarkupHandler extends AbstractMarkupHandler {
+
+        protected final String templateText; // not null
+        protected final ScannedTagHandler tagHandler; // not null
+        protected final ScannedTag rootParentTag; // null allowed
+        protected final int[] lineStartIndexes; // not null, index of first character per line (1-origin line is index + 1)
+        protected final StringBuilder sb; // not null, scanned text
+        protected final Deque<ScannedTag> openTagStack = new ArrayDeque<ScannedTag>(); // to find parent tag
+        protected int writtenIndex; // index of template text already written
+        protected TagBuilding building; // null allowed (only while element tag is parsed)
+
+        public ScanningMarkupHandler(String templateText, ScannedTagHandler tagHandler, ScannedTag rootParentTag) {
+            this.templateText = templateText;
+            this.tagHandler = tagHandler;
+            this.rootParentTag = rootParentTag;
+            this.lineStartIndexes = prepareLineStartIndexes(templateText);
+            this.sb = new StringBuilder(templateText.length() + 256);
+        }
+
+        protected int[] prepareLineStartIndexes(String templateText) {
+            final List<Integer> indexList = new ArrayList<Integer>();
+            indexList.add(0);
+            for (int i = templateText.indexOf('\n'); i >= 0; i = templateText.indexOf('\n', i + 1)) {
+                indexList.add(i + 1);
+            }
+            return indexList.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        protected int toIndex(int line, int col) { // both 1-origin
+            return lineStartIndexes[line - 1] + col - 1;
+        }
+
+        // -----------------------------------------------------
+        //                                               Element
+        //                                               -------
+        @Override
+        public void handleOpenElementStart(char[] buffer, int nameOffset, int nameLen, int line, int col) throws ParseException {
+            beginTag(new String(buffer, nameOffset, nameLen), line, col);
+        }
+
+        @Override
+        public void handleOpenElementEnd(char[] buffer, int nameOffset, int nameLen, int line, int col) throws ParseException {
+            final ScannedTag tag = endTag(/*minimized*/false);
+            openTagStack.push(tag);
+        }
+
+        @Override
+        public void handleStandaloneElementStart(char[] buffer, int nameOffset, int nameLen, boolean minimized, int line, int col)
+                throws ParseException {
+            beginTag(new String(buffer, nameOffset, nameLen), line, col); // also void element e.g. input
+        }
+
+        @Override
+        public void handleStandaloneElementEnd(char[] buffer, int nameOffset, int nameLen, boolean minimized, int line, int col)
+                throws ParseException {
+            endTag(minimized);
+        }
+
+        @Override
+        public void handleCloseElementStart(char[] buffer, int nameOffset, int nameLen, int line, int col) throws ParseException {
+            popOpenTag(new String(buffer, nameOffset, nameLen).toLowerCase());
+        }
+
+        @Override
+        public void handleAutoCloseElementStart(char[] buffer, int nameOffset, int nameLen, int line, int col) throws ParseException {
+            popOpenTag(new String(buffer, nameOffset, nameLen).toLowerCase());
+        }
+
+        @Override
+        public void handleAttribute(char[] buffer, int nameOffset, int nameLen, int nameLine, int nameCol, int operatorOffset,
+                int operatorLen, int operatorLine, int operatorCol, int valueContentOffset, int valueContentLen, int valueOuterOffset,
+                int valueOuterLen, int valueLine, int valueCol) throws ParseException {
+            final String attrName = new String(buffer, nameOffset, nameLen);
+            final int nameIndex = toIndex(nameLine, nameCol);
+            final String attrValue; // null means no value e.g. selected
+            final int attrEnd;
+            if (operatorLen > 0) { // offsets in the same buffer are relative to each other
+                attrValue = new String(buffer, valueContentOffset, valueContentLen);
+                attrEnd = nameIndex + (valueOuterOffset + valueOuterLen - nameOffset);
+            } else {
+                attrValue = null;
+                attrEnd = nameIndex + nameLen;
+            }
+            building.attributeList.add(new ScannedAttribute(attrName, attrValue, templateText.substring(building.end, attrEnd)));
+            building.end = attrEnd;
+        }
+
+        protected void beginTag(String elementName, int line, int col) {
+            final int index = toIndex(line, col);
+            final int start = templateText.charAt(index) == '<' ? index : templateText.lastIndexOf('<', index);
+            building = new TagBuilding(elementName, start, start + 1 + elementName.length());
+        }
+
+        protected ScannedTag endTag(boolean minimized) {
+            final int end = templateText.indexOf('>', building.end) + 1; // only spaces or slash before it
+            final String closingText = templateText.substring(building.end, end);
+            final List<ScannedAttribute> attributeList = building.attributeList;
+            final ScannedTag tag = new ScannedTag(building.elementName, attributeList, closingText, minimized, building.start, end);
+            building = null;
+            sb.append(templateText, writtenIndex, tag.start);
+            sb.append(tagHandler.handle(tag, findParentTag()));
+            writtenIndex = tag.end;
+            return tag;
+        }
+
+        protected ScannedTag findParentTag() { // null allowed
+            return !openTagStack.isEmpty() ? openTagStack.peek() : rootParentTag;
+        }
+
+        protected void popOpenTag(String lowerName) {
+            final boolean opened = openTagStack.stream().anyMatch(tag -> tag.lowerName.equals(lowerName));
+            if (!opened) { // e.g. close tag of void element, ignored
+                return;
+            }
+            while (!openTagStack.isEmpty()) {
+                if (openTagStack.pop().lowerName.equals(lowerName)) {
+                    break;
+                }
+            }
+        }
+
+        // -----------------------------------------------------
+        //                                               Comment
+        //                                               -------
+        @Override
+        public void handleComment(char[] buffer, int contentOffset, int contentLen, int outerOffset, int outerLen, int line, int col)
+                throws ParseException {
+            final String content = new String(buffer, contentOffset, contentLen);
+            final String mark = PROTOTYPE_ONLY_CONTENT_MARK;
+            if (content.length() >= mark.length() * 2 && content.startsWith(mark) && content.endsWith(mark)) { // prototype-only
+                final int contentIndex = toIndex(line, col) + (contentOffset - outerOffset);
+                final int innerStart = contentIndex + mark.length();
+                final int innerEnd = contentIndex + contentLen - mark.length();
+                sb.append(templateText, writtenIndex, innerStart);
+                sb.append(doScan(templateText.substring(innerStart, innerEnd), tagHandler, findParentTag())); // markup at runtime
+                writtenIndex = innerEnd;
+            }
+        }
+
+        // -----------------------------------------------------
+        //                                          Scanned Text
+        //                                          ------------
+        public String toScannedText() {
+            sb.append(templateText, writtenIndex, templateText.length());
+            writtenIndex = templateText.length();
+            return sb.toString();
+        }
+    }
+
+    protected static class TagBuilding {
+
+        protected final String elementName; // not null
+        protected final List<ScannedAttribute> attributeList = new ArrayList<ScannedAttribute>();
+        protected final int start; // index of '<'
+        protected int end; // index after element name or last attribute
+
+        public TagBuilding(String elementName, int start, int end) {
+            this.elementName = elementName;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Scanned Tag
+    //                                                                         ===========
+    public static class ScannedTag {
+
+        protected final String elementName; // not null
+        protected final String lowerName; // not null
+        protected final List<ScannedAttribute> originalAttributeList; // not null, read-only
+        protected final List<ScannedAttribute> currentAttributeList; // not null, modified by expanding
+        protected final String closingText; // not null e.g. '>', ' />'
+        protected final boolean standalone;
+        protected final int start; // index of '<'
+        protected final int end; // index after '>'
+
+        public ScannedTag(String elementName, List<ScannedAttribute> attributeList, String closingText, boolean standalone, int start,
+                int end) {
+            this.elementName = elementName;
+            this.lowerName = elementName.toLowerCase();
+            this.originalAttributeList = attributeList;
+            this.currentAttributeList = new ArrayList<ScannedAttribute>(attributeList);
+            this.closingText = closingText;
+            this.standalone = standalone;
+            this.start = start;
+            this.end = end;
+        }
+
+        public boolean hasLastaAttribute(String dialectPrefix) {
+            final String colonPrefix = (dialectPrefix + ":").toLowerCase();
+            final String dataPrefix = ("data-" + dialectPrefix + "-").toLowerCase();
+            return originalAttributeList.stream().anyMatch(attr -> {
+                final String lowerName = attr.name.toLowerCase();
+                return lowerName.startsWith(colonPrefix) || lowerName.startsWith(dataPrefix);
+            });
+        }
+
+        public ScannedAttribute findLastaAttribute(String dialectPrefix, String attrName) { // null allowed
+            return findPrefixedAttribute(currentAttributeList, dialectPrefix, attrName);
+        }
+
+        public ScannedAttribute findOriginalLastaAttribute(String dialectPrefix, String attrName) { // null allowed
+            return findOriginalPrefixedAttribute(dialectPrefix, attrName);
+        }
+
+        public ScannedAttribute findOriginalPrefixedAttribute(String prefix, String attrName) { // null allowed
+            return findPrefixedAttribute(originalAttributeList, prefix, attrName);
+        }
+
+        public boolean hasStandardAttribute(String attrName) { // e.g. th:text, data-th-text
+            return findPrefixedAttribute(currentAttributeList, "th", attrName) != null;
+        }
+
+        protected ScannedAttribute findPrefixedAttribute(List<ScannedAttribute> attributeList, String prefix, String attrName) {
+            for (ScannedAttribute attr : attributeList) {
+                if (attr.name.equalsIgnoreCase(prefix + ":" + attrName) || attr.name.equalsIgnoreCase("data-" + prefix + "-" + attrName)) {
+                    return attr;
+                }
+            }
+            return null;
+        }
+
+        public String findAttributeValue(String attrName) { // null allowed
+            final ScannedAttribute attr = findAttribute(currentAttributeList, attrName);
+            return attr != null ? attr.value : null;
+        }
+
+        public String findOriginalAttributeValue(String attrName) { // null allowed
+            final ScannedAttribute attr = findAttribute(originalAttributeList, attrName);
+            return attr != null ? attr.value : null;
+        }
+
+        protected ScannedAttribute findAttribute(List<ScannedAttribute> attributeList, String attrName) {
+            for (ScannedAttribute attr : attributeList) {
+                if (attr.name.equalsIgnoreCase(attrName)) {
+                    return attr;
+                }
+            }
+            return null;
+        }
+
+        public void removeAttribute(ScannedAttribute attr) {
+            currentAttributeList.remove(attr);
+        }
+
+        public void setAttribute(String attrName, String value) { // overriding existing attribute at the same position
+            final ScannedAttribute generated = ScannedAttribute.generate(attrName, value);
+            for (int i = 0; i < currentAttributeList.size(); i++) {
+                if (currentAttributeList.get(i).name.equalsIgnoreCase(attrName)) {
+                    currentAttributeList.set(i, generated);
+                    return;
+                }
+            }
+            currentAttributeList.add(generated);
+        }
+
+        public String getElementName() {
+            return elementName;
+        }
+
+        public String getLowerName() {
+            return lowerName;
+        }
+
+        public List<ScannedAttribute> getOriginalAttributeList() {
+            return originalAttributeList;
+        }
+
+        public boolean isStandalone() {
+            return standalone;
+        }
+
+        public String toOriginalText() {
+            return buildText(originalAttributeList);
+        }
+
+        public String toExpandedText() {
+            return buildText(currentAttributeList);
+        }
+
+        protected String buildText(List<ScannedAttribute> attributeList) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append("<").append(elementName);
+            for (ScannedAttribute attr : attributeList) {
+                sb.append(attr.rawText);
+            }
+            sb.append(closingText);
+            return sb.toString();
+        }
+    }
+
+    public static class ScannedAttribute {
+
+        protected final String name; // not null
+        protected final String value; // null allowed (no value)
+        protected final String rawText; // not null, with leading spaces e.g. ' la:property="sea"'
+
+        public ScannedAttribute(String name, String value, String rawText) {
+            this.name = name;
+            this.value = value;
+            this.rawText = rawText;
+        }
+
+        /**
+         * @return The value evaluated as literal, e.g. 'sea' or token sea. (NullAllowed: when not literal e.g. ${sea}, or empty)
+         */
+        public String toLiteralValue() {
+            final String trimmed = value != null ? value.trim() : null;
+            if (trimmed == null || trimmed.isEmpty()) {
+                return null;
+            }
+            if (trimmed.length() >= 2 && trimmed.startsWith("'") && trimmed.endsWith("'")) { // e.g. 'memberName'
+                final String content = trimmed.substring(1, trimmed.length() - 1);
+                return content.contains("'") || content.contains("\\") ? null : content;
+            }
+            if (TOKEN_LITERAL_PATTERN.matcher(trimmed).matches()) { // e.g. memberName
+                return isKeywordLiteral(trimmed) ? null : trimmed;
+            }
+            return null; // e.g. ${sea}, needs runtime
+        }
+
+        protected boolean isKeywordLiteral(String value) { // evaluated as not string
+            return "null".equals(value) || "true".equals(value) || "false".equals(value);
+        }
+
+        public boolean isEmptyValue() {
+            return value == null || value.trim().isEmpty();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static ScannedAttribute generate(String name, String value) {
+            final char quote = value.contains("\"") && !value.contains("'") ? '\'' : '"';
+            final String quotedValue = quote == '"' ? Srl.replace(value, "\"", "&quot;") : value;
+            return new ScannedAttribute(name, value, " " + name + "=" + quote + quotedValue + quote);
+        }
+    }
+}
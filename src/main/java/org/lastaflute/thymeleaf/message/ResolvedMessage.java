@@ -20,6 +20,7 @@ import java.util.Locale;
 
 import org.lastaflute.core.message.MessageManager;
 import org.lastaflute.core.message.UserMessage;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingBreakdown;
 import org.lastaflute.web.servlet.request.RequestManager;
 
 /**
@@ -56,16 +57,28 @@ public class ResolvedMessage implements Serializable {
     public String getMessage() { // called by thymeleaf templates e.g. th:text="${er.message}"
         final String messageKey = message.getMessageKey();
         if (message.isResource()) {
-            final Locale locale = requestManager.getUserLocale();
-            final MessageManager messageManager = requestManager.getMessageManager();
-            final Object[] values = message.getValues();
-            if (values != null && values.length > 0) {
-                return messageManager.getMessage(locale, messageKey, values);
-            } else {
-                return messageManager.getMessage(locale, messageKey);
+            final ThymeleafRenderingBreakdown breakdown = ThymeleafRenderingBreakdown.current(); // null if not sampled
+            final long beginTime = breakdown != null ? System.nanoTime() : 0L;
+            try {
+                return resolveResourceMessage(messageKey);
+            } finally {
+                if (breakdown != null) {
+                    breakdown.recordMessage(System.nanoTime() - beginTime);
+                }
             }
         } else {
             return messageKey;
         }
     }
+
+    protected String resolveResourceMessage(String messageKey) {
+        final Locale locale = requestManager.getUserLocale();
+        final MessageManager messageManager = requestManager.getMessageManager();
+        final Object[] values = message.getValues();
+        if (values != null && values.length > 0) {
+            return messageManager.getMessage(locale, messageKey, values);
+        } else {
+            return messageManager.getMessage(locale, messageKey);
+        }
+    }
 }
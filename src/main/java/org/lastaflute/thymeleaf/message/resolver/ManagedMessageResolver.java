@@ -19,6 +19,7 @@ import java.util.Locale;
 
 import org.lastaflute.core.message.MessageManager;
 import org.lastaflute.core.util.ContainerUtil;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingBreakdown;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.messageresolver.AbstractMessageResolver;
 
@@ -38,7 +39,16 @@ public class ManagedMessageResolver extends AbstractMessageResolver {
         // basically this locale is synchronized with requestManager's user locale
         // (WebContext is created by ThymeleafHtmlRenderer)
         final Locale locale = context.getLocale();
-        return messageManager.findMessage(locale, key, messageParameters).orElse(null);
+        final ThymeleafRenderingBreakdown breakdown = ThymeleafRenderingBreakdown.current(); // null if not sampled
+        if (breakdown == null) {
+            return messageManager.findMessage(locale, key, messageParameters).orElse(null);
+        }
+        final long beginTime = System.nanoTime();
+        try {
+            return messageManager.findMessage(locale, key, messageParameters).orElse(null);
+        } finally {
+            breakdown.recordMessage(System.nanoTime() - beginTime);
+        }
     }
 
     @Override
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import org.lastaflute.thymeleaf.instrument.ThymeleafFlightRecorder;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRecording;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.EngineEventUtils;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.expression.IStandardExpression;
+import org.thymeleaf.standard.expression.NoOpToken;
+import org.thymeleaf.standard.expression.StandardExpressionExecutionContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.util.EscapedAttributeUtils;
+
+/**
+ * The abstract processor of Lasta attributes that have standard expression e.g. la:property="memberName". <br>
+ * The expression is evaluated in the same way as AbstractStandardExpressionAttributeTagProcessor,
+ * and the flight recorder event of Lasta processor includes the evaluation.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public abstract class AbstractLastaExpressionAttributeTagProcessor extends AbstractAttributeTagProcessor {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final StandardExpressionExecutionContext expressionExecutionContext; // not null
+    protected final boolean removeAttribute; // same as super class (private there)
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected AbstractLastaExpressionAttributeTagProcessor(TemplateMode templateMode, String dialectPrefix, String attrName,
+            int precedence, boolean removeAttribute, boolean restrictedExpressionExecution) {
+        super(templateMode, dialectPrefix, /*elementName*/null, /*prefixElementName*/false, attrName, /*prefixAttributeName*/true,
+                precedence, removeAttribute);
+        this.expressionExecutionContext =
+                restrictedExpressionExecution ? StandardExpressionExecutionContext.RESTRICTED : StandardExpressionExecutionContext.NORMAL;
+        this.removeAttribute = removeAttribute;
+    }
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    protected final void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+            String attributeValue, IElementTagStructureHandler structureHandler) {
+        final ThymeleafRecording recording = ThymeleafFlightRecorder.beginLastaProcessor(tag, attributeName, attributeValue);
+        try {
+            final Object expressionResult = evaluateExpression(context, tag, attributeName, attributeValue);
+            if (expressionResult == NoOpToken.VALUE) { // e.g. la:property="_", nothing to do
+                return;
+            }
+            doProcess(context, tag, attributeName, attributeValue, expressionResult, structureHandler);
+        } finally {
+            recording.end();
+        }
+    }
+
+    /**
+     * Process the attribute of the element in the same way as matched by template engine, e.g. from unified processor.
+     * @param context The context of template. (NotNull)
+     * @param tag The processed element tag that has the attribute. (NotNull)
+     * @param attributeName The name of Lasta attribute, matching with this processor. (NotNull)
+     * @param structureHandler The handler of element structure. (NotNull)
+     */
+    public void processAttribute(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+            IElementTagStructureHandler structureHandler) {
+        // same as AbstractAttributeTagProcessor
+        final String rawValue = tag.getAttributeValue(attributeName);
+        final String attributeValue = EscapedAttributeUtils.unescapeAttribute(context.getTemplateMode(), rawValue);
+        doProcess(context, tag, attributeName, attributeValue, structureHandler);
+        if (removeAttribute) {
+            structureHandler.removeAttribute(attributeName);
+        }
+    }
+
+    protected Object evaluateExpression(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+            String attributeValue) {
+        if (attributeValue == null) {
+            return null;
+        }
+        // parsed expression is cached by template engine
+        final IStandardExpression expression = EngineEventUtils.computeAttributeExpression(context, tag, attributeName, attributeValue);
+        return expression.execute(context, expressionExecutionContext);
+    }
+
+    /**
+     * @param context The context of template. (NotNull)
+     * @param tag The processed element tag. (NotNull)
+     * @param attributeName The name of Lasta attribute. (NotNull)
+     * @param attributeValue The value of Lasta attribute. (NullAllowed)
+     * @param expressionResult The result of the attribute expression. (NullAllowed)
+     * @param structureHandler The handler of element structure. (NotNull)
+     */
+    protected abstract void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+            String attributeValue, Object expressionResult, IElementTagStructureHandler structureHandler);
+}
@@ -15,13 +15,17 @@
  */
 package org.lastaflute.thymeleaf.processor.attr;
 
+import java.util.List;
+
 import org.dbflute.util.Srl;
+import org.lastaflute.thymeleaf.ThymeleafHtmlRenderer;
+import org.lastaflute.thymeleaf.message.ErrorMessages;
+import org.lastaflute.thymeleaf.message.ResolvedMessage;
 import org.lastaflute.thymeleaf.processor.attr.option.ExpressionAttributeTagInitOption;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.engine.AttributeName;
 import org.thymeleaf.model.IProcessableElementTag;
 import org.thymeleaf.processor.element.IElementTagStructureHandler;
-import org.thymeleaf.standard.processor.AbstractStandardExpressionAttributeTagProcessor;
 import org.thymeleaf.templatemode.TemplateMode;
 
 /**
@@ -33,10 +37,13 @@ import org.thymeleaf.templatemode.TemplateMode;
  * The result of processing this example will be as expected.
  *   &lt;span class="errors"&gt;<b>is required</b>&lt;/span&gt;
  * </pre>
+ * If direct building option is enabled, the element is iterated by error messages without th:each rewriting,
+ * and the message of each element is written by {@link ErrorsMessageAttrProcessor} without th:text,
+ * so the expressions are not parsed and evaluated. (the output is same as rewriting)
  * @author jflute
  * @author p1us2er0
  */
-public class ErrorsAttrProcessor extends AbstractStandardExpressionAttributeTagProcessor {
+public class ErrorsAttrProcessor extends AbstractLastaExpressionAttributeTagProcessor {
 
     // ===================================================================================
     //                                                                          Definition
@@ -53,11 +60,19 @@ public class ErrorsAttrProcessor extends AbstractStandardExpressionAttributeTagP
     //                                      ----------------
     public static final String DEFAULT_STYLE = "errors"; // e.g. class="errors"
 
+    protected static final String ITERATION_VARIABLE = "er"; // same as rewriting to th:each, used by message processor
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final boolean errorsModelDirectBuilding;
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public ErrorsAttrProcessor(String dialectPrefix, ExpressionAttributeTagInitOption option) {
         super(TemplateMode.HTML, dialectPrefix, ATTR_NAME, PRECEDENCE, REMOVE_ATTRIBUTE, option.isRestrictedExpressionExecution());
+        this.errorsModelDirectBuilding = option.isErrorsModelDirectBuilding();
     }
 
     // ===================================================================================
@@ -78,6 +93,13 @@ public class ErrorsAttrProcessor extends AbstractStandardExpressionAttributeTagP
         // ...
         // _/_/_/_/_/_/_/_/_/_/
         final String specifiedValue = expressionResult.toString();
+        if (errorsModelDirectBuilding) {
+            final Object errors = context.getVariable(ThymeleafHtmlRenderer.VARIABLE_ERRORS);
+            if (errors instanceof ErrorMessages) { // basically true in Lasta rendering
+                buildErrorsModelDirectly(tag, specifiedValue, (ErrorMessages) errors, structureHandler);
+                return; // iterated without th:each
+            }
+        }
         structureHandler.setAttribute("class", prepareOverridingStyle(tag));
         final String eachValue;
         if ("all".equalsIgnoreCase(specifiedValue)) {
@@ -89,6 +111,38 @@ public class ErrorsAttrProcessor extends AbstractStandardExpressionAttributeTagP
         structureHandler.setAttribute("th:text", "${er.message}");
     }
 
+    // -----------------------------------------------------
+    //                                       Direct Building
+    //                                       ---------------
+    protected void buildErrorsModelDirectly(IProcessableElementTag tag, String specifiedValue, ErrorMessages errors,
+            IElementTagStructureHandler structureHandler) {
+        // _/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/
+        // <span la:errors="sea"/>
+        //  ||
+        //  vv
+        // <span class="errors" la:errorsMessage=""/> iterated by messages of errors.part('sea')
+        //  ||
+        //  vv
+        // <span class="errors">is required</span>
+        // <span class="errors">is funny</span>
+        // ...
+        // _/_/_/_/_/_/_/_/_/_/
+        final List<ResolvedMessage> messageList;
+        if ("all".equalsIgnoreCase(specifiedValue)) {
+            messageList = errors.getAll();
+        } else {
+            messageList = errors.part(specifiedValue);
+        }
+        structureHandler.setAttribute("class", prepareOverridingStyle(tag));
+        // each message is written as escaped body by message processor (without th:text expression)
+        structureHandler.setAttribute(getDialectPrefix() + ":" + ErrorsMessageAttrProcessor.ATTR_NAME, "");
+        // same iteration as th:each (e.g. white space between elements), without the expression of th:each
+        structureHandler.iterateElement(ITERATION_VARIABLE, /*status*/null, messageList);
+    }
+
+    // -----------------------------------------------------
+    //                                      Overriding Style
+    //                                      ----------------
     protected String prepareOverridingStyle(IProcessableElementTag tag) {
         final String classAttr = tag.getAttributeValue("class");
         final String embeddedStyle = getErrorsEmbeddedStyle();
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import org.lastaflute.thymeleaf.message.ResolvedMessage;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.unbescape.html.HtmlEscape;
+
+/**
+ * Processor for each element iterated by la:errors in direct building, not for templates. <br>
+ * The attribute is generated by {@link ErrorsAttrProcessor} instead of th:text,
+ * and this writes the message of the iterated error as escaped body directly.
+ * <pre>
+ *   &lt;span la:errors="sea"/&gt;
+ *    ||
+ *    vv
+ *   &lt;span class="errors" la:errorsMessage=""/&gt; iterated by er of errors.part('sea')
+ *    ||
+ *    vv
+ *   &lt;span class="errors"&gt;is required&lt;/span&gt;
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ErrorsMessageAttrProcessor extends AbstractAttributeTagProcessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String ATTR_NAME = "errorsMessage";
+    public static final int PRECEDENCE = 1300; // same as th:text
+    public static final boolean REMOVE_ATTRIBUTE = true;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ErrorsMessageAttrProcessor(String dialectPrefix) {
+        super(TemplateMode.HTML, dialectPrefix, /*elementName*/null, /*prefixElementName*/false, ATTR_NAME, /*prefixAttributeName*/true,
+                PRECEDENCE, REMOVE_ATTRIBUTE);
+    }
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName, String attributeValue,
+            IElementTagStructureHandler structureHandler) {
+        final Object er = context.getVariable(ErrorsAttrProcessor.ITERATION_VARIABLE);
+        if (!(er instanceof ResolvedMessage)) { // no way, only generated in iteration of error messages
+            throw new IllegalStateException("Not found the iterated error message: " + tag.getTemplateName() + " line=" + tag.getLine());
+        }
+        // same as th:text="${er.message}" (escaped in the same way), not processable e.g. [[...]] in message
+        final String message = ((ResolvedMessage) er).getMessage();
+        structureHandler.setBody(HtmlEscape.escapeHtml4Xml(message != null ? message : ""), false);
+    }
+}
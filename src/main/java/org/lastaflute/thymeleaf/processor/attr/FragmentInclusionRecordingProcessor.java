@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.lastaflute.thymeleaf.instrument.FragmentInclusionListener;
+import org.lastaflute.thymeleaf.instrument.ThymeleafFlightRecorder;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRenderingBreakdown;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * The processor that records fragment inclusion (th:insert, th:replace, th:include)
+ * as flight recorder event, to the breakdown of sampled rendering and to the listeners (e.g. usage analytics). <br>
+ * It only records and keeps the attribute for the standard processor, so registered only when recording is needed.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class FragmentInclusionRecordingProcessor extends AbstractAttributeTagProcessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String[] INCLUSION_ATTR_NAMES = { "insert", "replace", "include" };
+
+    // before standard processors (100) because the element is replaced by them
+    public static final int PRECEDENCE = 99;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<FragmentInclusionListener> listenerList; // not null, read-only
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public FragmentInclusionRecordingProcessor(String attrName) {
+        this(attrName, Collections.emptyList());
+    }
+
+    public FragmentInclusionRecordingProcessor(String attrName, List<FragmentInclusionListener> listenerList) {
+        super(TemplateMode.HTML, StandardDialect.PREFIX, /*elementName*/null //
+                , /*prefixElementName*/false, attrName, /*prefixAttributeName*/true //
+                , PRECEDENCE, /*removeAttribute*/false);
+        this.listenerList = Collections.unmodifiableList(new ArrayList<FragmentInclusionListener>(listenerList));
+    }
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName, String attributeValue,
+            IElementTagStructureHandler structureHandler) {
+        ThymeleafFlightRecorder.recordFragmentInclusion(tag, attributeName, attributeValue);
+        final ThymeleafRenderingBreakdown breakdown = ThymeleafRenderingBreakdown.current(); // null if not sampled
+        if (breakdown != null) {
+            breakdown.recordFragmentInclusion(tag.getTemplateName(), attributeValue);
+        }
+        for (FragmentInclusionListener listener : listenerList) {
+            listener.onIncluded(tag.getTemplateName(), attributeValue);
+        }
+    }
+}
@@ -17,12 +17,14 @@ package org.lastaflute.thymeleaf.processor.attr;
 
 import java.util.List;
 
+import org.dbflute.jdbc.Classification;
+import org.lastaflute.thymeleaf.expression.ClassificationExpressionObject;
+import org.lastaflute.thymeleaf.processor.attr.expression.GeneratedExpressionCache;
 import org.lastaflute.thymeleaf.processor.attr.option.ExpressionAttributeTagInitOption;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.engine.AttributeName;
 import org.thymeleaf.model.IProcessableElementTag;
 import org.thymeleaf.processor.element.IElementTagStructureHandler;
-import org.thymeleaf.standard.processor.AbstractStandardExpressionAttributeTagProcessor;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.util.StringUtils;
 
@@ -49,11 +51,14 @@ import org.thymeleaf.util.StringUtils;
  *     &lt;option value="PRV"&gt;Provisional&lt;/option&gt;
  *   &lt;/select&gt;
  * </pre>
+ * If direct evaluation option is enabled, the element is iterated by classifications without th:each rewriting,
+ * and value, text and selected of each option are set by {@link OptionClsItemAttrProcessor} without th:* expressions.
+ * (the output is same as rewriting)
  * @author schatten
  * @author jflute
  * @author p1us2er0
  */
-public class OptionClsAttrProcessor extends AbstractStandardExpressionAttributeTagProcessor {
+public class OptionClsAttrProcessor extends AbstractLastaExpressionAttributeTagProcessor {
 
     // ===================================================================================
     //                                                                          Definition
@@ -62,11 +67,20 @@ public class OptionClsAttrProcessor extends AbstractStandardExpressionAttributeT
     public static final int PRECEDENCE = 200;
     public static final boolean REMOVE_ATTRIBUTE = true;
 
+    protected static final String EXPRESSION_OBJECT_CLASSIFICATION = "cls";
+    protected static final String ITERATION_VARIABLE = "cdef"; // same as rewriting to th:each, used by item processor
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GeneratedExpressionCache generatedExpressionCache; // null allowed (if null, rewriting to th:*)
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public OptionClsAttrProcessor(String dialectPrefix, ExpressionAttributeTagInitOption option) {
         super(TemplateMode.HTML, dialectPrefix, ATTR_NAME, PRECEDENCE, REMOVE_ATTRIBUTE, option.isRestrictedExpressionExecution());
+        this.generatedExpressionCache = option.getGeneratedExpressionCache();
     }
 
     // ===================================================================================
@@ -76,6 +90,17 @@ public class OptionClsAttrProcessor extends AbstractStandardExpressionAttributeT
     protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName, String attributeValue,
             Object expressionResult, IElementTagStructureHandler structureHandler) {
         final String optionClsName = extractOptionClsName(expressionResult);
+        if (generatedExpressionCache != null) {
+            final Object clsObject = context.getExpressionObjects().getObject(EXPRESSION_OBJECT_CLASSIFICATION);
+            if (clsObject instanceof ClassificationExpressionObject) { // basically true with Lasta dialect
+                final List<Classification> clsList = ((ClassificationExpressionObject) clsObject).listAll(optionClsName);
+                // value, text and selected are set for each option by item processor (without th:* expressions)
+                structureHandler.setAttribute(getDialectPrefix() + ":" + OptionClsItemAttrProcessor.ATTR_NAME, "");
+                // same iteration as th:each (e.g. white space between options), without the expression of th:each
+                structureHandler.iterateElement(ITERATION_VARIABLE, /*status*/null, clsList);
+                return; // iterated without th:each
+            }
+        }
         structureHandler.setAttribute("th:each", String.format("cdef : ${#cls.listAll('%s')}", optionClsName));
         structureHandler.setAttribute("th:value", "${cdef.code()}");
         structureHandler.setAttribute("th:text", "${cdef.alias()}");
@@ -91,6 +116,9 @@ public class OptionClsAttrProcessor extends AbstractStandardExpressionAttributeT
         }
     }
 
+    // -----------------------------------------------------
+    //                                         Assist Helper
+    //                                         -------------
     protected String extractOptionClsName(Object expressionResult) {
         return expressionResult.toString();
     }
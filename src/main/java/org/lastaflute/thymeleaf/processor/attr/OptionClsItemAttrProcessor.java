@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.dbflute.jdbc.Classification;
+import org.lastaflute.thymeleaf.processor.attr.expression.GeneratedExpressionCache;
+import org.lastaflute.thymeleaf.processor.attr.option.ExpressionAttributeTagInitOption;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.util.StringUtils;
+import org.unbescape.html.HtmlEscape;
+
+/**
+ * Processor for each option iterated by la:optionCls in direct evaluation, not for templates. <br>
+ * The attribute is generated by {@link OptionClsAttrProcessor} instead of th:value, th:text and th:selected,
+ * and this sets value, text and selected of the option from the iterated classification directly.
+ * <pre>
+ *   &lt;option la:optionCls="MemberStatus"&gt;&lt;/option&gt;
+ *    ||
+ *    vv
+ *   &lt;option la:optionClsItem=""&gt;&lt;/option&gt; iterated by cdef of #cls.listAll('MemberStatus')
+ *    ||
+ *    vv
+ *   &lt;option value="FML" selected="selected"&gt;Formalized&lt;/option&gt;
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class OptionClsItemAttrProcessor extends AbstractAttributeTagProcessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String ATTR_NAME = "optionClsItem";
+    public static final int PRECEDENCE = 1300; // same as th:text
+    public static final boolean REMOVE_ATTRIBUTE = true;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GeneratedExpressionCache generatedExpressionCache; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public OptionClsItemAttrProcessor(String dialectPrefix, ExpressionAttributeTagInitOption option) {
+        super(TemplateMode.HTML, dialectPrefix, /*elementName*/null, /*prefixElementName*/false, ATTR_NAME, /*prefixAttributeName*/true,
+                PRECEDENCE, REMOVE_ATTRIBUTE);
+        if (option.getGeneratedExpressionCache() == null) {
+            throw new IllegalArgumentException("The option should have generated expression cache for direct evaluation.");
+        }
+        this.generatedExpressionCache = option.getGeneratedExpressionCache();
+    }
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName, String attributeValue,
+            IElementTagStructureHandler structureHandler) {
+        final Object cdef = context.getVariable(OptionClsAttrProcessor.ITERATION_VARIABLE);
+        if (!(cdef instanceof Classification)) { // no way, only generated in iteration of classifications
+            throw new IllegalStateException("Not found the iterated classification: " + tag.getTemplateName() + " line=" + tag.getLine());
+        }
+        final Classification cls = (Classification) cdef;
+        // same as th:value="${cdef.code()}" and th:text="${cdef.alias()}" (escaped in the same way)
+        structureHandler.replaceAttribute(attributeName, "value", escape(cls.code()));
+        structureHandler.setBody(escape(cls.alias()), false);
+        if (isSelected(context, cls)) { // same as th:selected
+            structureHandler.setAttribute("selected", "selected");
+        }
+    }
+
+    protected String escape(String text) {
+        return HtmlEscape.escapeHtml4Xml(text != null ? text : "");
+    }
+
+    // -----------------------------------------------------
+    //                                              Selected
+    //                                              --------
+    protected boolean isSelected(ITemplateContext context, Classification cls) {
+        final List<IProcessableElementTag> elementStack = context.getElementStack();
+        if (elementStack.size() < 2) {
+            return false;
+        }
+        final IProcessableElementTag parentTag = elementStack.get(elementStack.size() - 2);
+        final String propertyName = parentTag.getAttributeValue(getDialectPrefix(), PropertyAttrProcessor.ATTR_NAME);
+        if (StringUtils.isEmpty(propertyName)) {
+            return false;
+        }
+        final Object propertyValue = generatedExpressionCache.evaluateVariable(context, propertyName); // cached parsing
+        if (propertyValue == null) {
+            return false;
+        }
+        if (isMultipleSelect(parentTag)) { // same as ${status != null && status.contains(cdef)}
+            if (!(propertyValue instanceof Collection<?>)) { // e.g. array, also error in rewriting
+                final String typeName = propertyValue.getClass().getName();
+                throw new IllegalStateException("The property of multiple select should be collection: " + propertyName + "=" + typeName);
+            }
+            return ((Collection<?>) propertyValue).contains(cls);
+        } else { // same as ${cdef} == ${status}
+            return cls.equals(propertyValue);
+        }
+    }
+
+    protected boolean isMultipleSelect(IProcessableElementTag parentTag) {
+        return "multiple".equals(parentTag.getAttributeValue("multiple")); // same as OptionClsAttrProcessor
+    }
+}
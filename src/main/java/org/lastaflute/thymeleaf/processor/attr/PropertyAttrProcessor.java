@@ -17,14 +17,16 @@ package org.lastaflute.thymeleaf.processor.attr;
 
 import java.util.Arrays;
 
+import org.lastaflute.thymeleaf.processor.attr.expression.GeneratedExpressionCache;
 import org.lastaflute.thymeleaf.processor.attr.option.ExpressionAttributeTagInitOption;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.engine.AttributeName;
 import org.thymeleaf.model.IProcessableElementTag;
 import org.thymeleaf.processor.element.IElementTagStructureHandler;
 import org.thymeleaf.standard.StandardDialect;
-import org.thymeleaf.standard.processor.AbstractStandardExpressionAttributeTagProcessor;
+import org.thymeleaf.standard.expression.NoOpToken;
 import org.thymeleaf.templatemode.TemplateMode;
+import org.unbescape.html.HtmlEscape;
 
 /**
  * Property Attribute Processor.
@@ -42,7 +44,7 @@ import org.thymeleaf.templatemode.TemplateMode;
  * @author jflute
  * @author p1us2er0
  */
-public class PropertyAttrProcessor extends AbstractStandardExpressionAttributeTagProcessor {
+public class PropertyAttrProcessor extends AbstractLastaExpressionAttributeTagProcessor {
 
     // ===================================================================================
     //                                                                          Definition
@@ -51,11 +53,17 @@ public class PropertyAttrProcessor extends AbstractStandardExpressionAttributeTa
     public static final int PRECEDENCE = 950;
     public static final boolean REMOVE_ATTRIBUTE = true;
 
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final GeneratedExpressionCache generatedExpressionCache; // null allowed (if null, rewriting to th:*)
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public PropertyAttrProcessor(String dialectPrefix, ExpressionAttributeTagInitOption option) {
         super(TemplateMode.HTML, dialectPrefix, ATTR_NAME, PRECEDENCE, REMOVE_ATTRIBUTE, option.isRestrictedExpressionExecution());
+        this.generatedExpressionCache = option.getGeneratedExpressionCache();
     }
 
     // ===================================================================================
@@ -76,32 +84,67 @@ public class PropertyAttrProcessor extends AbstractStandardExpressionAttributeTa
         switch (tag.getElementCompleteName()) {
         case "input":
             if (!hasThName) {
-                structureHandler.setAttribute("th:name", propertyName);
+                setupPropertyName(context, structureHandler, propertyName);
             }
             if (!hasThValue) {
                 if (!Arrays.asList("checkbox", "radio").contains(tag.getAttributeValue("type"))) {
-                    structureHandler.setAttribute("th:value", "${" + propertyName + "}");
+                    setupPropertyValue(context, structureHandler, propertyName);
                 }
             }
             break;
         case "select":
             if (!hasThName) {
-                structureHandler.setAttribute("th:name", propertyName);
+                setupPropertyName(context, structureHandler, propertyName);
             }
             break;
         case "textarea":
             if (!hasThName) {
-                structureHandler.setAttribute("th:name", propertyName);
+                setupPropertyName(context, structureHandler, propertyName);
             }
             if (!hasThText) {
-                structureHandler.setAttribute("th:text", "${" + propertyName + "}");
+                setupPropertyText(context, structureHandler, propertyName);
             }
             break;
         default:
             if (!hasThText) {
-                structureHandler.setAttribute("th:text", "${" + propertyName + "}");
+                setupPropertyText(context, structureHandler, propertyName);
             }
             break;
         }
     }
+
+    // -----------------------------------------------------
+    //                                       Setup Attribute
+    //                                       ---------------
+    // if generated expression cache exists, evaluates them here with the same result as th:* attributes
+    // (evaluated at this precedence instead of th:value/th:text later, but variables e.g. th:each, th:with are already set)
+    protected void setupPropertyName(ITemplateContext context, IElementTagStructureHandler structureHandler, String propertyName) {
+        if (generatedExpressionCache != null) {
+            structureHandler.setAttribute("name", HtmlEscape.escapeHtml4Xml(propertyName)); // token literal
+        } else {
+            structureHandler.setAttribute("th:name", propertyName);
+        }
+    }
+
+    protected void setupPropertyValue(ITemplateContext context, IElementTagStructureHandler structureHandler, String propertyName) {
+        if (generatedExpressionCache != null) {
+            final Object value = generatedExpressionCache.evaluateVariable(context, propertyName);
+            if (value != NoOpToken.VALUE) { // e.g. ${sea} is _
+                structureHandler.setAttribute("value", HtmlEscape.escapeHtml4Xml(value != null ? value.toString() : ""));
+            }
+        } else {
+            structureHandler.setAttribute("th:value", "${" + propertyName + "}");
+        }
+    }
+
+    protected void setupPropertyText(ITemplateContext context, IElementTagStructureHandler structureHandler, String propertyName) {
+        if (generatedExpressionCache != null) {
+            final Object value = generatedExpressionCache.evaluateVariable(context, propertyName);
+            if (value != NoOpToken.VALUE) {
+                structureHandler.setBody(HtmlEscape.escapeHtml4Xml(value != null ? value.toString() : ""), false);
+            }
+        } else {
+            structureHandler.setAttribute("th:text", "${" + propertyName + "}");
+        }
+    }
 }
@@ -15,6 +15,10 @@
  */
 package org.lastaflute.thymeleaf.processor.attr;
 
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.thymeleaf.processor.attr.exception.ThymeleafTokenNotHiddenTypeException;
@@ -25,10 +29,10 @@ import org.lastaflute.web.ruts.process.ActionRuntime;
 import org.lastaflute.web.token.DoubleSubmitManager;
 import org.lastaflute.web.util.LaActionRuntimeUtil;
 import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
 import org.thymeleaf.engine.AttributeName;
 import org.thymeleaf.model.IProcessableElementTag;
 import org.thymeleaf.processor.element.IElementTagStructureHandler;
-import org.thymeleaf.standard.processor.AbstractStandardExpressionAttributeTagProcessor;
 import org.thymeleaf.templatemode.TemplateMode;
 
 /**
@@ -42,7 +46,7 @@ import org.thymeleaf.templatemode.TemplateMode;
  * </pre>
  * @author jflute
  */
-public class TokenAttrProcessor extends AbstractStandardExpressionAttributeTagProcessor {
+public class TokenAttrProcessor extends AbstractLastaExpressionAttributeTagProcessor {
 
     // ===================================================================================
     //                                                                          Definition
@@ -51,6 +55,18 @@ public class TokenAttrProcessor extends AbstractStandardExpressionAttributeTagPr
     public static final int PRECEDENCE = 950;
     public static final boolean REMOVE_ATTRIBUTE = true;
 
+    /** The prefix of request attribute key to cache resolved token per action type. */
+    protected static final String TOKEN_CACHE_KEY_PREFIX = "lastaflute.thymeleaf.TRANSACTION_TOKEN.";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /**
+     * The cached manager of double submit, which can be lazy-loaded when you get it.
+     * Don't use these variables directly, you should use the getter. (NotNull: after lazy-load)
+     */
+    protected volatile DoubleSubmitManager cachedDoubleSubmitManager;
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -70,7 +86,7 @@ public class TokenAttrProcessor extends AbstractStandardExpressionAttributeTagPr
             }
             if (Boolean.TRUE.equals(expressionResult)) {
                 structureHandler.setAttribute("th:name", LastaWebKey.TRANSACTION_TOKEN_KEY);
-                structureHandler.setAttribute("th:value", prepareTransactionToken(runtime));
+                structureHandler.setAttribute("th:value", prepareTransactionToken(context, runtime));
             } else {
                 structureHandler.removeElement();
             }
@@ -80,7 +96,27 @@ public class TokenAttrProcessor extends AbstractStandardExpressionAttributeTagPr
         }
     }
 
-    protected String prepareTransactionToken(ActionRuntime runtime) {
+    protected String prepareTransactionToken(ITemplateContext context, ActionRuntime runtime) {
+        // resolved once per request and action type, so several forms in a page reuse it without session access
+        return findRequestCachedToken(context, runtime.getActionType(), () -> resolveTransactionToken(runtime));
+    }
+
+    protected String findRequestCachedToken(ITemplateContext context, Class<?> actionType, Supplier<String> tokenResolver) {
+        if (!(context instanceof IWebContext)) { // basically no way in Lasta rendering
+            return tokenResolver.get();
+        }
+        final HttpServletRequest request = ((IWebContext) context).getRequest();
+        final String cacheKey = TOKEN_CACHE_KEY_PREFIX + actionType.getName();
+        final Object cached = request.getAttribute(cacheKey);
+        if (cached instanceof String) {
+            return (String) cached;
+        }
+        final String token = tokenResolver.get();
+        request.setAttribute(cacheKey, token);
+        return token;
+    }
+
+    protected String resolveTransactionToken(ActionRuntime runtime) {
         final String token = getDoubleSubmitManager().getSessionTokenMap().flatMap(tokenMap -> {
             return tokenMap.get(runtime.getActionType());
         }).orElse("none");
@@ -98,8 +134,17 @@ public class TokenAttrProcessor extends AbstractStandardExpressionAttributeTagPr
         return token;
     }
 
-    protected DoubleSubmitManager getDoubleSubmitManager() { // #pending want to cache
-        return ContainerUtil.getComponent(DoubleSubmitManager.class);
+    protected DoubleSubmitManager getDoubleSubmitManager() {
+        if (cachedDoubleSubmitManager != null) {
+            return cachedDoubleSubmitManager;
+        }
+        synchronized (this) {
+            if (cachedDoubleSubmitManager != null) {
+                return cachedDoubleSubmitManager;
+            }
+            cachedDoubleSubmitManager = ContainerUtil.getComponent(DoubleSubmitManager.class);
+        }
+        return cachedDoubleSubmitManager;
     }
 
     //// ===================================================================================
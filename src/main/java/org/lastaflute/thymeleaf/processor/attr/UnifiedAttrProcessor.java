@@ -0,0 +1,258 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.TemplateData;
+import org.thymeleaf.inline.IInliner;
+import org.thymeleaf.model.AttributeValueQuotes;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractElementTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * Unified processor for Lasta attributes: la:errors, la:property and la:token (and la:optionCls alone). <br>
+ * All Lasta attributes of one element at the same precedence are processed in one pass with one structure handler update,
+ * so the element processors are recomputed once by template engine, instead of once per Lasta attribute.
+ * <pre>
+ * Usage: (in your rendering provider)
+ *   provider.customizeLastaDialect(dialect -&gt; dialect.unifyLastaProcessors());
+ * </pre>
+ * One instance is registered per Lasta attribute with the precedence of the attribute processor,
+ * so elements without Lasta attributes are not matched, and la:optionCls (200) is still processed before th:if.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class UnifiedAttrProcessor extends AbstractElementTagProcessor {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<AbstractLastaExpressionAttributeTagProcessor> memberProcessorList; // not null, same precedence, in order
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param dialectPrefix The prefix of Lasta dialect e.g. la. (NotNull)
+     * @param attrName The name of matching Lasta attribute without prefix e.g. property. (NotNull)
+     * @param allProcessorList The list of all attribute processors in processing order, filtered by precedence. (NotNull)
+     * @param precedence The precedence of the attribute processor for the matching attribute.
+     */
+    public UnifiedAttrProcessor(String dialectPrefix, String attrName, List<AbstractLastaExpressionAttributeTagProcessor> allProcessorList,
+            int precedence) {
+        super(TemplateMode.HTML, dialectPrefix, /*elementName*/null, /*prefixElementName*/false, attrName, /*prefixAttributeName*/true,
+                precedence);
+        final List<AbstractLastaExpressionAttributeTagProcessor> memberList = new ArrayList<AbstractLastaExpressionAttributeTagProcessor>();
+        for (AbstractLastaExpressionAttributeTagProcessor processor : allProcessorList) {
+            if (processor.getPrecedence() == precedence) { // e.g. la:optionCls is separated from others
+                memberList.add(processor);
+            }
+        }
+        this.memberProcessorList = Collections.unmodifiableList(memberList);
+    }
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag, IElementTagStructureHandler structureHandler) {
+        // each member sees the element as written in template (changes are applied after this processor)
+        final StructureTrackingHandler trackingHandler = newStructureTrackingHandler(structureHandler);
+        for (AbstractLastaExpressionAttributeTagProcessor processor : memberProcessorList) {
+            final AttributeName attributeName = processor.getMatchingAttributeName().getMatchingAttributeName();
+            if (!tag.hasAttribute(attributeName)) { // most cases, only one Lasta attribute in element
+                continue;
+            }
+            processor.processAttribute(context, tag, attributeName, trackingHandler);
+            if (trackingHandler.isStructureChanged()) { // e.g. iterated, removed, body replaced
+                // remaining Lasta attributes are processed for the new elements as before
+                break;
+            }
+        }
+    }
+
+    protected StructureTrackingHandler newStructureTrackingHandler(IElementTagStructureHandler structureHandler) {
+        return new StructureTrackingHandler(structureHandler);
+    }
+
+    // ===================================================================================
+    //                                                                    Tracking Handler
+    //                                                                    ================
+    /**
+     * The structure handler to know whether the element structure is changed by a member processor. <br>
+     * Attributes and local variables can be merged, but structure changes (e.g. iteration) reset each other.
+     */
+    public static class StructureTrackingHandler implements IElementTagStructureHandler {
+
+        protected final IElementTagStructureHandler delegate; // not null
+        protected boolean structureChanged;
+
+        public StructureTrackingHandler(IElementTagStructureHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        public boolean isStructureChanged() {
+            return structureChanged;
+        }
+
+        // -----------------------------------------------------
+        //                                   Mergeable Operation
+        //                                   -------------------
+        @Override
+        public void reset() {
+            structureChanged = false;
+            delegate.reset();
+        }
+
+        @Override
+        public void setLocalVariable(String name, Object value) {
+            delegate.setLocalVariable(name, value);
+        }
+
+        @Override
+        public void removeLocalVariable(String name) {
+            delegate.removeLocalVariable(name);
+        }
+
+        @Override
+        public void setAttribute(String attributeName, String attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void setAttribute(String attributeName, String attributeValue, AttributeValueQuotes attributeValueQuotes) {
+            delegate.setAttribute(attributeName, attributeValue, attributeValueQuotes);
+        }
+
+        @Override
+        public void replaceAttribute(AttributeName oldAttributeName, String attributeName, String attributeValue) {
+            delegate.replaceAttribute(oldAttributeName, attributeName, attributeValue);
+        }
+
+        @Override
+        public void replaceAttribute(AttributeName oldAttributeName, String attributeName, String attributeValue,
+                AttributeValueQuotes attributeValueQuotes) {
+            delegate.replaceAttribute(oldAttributeName, attributeName, attributeValue, attributeValueQuotes);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String prefix, String name) {
+            delegate.removeAttribute(prefix, name);
+        }
+
+        @Override
+        public void removeAttribute(AttributeName attributeName) {
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public void setSelectionTarget(Object selectionTarget) {
+            delegate.setSelectionTarget(selectionTarget);
+        }
+
+        @Override
+        public void setInliner(IInliner inliner) {
+            delegate.setInliner(inliner);
+        }
+
+        @Override
+        public void setTemplateData(TemplateData templateData) {
+            delegate.setTemplateData(templateData);
+        }
+
+        // -----------------------------------------------------
+        //                                   Structure Operation
+        //                                   -------------------
+        @Override
+        public void setBody(CharSequence text, boolean processable) {
+            structureChanged = true;
+            delegate.setBody(text, processable);
+        }
+
+        @Override
+        public void setBody(IModel model, boolean processable) {
+            structureChanged = true;
+            delegate.setBody(model, processable);
+        }
+
+        @Override
+        public void insertBefore(IModel model) {
+            structureChanged = true;
+            delegate.insertBefore(model);
+        }
+
+        @Override
+        public void insertImmediatelyAfter(IModel model, boolean processable) {
+            structureChanged = true;
+            delegate.insertImmediatelyAfter(model, processable);
+        }
+
+        @Override
+        public void replaceWith(CharSequence text, boolean processable) {
+            structureChanged = true;
+            delegate.replaceWith(text, processable);
+        }
+
+        @Override
+        public void replaceWith(IModel model, boolean processable) {
+            structureChanged = true;
+            delegate.replaceWith(model, processable);
+        }
+
+        @Override
+        public void removeElement() {
+            structureChanged = true;
+            delegate.removeElement();
+        }
+
+        @Override
+        public void removeTags() {
+            structureChanged = true;
+            delegate.removeTags();
+        }
+
+        @Override
+        public void removeBody() {
+            structureChanged = true;
+            delegate.removeBody();
+        }
+
+        @Override
+        public void removeAllButFirstChild() {
+            structureChanged = true;
+            delegate.removeAllButFirstChild();
+        }
+
+        @Override
+        public void iterateElement(String iterVariableName, String iterStatusVariableName, Object iteratedObject) {
+            structureChanged = true;
+            delegate.iterateElement(iterVariableName, iterStatusVariableName, iteratedObject);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr.expression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.standard.expression.IStandardExpression;
+import org.thymeleaf.standard.expression.StandardExpressionExecutionContext;
+import org.thymeleaf.standard.expression.StandardExpressions;
+
+/**
+ * The cache of parsed expressions that Lasta processors generate, e.g. ${memberName} for la:property. <br>
+ * The processors evaluate them directly instead of setting new th:* attributes,
+ * so neither string concatenation nor expression parsing is needed per element.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class GeneratedExpressionCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The max size of the cache, not cached if over (basically no way because of template text). */
+    protected static final int CACHE_LIMIT = 10000;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of parsed variable expression e.g. ${sea}, keyed by variable name e.g. sea. (NotNull) */
+    protected final Map<String, IStandardExpression> variableExpressionMap = new ConcurrentHashMap<String, IStandardExpression>();
+
+    // ===================================================================================
+    //                                                                            Evaluate
+    //                                                                            ========
+    /**
+     * Evaluate the variable expression e.g. ${sea} for the variable name, same as th:value="${sea}".
+     * @param context The context of template for the evaluation. (NotNull)
+     * @param variableName The name of variable (can be property path) e.g. sea, sea.land. (NotNull)
+     * @return The result of the expression. (NullAllowed)
+     */
+    public Object evaluateVariable(ITemplateContext context, String variableName) {
+        return findVariableExpression(context, variableName).execute(context, StandardExpressionExecutionContext.NORMAL);
+    }
+
+    // ===================================================================================
+    //                                                                     Find Expression
+    //                                                                     ===============
+    public IStandardExpression findVariableExpression(ITemplateContext context, String variableName) {
+        final IStandardExpression cached = variableExpressionMap.get(variableName); // lock-free
+        if (cached != null) {
+            return cached;
+        }
+        final IStandardExpression parsed = parseExpression(context, "${" + variableName + "}"); // only first time
+        if (variableExpressionMap.size() < CACHE_LIMIT) {
+            variableExpressionMap.put(variableName, parsed);
+        }
+        return parsed;
+    }
+
+    protected IStandardExpression parseExpression(ITemplateContext context, String expressionText) {
+        // parsed expression does not depend on context (generated text has no preprocessing)
+        return StandardExpressions.getExpressionParser(context.getConfiguration()).parseExpression(context, expressionText);
+    }
+
+    // ===================================================================================
+    //                                                                               Clear
+    //                                                                               =====
+    public void clear() {
+        variableExpressionMap.clear();
+    }
+
+    public int size() {
+        return variableExpressionMap.size();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.lastaflute.thymeleaf.processor.attr.option;
 
+import org.lastaflute.thymeleaf.processor.attr.expression.GeneratedExpressionCache;
+
 /**
  * @author jflute
  * @since 0.4.0 (2019/01/18 Friday at broadway theatre)
@@ -24,12 +26,39 @@ public class ExpressionAttributeTagInitOption {
     // suppress la:property="${param.sea}" ('param' means request parameters) or not
     protected boolean restrictedExpressionExecution;
 
+    // build elements of la:errors directly from error messages or rewrite them to th:each and th:text
+    protected boolean errorsModelDirectBuilding;
+
+    // evaluate generated expressions directly by the cache or rewrite them to th:* attributes
+    protected GeneratedExpressionCache generatedExpressionCache; // null allowed
+
     public ExpressionAttributeTagInitOption restrictExpressionExecution() {
         this.restrictedExpressionExecution = true;
         return this;
     }
 
+    public ExpressionAttributeTagInitOption buildErrorsModelDirectly() {
+        this.errorsModelDirectBuilding = true;
+        return this;
+    }
+
+    public ExpressionAttributeTagInitOption evaluateGeneratedExpressionDirectly(GeneratedExpressionCache generatedExpressionCache) {
+        if (generatedExpressionCache == null) {
+            throw new IllegalArgumentException("The argument 'generatedExpressionCache' should not be null.");
+        }
+        this.generatedExpressionCache = generatedExpressionCache;
+        return this;
+    }
+
     public boolean isRestrictedExpressionExecution() {
         return restrictedExpressionExecution;
     }
+
+    public boolean isErrorsModelDirectBuilding() {
+        return errorsModelDirectBuilding;
+    }
+
+    public GeneratedExpressionCache getGeneratedExpressionCache() { // null allowed
+        return generatedExpressionCache;
+    }
 }
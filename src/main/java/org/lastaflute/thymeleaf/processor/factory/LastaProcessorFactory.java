@@ -15,13 +15,20 @@
  */
 package org.lastaflute.thymeleaf.processor.factory;
 
+import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.lastaflute.thymeleaf.processor.attr.AbstractLastaExpressionAttributeTagProcessor;
 import org.lastaflute.thymeleaf.processor.attr.ErrorsAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.ErrorsMessageAttrProcessor;
 import org.lastaflute.thymeleaf.processor.attr.OptionClsAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.OptionClsItemAttrProcessor;
 import org.lastaflute.thymeleaf.processor.attr.PropertyAttrProcessor;
 import org.lastaflute.thymeleaf.processor.attr.TokenAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.UnifiedAttrProcessor;
+import org.lastaflute.thymeleaf.processor.attr.expression.GeneratedExpressionCache;
 import org.lastaflute.thymeleaf.processor.attr.option.ExpressionAttributeTagInitOption;
 import org.thymeleaf.processor.IProcessor;
 
@@ -36,6 +43,7 @@ public class LastaProcessorFactory {
     //                                                                           =========
     protected final String dialectPrefix; // not null
     protected final ExpressionAttributeTagInitOption expressionAttributeTagInitOption; // not null
+    protected boolean processorUnification; // unified processors instead of attribute processors if true
 
     // ===================================================================================
     //                                                                         Constructor
@@ -51,15 +59,39 @@ public class LastaProcessorFactory {
         return new ExpressionAttributeTagInitOption().restrictExpressionExecution();
     }
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    public LastaProcessorFactory buildErrorsModelDirectly() {
+        expressionAttributeTagInitOption.buildErrorsModelDirectly();
+        return this;
+    }
+
+    public LastaProcessorFactory evaluateGeneratedExpressionDirectly(GeneratedExpressionCache generatedExpressionCache) {
+        // errors are also built directly because th:each cannot be evaluated by processor
+        expressionAttributeTagInitOption.evaluateGeneratedExpressionDirectly(generatedExpressionCache).buildErrorsModelDirectly();
+        return this;
+    }
+
+    public LastaProcessorFactory unifyProcessors() {
+        this.processorUnification = true;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
     public Set<IProcessor> createLastaProcessorsSet() { // not null
         final Set<IProcessor> processors = new LinkedHashSet<IProcessor>();
-        processors.add(createErrorsAttrProcessor());
-        processors.add(createPropertyAttrProcessor());
-        processors.add(createOptionClsAttrProcessor());
-        processors.add(createTokenAttrProcessor());
+        if (processorUnification) {
+            processors.addAll(createUnifiedAttrProcessorsSet());
+        } else {
+            processors.add(createErrorsAttrProcessor());
+            processors.add(createPropertyAttrProcessor());
+            processors.add(createOptionClsAttrProcessor());
+            processors.add(createTokenAttrProcessor());
+        }
+        processors.addAll(createDirectItemProcessorsSet()); // for elements iterated by the processors
         return processors;
     }
 
@@ -78,4 +110,42 @@ public class LastaProcessorFactory {
     protected TokenAttrProcessor createTokenAttrProcessor() {
         return new TokenAttrProcessor(dialectPrefix, expressionAttributeTagInitOption);
     }
+
+    protected Set<IProcessor> createDirectItemProcessorsSet() {
+        // attributes generated by the processors in direct modes instead of th:* attributes, not for templates
+        final Set<IProcessor> processors = new LinkedHashSet<IProcessor>();
+        if (expressionAttributeTagInitOption.isErrorsModelDirectBuilding()) {
+            processors.add(createErrorsMessageAttrProcessor());
+        }
+        if (expressionAttributeTagInitOption.getGeneratedExpressionCache() != null) {
+            processors.add(createOptionClsItemAttrProcessor());
+        }
+        return processors;
+    }
+
+    protected ErrorsMessageAttrProcessor createErrorsMessageAttrProcessor() {
+        return new ErrorsMessageAttrProcessor(dialectPrefix);
+    }
+
+    protected OptionClsItemAttrProcessor createOptionClsItemAttrProcessor() {
+        return new OptionClsItemAttrProcessor(dialectPrefix, expressionAttributeTagInitOption);
+    }
+
+    protected Set<IProcessor> createUnifiedAttrProcessorsSet() {
+        // attribute processors are not registered to dialect, only called by unified processors
+        // (one unified processor per attribute for matching, which processes all attributes at the same precedence)
+        final List<AbstractLastaExpressionAttributeTagProcessor> attrProcessorList = Arrays.asList(createOptionClsAttrProcessor(),
+                createErrorsAttrProcessor(), createPropertyAttrProcessor(), createTokenAttrProcessor());
+        final Set<IProcessor> processors = new LinkedHashSet<IProcessor>();
+        for (AbstractLastaExpressionAttributeTagProcessor attrProcessor : attrProcessorList) {
+            final String attrName = attrProcessor.getMatchingAttributeName().getMatchingAttributeName().getAttributeName();
+            processors.add(newUnifiedAttrProcessor(attrName, attrProcessorList, attrProcessor.getPrecedence()));
+        }
+        return processors;
+    }
+
+    protected UnifiedAttrProcessor newUnifiedAttrProcessor(String attrName,
+            List<AbstractLastaExpressionAttributeTagProcessor> attrProcessorList, int precedence) {
+        return new UnifiedAttrProcessor(dialectPrefix, attrName, attrProcessorList, precedence);
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.warmup;
+
+import java.util.Locale;
+
+/**
+ * The frequently rendered template with its locale, warmed up first at startup.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class HotTemplate {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String templateName; // not null
+    protected final Locale locale; // not null
+    protected final long count; // rendered count when selected
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param templateName The name of template, e.g. /member/member_list.html. (NotNull)
+     * @param locale The locale of the renderings. (NotNull)
+     * @param count The rendered count with the locale.
+     */
+    public HotTemplate(String templateName, Locale locale, long count) {
+        if (templateName == null) {
+            throw new IllegalArgumentException("The argument 'templateName' should not be null.");
+        }
+        if (locale == null) {
+            throw new IllegalArgumentException("The argument 'locale' should not be null.");
+        }
+        this.templateName = templateName;
+        this.locale = locale;
+        this.count = count;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "hot:{" + templateName + ", " + locale + ", " + count + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
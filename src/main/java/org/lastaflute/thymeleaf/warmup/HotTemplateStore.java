@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The store of hot templates in a local file, so that they can be warmed up first after restart. <br>
+ * One line per template: count, locale (language tag) and template name, separated by tab, in hot order.
+ * <pre>
+ * 1234	ja-JP	/member/member_list.html
+ * 567	en	/product/product_list.html
+ * </pre>
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class HotTemplateStore {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(HotTemplateStore.class);
+
+    protected static final String DELIMITER = "\t";
+    protected static final String COMMENT_PREFIX = "#";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Path storeFile; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public HotTemplateStore(Path storeFile) {
+        if (storeFile == null) {
+            throw new IllegalArgumentException("The argument 'storeFile' should not be null.");
+        }
+        this.storeFile = storeFile;
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    /**
+     * Write the hot templates to the file, replacing it atomically (via temporary file) if possible.
+     * @param hotTemplateList The list of hot templates in hot order. (NotNull)
+     * @throws IOException When it fails to write the file.
+     */
+    public void write(List<HotTemplate> hotTemplateList) throws IOException {
+        final List<String> lineList = new ArrayList<String>(hotTemplateList.size() + 1);
+        lineList.add(COMMENT_PREFIX + " hot templates of lasta-thymeleaf: count, locale, template name");
+        for (HotTemplate hot : hotTemplateList) {
+            lineList.add(hot.getCount() + DELIMITER + hot.getLocale().toLanguageTag() + DELIMITER + hot.getTemplateName());
+        }
+        final Path parentDir = storeFile.toAbsolutePath().getParent();
+        if (parentDir != null) {
+            Files.createDirectories(parentDir);
+        }
+        final Path tempFile = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+        Files.write(tempFile, lineList, StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) { // e.g. atomic move not supported by the file system
+            Files.move(tempFile, storeFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Read
+    //                                                                                ====
+    /**
+     * Read the hot templates from the file, broken lines are skipped.
+     * @return The read-only list of hot templates in hot order. (NotNull, EmptyAllowed: when no file)
+     */
+    public List<HotTemplate> read() {
+        if (!Files.exists(storeFile)) { // e.g. first boot
+            return Collections.emptyList();
+        }
+        final List<String> lineList;
+        try {
+            lineList = Files.readAllLines(storeFile, StandardCharsets.UTF_8);
+        } catch (IOException e) { // only warming so no exception
+            logger.warn("Failed to read the hot templates: " + storeFile, e);
+            return Collections.emptyList();
+        }
+        final List<HotTemplate> hotTemplateList = new ArrayList<HotTemplate>(lineList.size());
+        for (String line : lineList) {
+            final HotTemplate hot = parseLine(line);
+            if (hot != null) {
+                hotTemplateList.add(hot);
+            }
+        }
+        return Collections.unmodifiableList(hotTemplateList);
+    }
+
+    protected HotTemplate parseLine(String line) { // null allowed (when comment or broken)
+        if (line.trim().isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+            return null;
+        }
+        final String[] tokens = line.split(DELIMITER, 3);
+        if (tokens.length < 3 || tokens[2].trim().isEmpty()) {
+            logger.debug("*Skipped the broken line of hot templates: {}", line);
+            return null;
+        }
+        try {
+            return new HotTemplate(tokens[2].trim(), Locale.forLanguageTag(tokens[1].trim()), Long.parseLong(tokens[0].trim()));
+        } catch (NumberFormatException e) {
+            logger.debug("*Skipped the broken line of hot templates: {}", line);
+            return null;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Path getStoreFile() {
+        return storeFile;
+    }
+}
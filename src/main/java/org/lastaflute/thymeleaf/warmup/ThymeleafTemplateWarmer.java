@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.warmup;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.engine.TemplateModel;
+
+/**
+ * The warmer of templates, which pre-processes templates in the specified order so that they are parsed and cached. <br>
+ * Templates are processed without request, so processing may fail (e.g. la:errors needs request)
+ * but the template is already parsed and cached before processing if the template resolver is cacheable.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class ThymeleafTemplateWarmer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafTemplateWarmer.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final TemplateEngine templateEngine; // not null
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ThymeleafTemplateWarmer(TemplateEngine templateEngine) {
+        if (templateEngine == null) {
+            throw new IllegalArgumentException("The argument 'templateEngine' should not be null.");
+        }
+        this.templateEngine = templateEngine;
+    }
+
+    // ===================================================================================
+    //                                                                             Warm up
+    //                                                                             =======
+    /**
+     * @param templateNameList The list of template names in warming order, e.g. /member/member_list.html. (NotNull)
+     * @param locale The locale of warming context. (NotNull)
+     * @return The count of templates cached by the warm-up.
+     */
+    public int warmUp(List<String> templateNameList, Locale locale) {
+        final long beginTime = System.currentTimeMillis();
+        int cachedCount = 0;
+        for (String templateName : templateNameList) {
+            if (warmUpTemplate(templateName, locale)) {
+                ++cachedCount;
+            }
+        }
+        final long cost = System.currentTimeMillis() - beginTime;
+        logger.info("...Warming up {} of {} templates: {}ms", cachedCount, templateNameList.size(), cost);
+        return cachedCount;
+    }
+
+    /**
+     * Warm up (pre-parse and pre-render) the hot templates in parallel, waiting for all of them.
+     * @param hotTemplateList The list of hot templates in hot order, each is rendered with its locale. (NotNull)
+     * @param threadCount The count of warming threads. (Positive)
+     * @return The set of template names cached by the warm-up. (NotNull)
+     */
+    public Set<String> warmUpInParallel(List<HotTemplate> hotTemplateList, int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("The argument 'threadCount' should be positive: " + threadCount);
+        }
+        if (hotTemplateList.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final long beginTime = System.currentTimeMillis();
+        final Set<String> cachedSet = ConcurrentHashMap.newKeySet();
+        final int poolSize = Math.min(threadCount, hotTemplateList.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(poolSize, newWarmingThreadFactory());
+        try {
+            final List<Future<?>> futureList = new ArrayList<Future<?>>(hotTemplateList.size());
+            for (HotTemplate hot : hotTemplateList) { // submitted in hot order
+                futureList.add(executor.submit(() -> {
+                    if (warmUpTemplate(hot.getTemplateName(), hot.getLocale())) {
+                        cachedSet.add(hot.getTemplateName());
+                    }
+                }));
+            }
+            for (Future<?> future : futureList) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) { // basically no way because of catching in warming
+                    logger.debug("*Failed to warm up the hot template: {}", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) { // e.g. shutdown while booting
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        final long cost = System.currentTimeMillis() - beginTime;
+        logger.info("...Warming up {} hot templates in parallel({}): {} cached, {}ms", hotTemplateList.size(), threadCount,
+                cachedSet.size(), cost);
+        return cachedSet;
+    }
+
+    protected ThreadFactory newWarmingThreadFactory() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "lasta-thymeleaf-warmer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to block shutdown
+            return thread;
+        };
+    }
+
+    /**
+     * @param templateName The name of template to be warmed up, e.g. /member/member_list.html. (NotNull)
+     * @param locale The locale of warming context. (NotNull)
+     * @return true if the template is cached after warming.
+     */
+    public boolean warmUpTemplate(String templateName, Locale locale) {
+        try {
+            templateEngine.process(templateName, createWarmingContext(locale), new DiscardingWriter());
+        } catch (RuntimeException e) { // basically processing without request, parsed already
+            logger.debug("*Failed to process the template at warm-up (may be parsed): {}, {}", templateName, e.getMessage());
+        }
+        return isCached(templateName);
+    }
+
+    protected IContext createWarmingContext(Locale locale) {
+        return new Context(locale);
+    }
+
+    protected boolean isCached(String templateName) {
+        final ICache<TemplateCacheKey, TemplateModel> cache =
+                templateEngine.getCacheManager() != null ? templateEngine.getCacheManager().getTemplateCache() : null;
+        if (cache == null) { // no cache so no warming
+            return false;
+        }
+        return cache.keySet().stream().anyMatch(key -> templateName.equals(key.getTemplate()));
+    }
+
+    protected static class DiscardingWriter extends Writer {
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
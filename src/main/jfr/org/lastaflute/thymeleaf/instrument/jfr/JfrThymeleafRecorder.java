@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jfr;
+
+import java.util.Locale;
+
+import org.lastaflute.thymeleaf.instrument.ThymeleafFlightEventRecorder;
+import org.lastaflute.thymeleaf.instrument.ThymeleafRecording;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * The recorder of JFR events, only called by ThymeleafFlightRecorder when JFR is available. <br>
+ * Events are created (and values are prepared) only when the event type is enabled in running recording,
+ * so no allocation without recording. <br>
+ * This source set (src/main/jfr) is compiled by the other execution of compiler plugin,
+ * which needs JDK11 or later for jdk.jfr (bytecode is still Java8 for Java8u262 or later),
+ * and the main source set does not refer to it directly.
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+public class JfrThymeleafRecorder implements ThymeleafFlightEventRecorder {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String EVENT_NAME_PREFIX = "org.lastaflute.thymeleaf.";
+
+    /** The types of events, looked up at first use (only when JFR is available). */
+    protected static class EventTypeHolder {
+
+        protected static final EventType RENDERING = EventType.getEventType(TemplateRenderingEvent.class);
+        protected static final EventType FRAGMENT_INCLUSION = EventType.getEventType(FragmentInclusionEvent.class);
+        protected static final EventType EXPRESSION_OBJECT_CREATION = EventType.getEventType(ExpressionObjectCreationEvent.class);
+        protected static final EventType LASTA_PROCESSOR = EventType.getEventType(LastaProcessorEvent.class);
+    }
+
+    // ===================================================================================
+    //                                                                           Available
+    //                                                                           =========
+    @Override
+    public boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    // ===================================================================================
+    //                                                                           Rendering
+    //                                                                           =========
+    @Override
+    public ThymeleafRecording beginRendering(String templateName) {
+        if (!EventTypeHolder.RENDERING.isEnabled()) { // also false if no recording
+            return ThymeleafRecording.NONE;
+        }
+        final TemplateRenderingEvent event = new TemplateRenderingEvent();
+        event.templateName = templateName;
+        return begin(event);
+    }
+
+    @Override
+    public void endRendering(ThymeleafRecording recording, Locale locale, long bytesWritten) {
+        final TemplateRenderingEvent event = (TemplateRenderingEvent) ((JfrEventRecording) recording).getEvent();
+        event.locale = locale != null ? locale.toString() : null;
+        event.bytesWritten = bytesWritten;
+        recording.end();
+    }
+
+    // ===================================================================================
+    //                                                                  Fragment Inclusion
+    //                                                                  ==================
+    @Override
+    public void recordFragmentInclusion(IProcessableElementTag tag, AttributeName attributeName, String fragmentExpression) {
+        if (!EventTypeHolder.FRAGMENT_INCLUSION.isEnabled()) {
+            return;
+        }
+        final FragmentInclusionEvent event = new FragmentInclusionEvent();
+        event.templateName = tag.getTemplateName();
+        event.elementName = tag.getElementCompleteName();
+        event.attributeName = toAttributeExp(attributeName);
+        event.fragmentExpression = fragmentExpression;
+        event.commit(); // instant event (actual inclusion is processed by standard processor after this)
+    }
+
+    // ===================================================================================
+    //                                                                   Expression Object
+    //                                                                   =================
+    @Override
+    public ThymeleafRecording beginExpressionObjectCreation(String expressionObjectName, IExpressionContext context) {
+        if (!EventTypeHolder.EXPRESSION_OBJECT_CREATION.isEnabled()) {
+            return ThymeleafRecording.NONE;
+        }
+        final ExpressionObjectCreationEvent event = new ExpressionObjectCreationEvent();
+        event.expressionObjectName = expressionObjectName;
+        if (context instanceof ITemplateContext) {
+            event.templateName = ((ITemplateContext) context).getTemplateData().getTemplate();
+        }
+        return begin(event);
+    }
+
+    // ===================================================================================
+    //                                                                      Lasta Processor
+    //                                                                      ===============
+    @Override
+    public ThymeleafRecording beginLastaProcessor(IProcessableElementTag tag, AttributeName attributeName, String attributeValue) {
+        if (!EventTypeHolder.LASTA_PROCESSOR.isEnabled()) {
+            return ThymeleafRecording.NONE;
+        }
+        final LastaProcessorEvent event = new LastaProcessorEvent();
+        event.templateName = tag.getTemplateName();
+        event.elementName = tag.getElementCompleteName();
+        event.attributeName = toAttributeExp(attributeName);
+        event.attributeValue = attributeValue;
+        return begin(event);
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected ThymeleafRecording begin(Event event) {
+        event.begin();
+        return new JfrEventRecording(event);
+    }
+
+    protected String toAttributeExp(AttributeName attributeName) {
+        final String prefix = attributeName.getPrefix();
+        final String pureName = attributeName.getAttributeName();
+        return prefix != null ? prefix + ":" + pureName : pureName;
+    }
+
+    public static class JfrEventRecording implements ThymeleafRecording {
+
+        protected final Event event; // not null, already begun
+
+        public JfrEventRecording(Event event) {
+            this.event = event;
+        }
+
+        @Override
+        public boolean isRecording() {
+            return true;
+        }
+
+        @Override
+        public void end() {
+            event.end();
+            if (event.shouldCommit()) { // e.g. over threshold
+                event.commit();
+            }
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+@Name(JfrThymeleafRecorder.EVENT_NAME_PREFIX + "LastaProcessor")
+@Label("Lasta Processor")
+@Category({ "LastaFlute", "Thymeleaf" })
+@Description("Execution of Lasta attribute processor e.g. la:property.")
+@StackTrace(false)
+public class LastaProcessorEvent extends Event {
+
+    @Label("Template Name")
+    String templateName;
+
+    @Label("Element Name")
+    String elementName;
+
+    @Label("Attribute Name")
+    String attributeName;
+
+    @Label("Attribute Value")
+    String attributeValue;
+}
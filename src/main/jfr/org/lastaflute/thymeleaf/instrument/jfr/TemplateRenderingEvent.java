@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author jflute
+ * @since 0.4.4 (2026/10/18 Sunday)
+ */
+@Name(JfrThymeleafRecorder.EVENT_NAME_PREFIX + "TemplateRendering")
+@Label("Template Rendering")
+@Category({ "LastaFlute", "Thymeleaf" })
+@Description("Rendering of HTML template by ThymeleafHtmlRenderer.")
+@StackTrace(false)
+public class TemplateRenderingEvent extends Event {
+
+    @Label("Template Name")
+    String templateName;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+}
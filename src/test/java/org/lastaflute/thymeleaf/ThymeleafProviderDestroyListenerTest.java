@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ThymeleafProviderDestroyListenerTest extends PlainTestCase {
+
+    public void test_contextDestroyed_destroyed() {
+        // ## Arrange ##
+        Map<String, Object> attributeMap = new HashMap<String, Object>();
+        ServletContext servletContext = createServletContext(attributeMap);
+        AtomicInteger destroyCount = new AtomicInteger();
+        ThymeleafRenderingProvider provider = new ThymeleafRenderingProvider() {
+            @Override
+            public void destroyTemplateEngine() {
+                destroyCount.incrementAndGet();
+            }
+        };
+        ThymeleafProviderDestroyListener.register(servletContext, provider);
+        ThymeleafProviderDestroyListener.register(servletContext, provider); // same provider (e.g. writing and MBean)
+
+        // ## Act ##
+        ThymeleafProviderDestroyListener listener = new ThymeleafProviderDestroyListener();
+        listener.contextDestroyed(new ServletContextEvent(servletContext));
+
+        // ## Assert ##
+        assertEquals(1, destroyCount.get());
+        assertTrue(attributeMap.isEmpty());
+        listener.contextDestroyed(new ServletContextEvent(servletContext)); // no provider
+        assertEquals(1, destroyCount.get());
+    }
+
+    protected ServletContext createServletContext(Map<String, Object> attributeMap) {
+        return (ServletContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ServletContext.class },
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                    case "getAttribute":
+                        return attributeMap.get(args[0]);
+                    case "setAttribute":
+                        attributeMap.put((String) args[0], args[1]);
+                        return null;
+                    case "removeAttribute":
+                        attributeMap.remove(args[0]);
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException("Not mocked method: " + method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.expression.evaluator.LastaVariableExpressionEvaluator;
+import org.lastaflute.thymeleaf.instrument.jmx.ThymeleafMBeanRegistrar;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.IStandardVariableExpressionEvaluator;
+
+/**
+ * @author jflute
+ */
+public class ThymeleafRenderingProviderTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Template Engine
+    //                                                                     ===============
+    public void test_getTemplateEngine_lintFailure_retried() {
+        // ## Arrange ##
+        AtomicBoolean broken = new AtomicBoolean(true);
+        AtomicInteger lintCount = new AtomicInteger();
+        AtomicInteger warmUpCount = new AtomicInteger();
+        ThymeleafRenderingProvider provider = new ThymeleafRenderingProvider() {
+            @Override
+            protected void setupTemplateEngine(TemplateEngine engine) { // no servlet context here
+            }
+
+            @Override
+            protected void lintTemplates(TemplateEngine engine) {
+                lintCount.incrementAndGet();
+                if (broken.get()) {
+                    throw new IllegalStateException("Found the lint error: th:property");
+                }
+            }
+
+            @Override
+            protected void warmUpTemplateEngine(TemplateEngine engine) {
+                warmUpCount.incrementAndGet();
+            }
+        }.lintTemplateAtStartup();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> provider.getTemplateEngine());
+        assertException(IllegalStateException.class, () -> provider.getTemplateEngine()); // not published so linted again
+        assertEquals(2, lintCount.get());
+        assertEquals(0, warmUpCount.get()); // no warming for failed engine
+
+        broken.set(false); // e.g. fixed templates at hot deploy
+        TemplateEngine engine = provider.getTemplateEngine();
+        assertNotNull(engine);
+        assertSame(engine, provider.getTemplateEngine());
+        assertEquals(3, lintCount.get()); // only once after success
+        assertEquals(1, warmUpCount.get());
+    }
+
+    public void test_compileVariableExpression() {
+        // ## Arrange ##
+        ThymeleafRenderingProvider provider = new ThymeleafRenderingProvider().asDevelopment(true).compileVariableExpression();
+        TemplateEngine engine = new TemplateEngine();
+        StandardDialect standardDialect = provider.findStandardDialect(engine);
+        IStandardVariableExpressionEvaluator standardEvaluator = standardDialect.getVariableExpressionEvaluator();
+
+        // ## Act ##
+        provider.setupCompiledVariableExpression(engine);
+
+        // ## Assert ##
+        IStandardVariableExpressionEvaluator evaluator = standardDialect.getVariableExpressionEvaluator();
+        assertTrue(evaluator instanceof LastaVariableExpressionEvaluator);
+        assertNotSame(standardEvaluator, evaluator); // standard evaluator is used for other expressions
+    }
+
+    // ===================================================================================
+    //                                                                             Destroy
+    //                                                                             =======
+    public void test_destroyTemplateEngine_unregisterMBean() throws Exception {
+        // ## Arrange ##
+        String objectName = new ThymeleafMBeanRegistrar().buildEngineObjectName("/providertest");
+        AtomicInteger destroyRegisteredCount = new AtomicInteger();
+        ThymeleafRenderingProvider provider = new ThymeleafRenderingProvider() {
+            @Override
+            protected void setupTemplateEngine(TemplateEngine engine) { // no servlet context here
+                engine.addDialect(new LastaThymeleafDialect());
+            }
+
+            @Override
+            protected void registerProviderDestroy() { // no servlet context here
+                destroyRegisteredCount.incrementAndGet();
+            }
+
+            @Override
+            protected void warmUpTemplateEngine(TemplateEngine engine) {
+            }
+        }.registerEngineMBean(objectName);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        provider.getTemplateEngine();
+        assertTrue(server.isRegistered(new ObjectName(objectName)));
+        assertEquals(1, destroyRegisteredCount.get());
+
+        // ## Act ##
+        provider.destroyTemplateEngine();
+
+        // ## Assert ##
+        assertFalse(server.isRegistered(new ObjectName(objectName)));
+        provider.destroyTemplateEngine(); // no exception if already destroyed
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.customizer.ThymeleafExpressionObjectScope;
+import org.thymeleaf.expression.IExpressionObjectFactory;
+
+/**
+ * @author jflute
+ */
+public class LastaThymeleafDialectTest extends PlainTestCase {
+
+    public void test_getExpressionObjectFactory_additional() {
+        // ## Arrange ##
+        Object sea = new Object();
+        Object land = new Object();
+        LastaThymeleafDialect dialect = new LastaThymeleafDialect().additionalExpression(resource -> {
+            resource.registerExpressionObject("sea", sea, true);
+            resource.registerExpressionObject("land", land);
+            resource.registerExpressionObject("handy", land); // embedded first
+        });
+
+        // ## Act ##
+        IExpressionObjectFactory factory = dialect.getExpressionObjectFactory();
+
+        // ## Assert ##
+        assertSame(factory, dialect.getExpressionObjectFactory());
+        Set<String> names = factory.getAllExpressionObjectNames();
+        assertTrue(names.contains("cls"));
+        assertTrue(names.contains("handy"));
+        assertTrue(names.contains("memo"));
+        assertTrue(names.contains("sea"));
+        assertTrue(names.contains("land"));
+        assertSame(sea, factory.buildObject(null, "sea"));
+        assertSame(land, factory.buildObject(null, "land"));
+        assertNotSame(land, factory.buildObject(null, "handy"));
+        assertNull(factory.buildObject(null, "piari"));
+        assertTrue(factory.isCacheable("sea"));
+        assertFalse(factory.isCacheable("land"));
+        assertFalse(factory.isCacheable("handy"));
+        assertFalse(factory.isCacheable("piari"));
+        assertException(UnsupportedOperationException.class, () -> names.add("piari"));
+    }
+
+    public void test_getExpressionObjectFactory_scoped() {
+        // ## Arrange ##
+        AtomicInteger engineCount = new AtomicInteger();
+        AtomicInteger executionCount = new AtomicInteger();
+        LastaThymeleafDialect dialect = new LastaThymeleafDialect().additionalExpression(resource -> {
+            resource.registerExpressionObject("sea", context -> "sea" + engineCount.incrementAndGet(), ThymeleafExpressionObjectScope.ENGINE);
+            resource.registerExpressionObject("land", context -> "land" + executionCount.incrementAndGet(),
+                    ThymeleafExpressionObjectScope.TEMPLATE_EXECUTION);
+            resource.registerExpressionObject("piari", context -> "piari", ThymeleafExpressionObjectScope.REQUEST);
+        });
+
+        // ## Act ##
+        IExpressionObjectFactory factory = dialect.getExpressionObjectFactory();
+
+        // ## Assert ##
+        assertEquals(0, engineCount.get()); // created when first touched
+        assertEquals(0, executionCount.get());
+        assertEquals("sea1", factory.buildObject(null, "sea"));
+        assertEquals("sea1", factory.buildObject(null, "sea"));
+        assertFalse(factory.isCacheable("sea"));
+        assertEquals("land1", factory.buildObject(null, "land")); // reused in the context by Thymeleaf
+        assertTrue(factory.isCacheable("land"));
+        assertEquals("piari", factory.buildObject(null, "piari")); // no web context, same as template execution
+        assertTrue(factory.isCacheable("piari"));
+    }
+
+    public void test_getExpressionObjectFactory_concurrent() throws Exception {
+        // ## Arrange ##
+        Object sea = new Object();
+        LastaThymeleafDialect dialect = new LastaThymeleafDialect().additionalExpression(resource -> {
+            resource.registerExpressionObject("sea", sea, true);
+        });
+        int threadCount = 10;
+        ExecutorService service = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futureList = new ArrayList<Future<Object>>();
+
+        // ## Act ##
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                futureList.add(service.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    IExpressionObjectFactory factory = dialect.getExpressionObjectFactory();
+                    for (int j = 0; j < 10000; j++) {
+                        assertTrue(factory.getAllExpressionObjectNames().contains("sea"));
+                        assertSame(sea, factory.buildObject(null, "sea"));
+                        assertNotNull(factory.buildObject(null, "handy"));
+                        assertTrue(factory.isCacheable("sea"));
+                        assertTrue(factory.isCacheable("memo"));
+                    }
+                    return factory;
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            // ## Assert ##
+            Object first = futureList.get(0).get();
+            for (Future<Object> future : futureList) {
+                assertSame(first, future.get()); // built only once
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.dbflute.jdbc.Classification;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
+import org.lastaflute.db.dbflute.exception.ProvidedClassificationNotFoundException;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex.IndexedClassification;
+import org.lastaflute.thymeleaf.mock.MockClassificationProvider;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.ExpressionContext;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+
+/**
+ * @author jflute
+ */
+public class ClassificationMetaIndexTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Find Index
+    //                                                                          ==========
+    public void test_findIndexed_cached() {
+        // ## Arrange ##
+        MockClassificationProvider mock = new MockClassificationProvider();
+        ClassificationMetaIndex index = createIndex(mock);
+
+        // ## Act ##
+        IndexedClassification first = index.findIndexed(MockClassificationProvider.MEMBER_STATUS);
+        IndexedClassification second = index.findIndexed(MockClassificationProvider.MEMBER_STATUS);
+
+        // ## Assert ##
+        assertSame(first, second);
+        assertEquals(1, mock.getProvideCount()); // provided only once
+        assertEquals(1, index.getIndexedCount());
+        List<Classification> allList = first.getAllList();
+        assertEquals(mock.getMemberStatusList(), allList);
+        assertException(UnsupportedOperationException.class, () -> allList.clear()); // shared so read-only
+        assertTrue(index.existsClassification(MockClassificationProvider.MEMBER_STATUS));
+        assertFalse(index.existsClassification("NotFound"));
+        assertException(ProvidedClassificationNotFoundException.class, () -> index.findIndexed("NotFound"));
+        assertEquals(1, index.getIndexedCount()); // not-found is not indexed
+
+        index.clear();
+        assertEquals(0, index.getIndexedCount());
+        assertNotSame(first, index.findIndexed(MockClassificationProvider.MEMBER_STATUS));
+    }
+
+    public void test_codeOf_lowerCaseAndSister() {
+        // ## Arrange ##
+        MockClassificationProvider mock = new MockClassificationProvider();
+        ClassificationMetaIndex index = createIndex(mock);
+        IndexedClassification indexed = index.findIndexed(MockClassificationProvider.MEMBER_STATUS);
+        Classification formalized = mock.codeOf("FML");
+
+        // ## Act ##
+        // ## Assert ##
+        assertSame(formalized, indexed.codeOf("FML"));
+        assertSame(formalized, indexed.codeOf("fml")); // same as codeOf() of generated classification
+        assertSame(formalized, indexed.codeOf("formal")); // sister code
+        assertSame(formalized, indexed.codeOf("FORMAL"));
+        assertSame(mock.codeOf("WDL"), indexed.codeOf("wdl"));
+        assertNull(indexed.codeOf("none")); // falls back to meta, also not found there
+    }
+
+    // ===================================================================================
+    //                                                                          Find Alias
+    //                                                                          ==========
+    public void test_findAlias_perLocale() {
+        // ## Arrange ##
+        MockClassificationProvider mock = new MockClassificationProvider();
+        ClassificationMetaIndex index = createIndex(mock);
+        Classification formalized = mock.codeOf("FML");
+        Classification withdrawal = mock.codeOf("WDL");
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("SeishikiKaiin", index.findAlias(formalized, Locale.JAPANESE));
+        assertEquals("SeishikiKaiin", index.findAlias(formalized, Locale.JAPANESE));
+        assertEquals("Withdrawal", index.findAlias(withdrawal, Locale.JAPANESE)); // no sub-item so default alias
+        assertEquals("Formalized", index.findAlias(formalized, Locale.ENGLISH));
+        assertEquals("Formalized", index.findAlias(formalized, Locale.ENGLISH));
+        assertEquals(2, mock.getDetermineAliasCount()); // once per locale
+        assertEquals(2, index.getLocaleAliasCount());
+
+        index.clear();
+        assertEquals(0, index.getLocaleAliasCount());
+        assertEquals("SeishikiKaiin", index.findAlias(formalized, Locale.JAPANESE));
+        assertEquals(3, mock.getDetermineAliasCount());
+    }
+
+    public void test_findAlias_nullLocale() {
+        // ## Arrange ##
+        MockClassificationProvider mock = new MockClassificationProvider();
+        ClassificationMetaIndex index = createIndex(mock);
+
+        // ## Act ##
+        String alias = index.findAlias(mock.codeOf("PRV"), null);
+
+        // ## Assert ##
+        assertEquals("Provisional", alias);
+        assertEquals(0, index.getLocaleAliasCount()); // not cached
+    }
+
+    // ===================================================================================
+    //                                                                   Expression Object
+    //                                                                   =================
+    public void test_expressionObject_sameAsNoIndex() {
+        // ## Arrange ##
+        MockClassificationProvider mock = new MockClassificationProvider();
+        ClassificationMetaIndex index = createIndex(mock);
+        TemplateEngine engine = new TemplateEngine();
+        ExpressionContext japanese = new ExpressionContext(engine.getConfiguration(), Locale.JAPANESE);
+        ExpressionContext english = new ExpressionContext(engine.getConfiguration(), Locale.ENGLISH);
+        ClassificationExpressionObject indexedJa = new ClassificationExpressionObject(japanese, index);
+        ClassificationExpressionObject plainJa = createNoIndexExpressionObject(japanese, mock);
+        ClassificationExpressionObject indexedEn = new ClassificationExpressionObject(english, index);
+        ClassificationExpressionObject plainEn = createNoIndexExpressionObject(english, mock);
+        String name = MockClassificationProvider.MEMBER_STATUS;
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(plainJa.listAll(name), indexedJa.listAll(name));
+        assertEquals(plainJa.list(name), indexedJa.list(name));
+        for (Classification cls : mock.getMemberStatusList()) {
+            assertEquals(plainJa.codeOf(name, cls.code()), indexedJa.codeOf(name, cls.code()));
+            assertEquals(plainJa.codeOf(name, cls.code().toLowerCase()), indexedJa.codeOf(name, cls.code().toLowerCase()));
+            assertEquals(plainJa.alias(cls), indexedJa.alias(cls));
+            assertEquals(plainEn.alias(cls), indexedEn.alias(cls));
+        }
+        assertEquals("SeishikiKaiin", indexedJa.alias(mock.codeOf("FML")));
+        assertEquals("Formalized", indexedEn.alias(mock.codeOf("FML")));
+        assertEquals("-", indexedJa.alias((Object) null, "-"));
+        assertException(TemplateProcessingException.class, () -> indexedJa.alias("notClassification"));
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected ClassificationMetaIndex createIndex(MockClassificationProvider mock) {
+        return new ClassificationMetaIndex() {
+            @Override
+            public ListedClassificationProvider getProvider() {
+                return mock.getProvider();
+            }
+        };
+    }
+
+    protected ClassificationExpressionObject createNoIndexExpressionObject(ExpressionContext context, MockClassificationProvider mock) {
+        return new ClassificationExpressionObject(context) {
+            @Override
+            protected ListedClassificationProvider getListedClassificationProvider() {
+                return mock.getProvider();
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.direction.AccessibleConfig;
+import org.lastaflute.thymeleaf.expression.HandyDateFormatterCache.CompiledDatePattern;
+
+/**
+ * @author jflute
+ */
+public class HandyDateExpressionObjectTest extends PlainTestCase {
+
+    private static final int ROW_COUNT = 1000;
+    private static final String PATTERN = "yyyy/MM/dd";
+
+    public void test_formatProperty_sameAsFormat() {
+        // ## Arrange ##
+        HandyDateExpressionObject handy = new HandyDateExpressionObject();
+        List<OrderRow> rowList = prepareRowList();
+
+        // ## Act ##
+        List<String> formattedList = handy.formatProperty(rowList, "orderDate", PATTERN);
+
+        // ## Assert ##
+        assertEquals(ROW_COUNT, formattedList.size());
+        assertNull(formattedList.get(0)); // null date
+        assertEquals("2006/09/27", formattedList.get(1));
+        assertEquals("2006/10/01", formattedList.get(5)); // month boundary
+        DateTimeFormatter expectedFormatter = DateTimeFormatter.ofPattern(PATTERN); // independent of handy's formatter cache
+        for (int i = 1; i < rowList.size(); i++) {
+            OrderRow row = rowList.get(i);
+            assertEquals(expectedFormatter.format(row.orderDate), formattedList.get(i));
+        }
+    }
+
+    // ===================================================================================
+    //                                                                    Standard Pattern
+    //                                                                    ================
+    public void test_format_standardPatternPlaceholder() {
+        // ## Arrange ##
+        Map<String, String> configMap = new HashMap<String, String>();
+        configMap.put(HandyDateExpressionObject.KEY_OF_DATE_PATTERN, "yyyy/MM/dd");
+        HandyDateExpressionObject handy = createConfiguredHandy(configMap); // datetime and time are default
+        LocalDateTime dateTime = LocalDateTime.of(2006, 9, 26, 10, 36, 7);
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("2006/09/26", handy.format(dateTime.toLocalDate()));
+        assertEquals("2006/09/26", handy.format(dateTime.toLocalDate(), "$$date$$"));
+        assertEquals("on 2006/09/26", handy.format(dateTime.toLocalDate(), "'on' $$date$$"));
+        assertEquals("2006-09-26 10:36:07", handy.format(dateTime, "$$datetime$$"));
+        assertEquals("10:36:07", handy.format(dateTime, "$$time$$"));
+        assertEquals("2006/09/26 10:36", handy.format(dateTime, "$$date$$ HH:mm"));
+    }
+
+    public void test_reloadStandardPattern_invalidateSnapshot() {
+        // ## Arrange ##
+        Map<String, String> configMap = new HashMap<String, String>();
+        configMap.put(HandyDateExpressionObject.KEY_OF_DATE_PATTERN, "yyyy/MM/dd");
+        HandyDateExpressionObject handy = createConfiguredHandy(configMap);
+        LocalDate date = LocalDate.of(2006, 9, 26);
+        assertEquals("2006/09/26", handy.format(date));
+        assertEquals("2006/09/26!", handy.format(date, "$$date$$!"));
+        CompiledDatePattern compiled = handy.findCompiledPattern("yyyy/MM/dd");
+        configMap.put(HandyDateExpressionObject.KEY_OF_DATE_PATTERN, "dd.MM.yyyy"); // e.g. hot reloading of config
+        assertEquals("2006/09/26", handy.format(date)); // snapshot is cached
+        assertEquals("2006/09/26!", handy.format(date, "$$date$$!")); // filtered pattern is cached
+
+        // ## Act ##
+        handy.reloadStandardPattern();
+
+        // ## Assert ##
+        assertEquals("26.09.2006", handy.format(date));
+        assertEquals("26.09.2006!", handy.format(date, "$$date$$!"));
+        assertNotSame(compiled, handy.findCompiledPattern("yyyy/MM/dd")); // formatter cache is also cleared
+    }
+
+    private HandyDateExpressionObject createConfiguredHandy(Map<String, String> configMap) {
+        return new HandyDateExpressionObject() {
+            @Override
+            protected AccessibleConfig getApplicationConfig() { // no container here
+                return null;
+            }
+
+            @Override
+            protected String getAppStandardPatternDate(AccessibleConfig config) {
+                return configMap.getOrDefault(KEY_OF_DATE_PATTERN, DEFAULT_DATE_PATTERN);
+            }
+
+            @Override
+            protected String getAppStandardPatternDatetime(AccessibleConfig config) {
+                return configMap.getOrDefault(KEY_OF_DATETIME_PATTERN, DEFAULT_DATETIME_PATTERN);
+            }
+
+            @Override
+            protected String getAppStandardPatternTime(AccessibleConfig config) {
+                return configMap.getOrDefault(KEY_OF_TIME_PATTERN, DEFAULT_TIME_PATTERN);
+            }
+        };
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    private List<OrderRow> prepareRowList() {
+        List<OrderRow> rowList = new ArrayList<OrderRow>(ROW_COUNT);
+        LocalDate baseDate = LocalDate.of(2006, 9, 26);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            OrderRow row = new OrderRow();
+            row.orderDate = i == 0 ? null : baseDate.plusDays(i);
+            rowList.add(row);
+        }
+        return rowList;
+    }
+
+    public static class OrderRow {
+
+        public LocalDate orderDate;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.expression.HandyDateFormatterCache.CompiledDatePattern;
+
+/**
+ * @author jflute
+ */
+public class HandyDateFormatterCacheTest extends PlainTestCase {
+
+    public void test_findCompiled_compatible() {
+        // ## Arrange ##
+        HandyDateFormatterCache cache = new HandyDateFormatterCache();
+        TimeZone timeZone = TimeZone.getTimeZone("Asia/Tokyo");
+        Date date = new Date(1159234567890L); // 2006-09-26 10:36:07.890 (JST)
+        String[] patterns = { "yyyy-MM-dd", "yyyy/MM/dd HH:mm:ss.SSS", "yy/M/d h:m a (E)", "'at' yyyy MMM dd", "EEEE, k:mm" };
+
+        for (String pattern : patterns) {
+            // ## Act ##
+            CompiledDatePattern compiled = cache.findCompiled(pattern, Locale.ENGLISH);
+
+            // ## Assert ##
+            assertTrue(pattern, compiled.isDirectFormattable());
+            SimpleDateFormat expectedFormat = new SimpleDateFormat(pattern, Locale.ENGLISH);
+            expectedFormat.setTimeZone(timeZone);
+            String expected = expectedFormat.format(date);
+            String actual = compiled.format(date, ZoneId.of("Asia/Tokyo"));
+            log(pattern, actual);
+            assertEquals(expected, actual);
+            assertSame(compiled, cache.findCompiled(pattern, Locale.ENGLISH));
+        }
+    }
+
+    public void test_findCompiled_incompatible() {
+        // ## Arrange ##
+        HandyDateFormatterCache cache = new HandyDateFormatterCache();
+        String[] patterns = { "yyyy-MM-dd u", "HH:mm:ss.S", "YYYY-MM-dd", "yyyy [MM]", "yyyy 'sea" };
+
+        for (String pattern : patterns) {
+            // ## Act ##
+            CompiledDatePattern compiled = cache.findCompiled(pattern, Locale.ENGLISH);
+
+            // ## Assert ##
+            assertFalse(pattern, compiled.isDirectFormattable());
+        }
+    }
+
+    public void test_format_localDateWithTime() {
+        // ## Arrange ##
+        HandyDateFormatterCache cache = new HandyDateFormatterCache();
+
+        // ## Act ##
+        CompiledDatePattern compiled = cache.findCompiled("yyyy/MM/dd HH:mm", Locale.ENGLISH);
+
+        // ## Assert ##
+        assertEquals("2006/09/26 00:00", compiled.format(LocalDateTime.of(2006, 9, 26, 0, 0).toLocalDate()));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class MemoExpressionObjectTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                           Rendering
+    //                                                                           =========
+    public void test_memo_evaluatedOnlyAtFirst() {
+        // ## Arrange ##
+        String memo = "${#memo.contains('sea') ? #memo.get('sea') : #memo.put('sea', counter.next())}";
+        String template = "<div th:with=\"sea=" + memo + "\"><span th:text=\"${sea}\"></span></div>\n" // first
+                + "<p th:text=\"" + memo + "\"></p>\n" // cached
+                + "<p th:text=\"${#memo.get('sea')}\"></p>";
+        Counter counter = new Counter();
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("counter", counter);
+
+        // ## Act ##
+        String html = new MockTemplateRendering(null).render(template, variableMap);
+
+        // ## Assert ##
+        log(html);
+        assertEquals(1, counter.count);
+        assertContains(html, "<span>1</span>");
+        assertEquals(2, html.split("<p>1</p>", -1).length - 1);
+    }
+
+    public void test_memo_sharedInIteration() {
+        // ## Arrange ##
+        String template = "<ul><li th:each=\"row : ${rowList}\">" //
+                + "<span th:text=\"${#memo.contains('row') ? #memo.get('row') : #memo.put('row', row)}\"></span>" // same key
+                + "<i th:text=\"${#memo.contains('row' + row) ? #memo.get('row' + row) : #memo.put('row' + row, row)}\"></i>" // per row
+                + "</li></ul>\n<p th:text=\"${#memo.contains('none')}\"></p>"; // new context per template execution
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("rowList", Arrays.asList("first", "second"));
+        MockTemplateRendering rendering = new MockTemplateRendering(null);
+
+        // ## Act ##
+        String html = rendering.render(template, variableMap);
+
+        // ## Assert ##
+        log(html);
+        assertContains(html, "<li><span>first</span><i>first</i></li>");
+        assertContains(html, "<li><span>first</span><i>second</i></li>"); // first result for the same key
+        assertContains(html, "<p>false</p>");
+        assertEquals(html, rendering.render(template, variableMap)); // no memo over executions
+    }
+
+    // ===================================================================================
+    //                                                                               Basic
+    //                                                                               =====
+    public void test_put_basic() {
+        // ## Arrange ##
+        MemoExpressionObject memo = new MemoExpressionObject();
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(memo.contains("sea"));
+        assertNull(memo.put("sea", null));
+        assertTrue(memo.contains("sea")); // null result is also cached
+        assertEquals("land", memo.put("sea", "land"));
+        assertEquals("land", memo.get("sea"));
+        for (int i = 0; i < MemoExpressionObject.MEMO_LIMIT * 2; i++) {
+            memo.put("piari" + i, i);
+        }
+        assertFalse(memo.contains("piari" + (MemoExpressionObject.MEMO_LIMIT * 2 - 1))); // over limit
+        assertException(IllegalArgumentException.class, () -> memo.put(null, "land"));
+    }
+
+    public static class Counter {
+
+        protected int count;
+
+        public int next() {
+            return ++count;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.expression.evaluator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.ExpressionContext;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.standard.expression.OGNLVariableExpressionEvaluator;
+import org.thymeleaf.standard.expression.StandardExpressionExecutionContext;
+import org.thymeleaf.standard.expression.VariableExpression;
+
+/**
+ * @author jflute
+ */
+public class LastaVariableExpressionEvaluatorTest extends PlainTestCase {
+
+    public void test_evaluate_sameAsStandard() {
+        // ## Arrange ##
+        LastaVariableExpressionEvaluator evaluator = new LastaVariableExpressionEvaluator();
+        OGNLVariableExpressionEvaluator standard = new OGNLVariableExpressionEvaluator(true);
+        ExpressionContext context = new ExpressionContext(new TemplateEngine().getConfiguration());
+        SeaForm form = new SeaForm();
+        form.memberName = "jflute";
+        form.land = new LandBean();
+        form.land.piari = "bonvo";
+        form.beanList = Arrays.asList("dstore", "amba");
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("sea", "mystic");
+        context.setVariable("form", form);
+        context.setVariable("map", map);
+        String[] expressions = { "form", "form.memberName", "form.land.piari", "form.land.status", "form.land.active", "form.beanList.size",
+                "map.sea", "map.size", "form.memberName.length()", "nothing" };
+
+        StandardExpressionExecutionContext[] expContexts = { StandardExpressionExecutionContext.NORMAL, // normal ${...}
+                StandardExpressionExecutionContext.NORMAL_WITH_TYPE_CONVERSION, // ${{...}}
+                StandardExpressionExecutionContext.RESTRICTED, // restricted
+                StandardExpressionExecutionContext.RESTRICTED_WITH_TYPE_CONVERSION };
+
+        for (StandardExpressionExecutionContext expContext : expContexts) {
+            for (String expression : expressions) {
+                // ## Act ##
+                VariableExpression variable = new VariableExpression(expression);
+                Object actual = evaluator.evaluate(context, variable, expContext);
+
+                // ## Assert ##
+                Object expected = standard.evaluate(context, variable, expContext);
+                log(expression, actual);
+                assertEquals(expression, expected, actual);
+            }
+        }
+        VariableExpression active = new VariableExpression("form.land.active");
+        assertEquals(Boolean.TRUE, evaluator.evaluate(context, active, StandardExpressionExecutionContext.NORMAL));
+        assertEquals("true", evaluator.evaluate(context, active, StandardExpressionExecutionContext.NORMAL_WITH_TYPE_CONVERSION));
+    }
+
+    public void test_evaluate_getterException_sameAsStandard() {
+        // ## Arrange ##
+        LastaVariableExpressionEvaluator evaluator = new LastaVariableExpressionEvaluator();
+        OGNLVariableExpressionEvaluator standard = new OGNLVariableExpressionEvaluator(true);
+        ExpressionContext context = new ExpressionContext(new TemplateEngine().getConfiguration());
+        SeaForm form = new SeaForm();
+        form.land = new LandBean();
+        context.setVariable("form", form);
+        VariableExpression variable = new VariableExpression("form.land.broken");
+        StandardExpressionExecutionContext expContext = StandardExpressionExecutionContext.NORMAL;
+
+        // ## Act ##
+        TemplateProcessingException actual = assertException(TemplateProcessingException.class, () -> {
+            evaluator.evaluate(context, variable, expContext);
+        });
+
+        // ## Assert ##
+        TemplateProcessingException expected = assertException(TemplateProcessingException.class, () -> {
+            standard.evaluate(context, variable, expContext);
+        });
+        log(actual.getMessage());
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertContains(actual.getMessage(), "form.land.broken");
+        assertEquals(IllegalStateException.class, actual.getCause().getClass());
+        assertEquals("broken land", actual.getCause().getMessage());
+    }
+
+    public void test_evaluate_development_noAccessorCache() {
+        // ## Arrange ##
+        LastaVariableExpressionEvaluator evaluator = new LastaVariableExpressionEvaluator().asDevelopment(true);
+        ExpressionContext context = new ExpressionContext(new TemplateEngine().getConfiguration());
+        SeaForm form = new SeaForm();
+        form.land = new LandBean();
+        context.setVariable("form", form);
+
+        // ## Act ##
+        Object status = evaluator.evaluate(context, new VariableExpression("form.land.status"), StandardExpressionExecutionContext.NORMAL);
+
+        // ## Assert ##
+        assertEquals("formalized", status);
+        assertTrue(evaluator.classAccessorMap.isEmpty()); // no classes of old class loader after hot deploy
+    }
+
+    public static class SeaForm {
+
+        public String memberName;
+        public LandBean land;
+        public List<String> beanList;
+    }
+
+    public static class LandBean {
+
+        public String piari;
+
+        public String getStatus() {
+            return "formalized";
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException("broken land");
+        }
+    }
+}
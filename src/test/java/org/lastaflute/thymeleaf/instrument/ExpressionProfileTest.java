@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ExpressionProfileTest extends PlainTestCase {
+
+    public void test_buildReport_sortedByCost() {
+        // ## Arrange ##
+        ExpressionProfile profile = new ExpressionProfile();
+        profile.record("/sea.html", "${member.memberName}", 1000L);
+        profile.record("/sea.html", "${#cls.alias('MemberStatus', status)}", 5000L);
+        profile.record("/sea.html", "${member.memberName}", 1000L);
+        profile.record("common/layout", "${headerTitle}", 9000L);
+        ExpressionProfile cumulative = new ExpressionProfile();
+
+        // ## Act ##
+        cumulative.merge(profile);
+        cumulative.merge(profile);
+        String report = profile.buildReport("/sea.html");
+
+        // ## Assert ##
+        log(report);
+        assertEquals(4L, cumulative.getTemplateMap().get("/sea.html").get("${member.memberName}").getCount());
+        assertTrue(report.indexOf("common/layout") < report.indexOf("/sea.html (3 evaluations"));
+        assertTrue(report.indexOf("#cls.alias") < report.indexOf("member.memberName"));
+        assertContains(report, "2 (2 times) ${member.memberName}");
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.instrument.HistogramRenderingListener.TemplateHistograms;
+
+/**
+ * @author jflute
+ */
+public class HistogramRenderingListenerTest extends PlainTestCase {
+
+    public void test_onRendered_basic() {
+        // ## Arrange ##
+        HistogramRenderingListener listener = new HistogramRenderingListener();
+
+        // ## Act ##
+        for (int i = 1; i <= 100; i++) {
+            long[] phaseNanos = { 1000L * i, 2000L, 3000L, 4_000_000L, 5000L };
+            listener.onRendered(new ThymeleafRenderingTiming("/sea.html", phaseNanos, 1234));
+        }
+        listener.onRendered(new ThymeleafRenderingTiming("/land.html", new long[] { 0L, 0L, 0L, 0L, 0L }, 0));
+
+        // ## Assert ##
+        String report = listener.buildReport();
+        log(report);
+        TemplateHistograms sea = listener.getHistogramsMap().get("/sea.html");
+        assertEquals(100L, sea.getTotalHistogram().getCount());
+        RenderingHistogram context = sea.getPhaseHistogram(ThymeleafRenderingPhase.CREATE_CONTEXT);
+        assertEquals(50500L, context.getMean());
+        assertEquals(100000L, context.getMax());
+        assertTrue(context.getPercentile(50.0) >= 50000L); // upper bound of bucket
+        assertTrue(context.getPercentile(50.0) <= context.getMax());
+        assertEquals(4_000_000L, sea.getPhaseHistogram(ThymeleafRenderingPhase.CREATE_BODY).getMean());
+        assertEquals(1234L, sea.getOutputBytesHistogram().getMean());
+        assertEquals(1L, listener.getHistogramsMap().get("/land.html").getTotalHistogram().getCount());
+        assertContains(report, "/sea.html (100 renderings");
+        assertContains(report, "create_body: 4000/4000/4000/4000");
+    }
+
+    public void test_getPercentile_empty() {
+        // ## Arrange ##
+        RenderingHistogram histogram = new RenderingHistogram();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(0L, histogram.getPercentile(99.0));
+        assertEquals(0L, histogram.getMean());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class SlowRenderingDetectorTest extends PlainTestCase {
+
+    public void test_detect_sampled() {
+        // ## Arrange ##
+        SlowRenderingDetector detector = new SlowRenderingDetector(1000L, 2);
+        assertNull(detector.beginBreakdownIfSampled()); // first is not sampled
+        ThymeleafRenderingBreakdown breakdown = detector.beginBreakdownIfSampled();
+        try {
+            assertSame(breakdown, ThymeleafRenderingBreakdown.current());
+            breakdown.recordExpression("/sea.html", 3000L);
+            breakdown.recordExpression("/sea.html", 1000L);
+            breakdown.recordExpression("common/layout", 5000L);
+            ThymeleafRenderingBreakdown.endClassificationCall(ThymeleafRenderingBreakdown.beginObjectCall());
+            breakdown.recordMessage(2000L);
+            breakdown.recordFragmentInclusion("/sea.html", "~{common/layout :: header}");
+            breakdown.recordFragmentInclusion("/sea.html", "~{common/layout :: header}");
+            long[] phaseNanos = { 1000L, 1000L, 1000L, 2_000_000_000L, 1000L };
+
+            // ## Act ##
+            boolean slow = detector.detect(new ThymeleafRenderingTiming("/sea.html", phaseNanos, 1234), breakdown);
+
+            // ## Assert ##
+            assertTrue(slow);
+            assertEquals(3, breakdown.getExpressionCount());
+            assertEquals(1, breakdown.getClsEntry().getCount());
+            assertEquals(0, breakdown.getHandyEntry().getCount());
+            assertEquals("common/layout", breakdown.getTopTemplateList(1).get(0).getName());
+            assertEquals(2, breakdown.getTopFragmentList(5).get(0).getCount());
+            String report = detector.buildReport(new ThymeleafRenderingTiming("/sea.html", phaseNanos, 1234), breakdown);
+            log(report);
+            assertContains(report, "[Slow Rendering] /sea.html (2000 ms > 1000 ms, 1234 bytes)");
+            assertContains(report, "expressions: 3 evaluated, 9");
+            assertContains(report, "~{common/layout :: header} in /sea.html: 2 inclusions");
+        } finally {
+            ThymeleafRenderingBreakdown.end();
+        }
+        assertNull(ThymeleafRenderingBreakdown.current());
+    }
+
+    public void test_breakdown_expressionObject_timedAtCall() {
+        // ## Arrange ##
+        MockTemplateRendering rendering = new MockTemplateRendering(dialect -> {
+            dialect.evaluateGeneratedExpressionDirectly().breakdownExpressionObject();
+        });
+        String template = "<select la:property=\"status\"><option la:optionCls=\"MemberStatus\"></option></select>" // direct
+                + "<span th:text=\"${#cls.code(status) + ':' + #handy.format(birthdate, 'yyyy/MM/dd')}\"></span>"; // both objects
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("status", rendering.getClassificationProvider().codeOf("FML"));
+        variableMap.put("birthdate", LocalDate.of(2006, 9, 26));
+        ThymeleafRenderingBreakdown breakdown = ThymeleafRenderingBreakdown.begin();
+        try {
+            // ## Act ##
+            String html = rendering.render(template, variableMap);
+
+            // ## Assert ##
+            log(html);
+            assertContains(html, "<span>FML:2006/09/26</span>");
+            assertEquals(2, breakdown.getClsEntry().getCount()); // listAll() by processor, code() by expression
+            assertEquals(1, breakdown.getHandyEntry().getCount());
+            assertFalse(breakdown.objectCalling);
+        } finally {
+            ThymeleafRenderingBreakdown.end();
+        }
+        assertEquals(ThymeleafRenderingBreakdown.NO_MEASUREMENT, ThymeleafRenderingBreakdown.beginObjectCall()); // not sampled
+    }
+
+    public void test_breakdown_expressionObject_nestedCall() {
+        // ## Arrange ##
+        ThymeleafRenderingBreakdown breakdown = ThymeleafRenderingBreakdown.begin();
+        try {
+            // ## Act ##
+            long outerTime = ThymeleafRenderingBreakdown.beginObjectCall();
+            long nestedTime = ThymeleafRenderingBreakdown.beginObjectCall(); // e.g. #handy called in #cls
+            ThymeleafRenderingBreakdown.endHandyDateCall(nestedTime);
+            ThymeleafRenderingBreakdown.endClassificationCall(outerTime);
+
+            // ## Assert ##
+            assertEquals(ThymeleafRenderingBreakdown.NO_MEASUREMENT, nestedTime);
+            assertEquals(1, breakdown.getClsEntry().getCount());
+            assertEquals(0, breakdown.getHandyEntry().getCount()); // included in outer call
+        } finally {
+            ThymeleafRenderingBreakdown.end();
+        }
+    }
+
+    public void test_detect_notSlow() {
+        // ## Arrange ##
+        SlowRenderingDetector detector = new SlowRenderingDetector(1000L, 1);
+        long[] phaseNanos = { 1000L, 1000L, 1000L, 1000L, 1000L };
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(detector.detect(new ThymeleafRenderingTiming("/sea.html", phaseNanos, 0), null));
+        String report = detector.buildReport(new ThymeleafRenderingTiming("/sea.html", phaseNanos, 0), null);
+        assertContains(report, "no breakdown");
+    }
+}
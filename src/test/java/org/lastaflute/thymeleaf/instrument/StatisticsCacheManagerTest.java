@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Locale;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.ExpressionCacheKey;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+/**
+ * @author jflute
+ */
+public class StatisticsCacheManagerTest extends PlainTestCase {
+
+    public void test_expressionCache_hitAndMiss() {
+        // ## Arrange ##
+        StatisticsCacheManager cacheManager = new StatisticsCacheManager(new StandardCacheManager());
+        StatisticsCache<ExpressionCacheKey, Object> cache = cacheManager.getStatisticsExpressionCache();
+        ExpressionCacheKey key = new ExpressionCacheKey("expr", "${sea}");
+
+        // ## Act ##
+        assertNull(cache.get(key));
+        cache.put(key, "mystic");
+        assertEquals("mystic", cache.get(key));
+        assertEquals("mystic", cache.get(key));
+
+        // ## Assert ##
+        assertSame(cache, cacheManager.getExpressionCache());
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(2.0 / 3.0, cache.getHitRatio(), 0.0001);
+        assertEquals(1, cache.size());
+        cache.resetStatistics();
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(0.0, cache.getHitRatio());
+        assertEquals(1, cache.size()); // entries remain
+    }
+
+    public void test_templateCache_byEngine() {
+        // ## Arrange ##
+        StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setCacheable(true); // not cached as default
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        StatisticsCacheManager cacheManager = new StatisticsCacheManager(engine.getCacheManager()); // before initialization
+        engine.setCacheManager(cacheManager);
+        String template = "<p th:text=\"${sea}\">dummy</p>";
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("sea", "mystic");
+
+        // ## Act ##
+        String first = engine.process(template, context);
+        String second = engine.process(template, context);
+
+        // ## Assert ##
+        assertEquals("<p>mystic</p>", first);
+        assertEquals(first, second);
+        StatisticsCache<?, ?> templateCache = cacheManager.getStatisticsTemplateCache();
+        assertEquals(1L, templateCache.getHitCount());
+        assertEquals(1L, templateCache.getMissCount());
+        assertEquals(1, templateCache.size());
+        engine.clearTemplateCache();
+        assertEquals(0, templateCache.size()); // cleared through wrapper
+    }
+}
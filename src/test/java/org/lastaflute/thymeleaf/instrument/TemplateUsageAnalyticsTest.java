@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class TemplateUsageAnalyticsTest extends PlainTestCase {
+
+    public void test_usage_rankedAndUnused() {
+        // ## Arrange ##
+        TemplateUsageAnalytics analytics = new TemplateUsageAnalytics();
+        long[] phaseNanos = { 1000L, 1000L, 1000L, 1000L, 1000L };
+
+        // ## Act ##
+        for (int i = 0; i < 3; i++) {
+            analytics.onRendered(new ThymeleafRenderingTiming("/member/member_list.html", phaseNanos, 100));
+        }
+        analytics.onRendered(new ThymeleafRenderingTiming("/member/member_edit.html", phaseNanos, 100));
+        analytics.onIncluded("/member/member_list.html", "~{common/layout :: header}");
+        analytics.onIncluded("/member/member_list.html", "this :: row"); // same template
+        analytics.onIncluded("/member/member_list.html", "${dynamicFragment} :: row"); // unknown
+
+        // ## Assert ##
+        List<String> rankedList = analytics.selectRankedTemplateList(10);
+        assertEquals(Arrays.asList("/member/member_list.html", "/member/member_edit.html"), rankedList);
+        assertEquals(1, analytics.getFragmentUsageMap().size());
+        assertEquals(1L, analytics.getFragmentUsageMap().get("common/layout").getCount());
+        List<String> known = Arrays.asList("/member/member_list.html", "/member/member_edit.html", "/common/layout.html",
+                "/product/product_list.html");
+        assertEquals(Arrays.asList("/product/product_list.html"), analytics.extractUnusedTemplateList(known));
+        String report = analytics.buildReport(known, 1L);
+        log(report);
+        assertContains(report, "unused templates (1 of 4)");
+        assertContains(report, "/member/member_edit.html: count=1");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @author jflute
+ */
+public class ThymeleafFlightRecorderTest extends PlainTestCase {
+
+    private static final String RENDERING_EVENT_NAME = "org.lastaflute.thymeleaf.TemplateRendering";
+
+    public void test_rendering_enabled() throws Exception {
+        // ## Arrange ##
+        assertTrue(ThymeleafFlightRecorder.isAvailable()); // build JDK has flight recorder
+        Path dumpFile = Files.createTempFile("lasta-thymeleaf-", ".jfr");
+        ThymeleafRecording recording;
+        try (Recording jfr = new Recording()) {
+            jfr.enable(RENDERING_EVENT_NAME).withoutThreshold();
+            jfr.start();
+
+            // ## Act ##
+            recording = ThymeleafFlightRecorder.beginRendering("/sea/land.html");
+            ThymeleafFlightRecorder.endRendering(recording, Locale.JAPAN, 123L);
+
+            jfr.stop();
+            jfr.dump(dumpFile);
+        }
+
+        // ## Assert ##
+        assertTrue(recording.isRecording());
+        List<RecordedEvent> eventList = RecordingFile.readAllEvents(dumpFile).stream().filter(event -> {
+            return event.getEventType().getName().equals(RENDERING_EVENT_NAME);
+        }).collect(Collectors.toList());
+        Files.delete(dumpFile);
+        assertEquals(1, eventList.size());
+        RecordedEvent event = eventList.get(0);
+        assertEquals("/sea/land.html", event.getString("templateName"));
+        assertEquals("ja_JP", event.getString("locale"));
+        assertEquals(123L, event.getLong("bytesWritten"));
+    }
+
+    public void test_rendering_disabled() {
+        // ## Arrange ##
+        // no recording that enables the event
+
+        // ## Act ##
+        ThymeleafRecording recording = ThymeleafFlightRecorder.beginRendering("/sea/land.html");
+
+        // ## Assert ##
+        assertFalse(recording.isRecording());
+        assertSame(ThymeleafRecording.NONE, recording); // no event object
+        ThymeleafFlightRecorder.endRendering(recording, Locale.JAPAN, 123L); // no-op
+    }
+
+    public void test_prepareEventRecorder_disabledByProperty() {
+        // ## Arrange ##
+        assertNotNull(ThymeleafFlightRecorder.prepareEventRecorder());
+        System.setProperty(ThymeleafFlightRecorder.DISABLED_PROPERTY, "true");
+        try {
+            // ## Act ##
+            ThymeleafFlightEventRecorder recorder = ThymeleafFlightRecorder.prepareEventRecorder();
+
+            // ## Assert ##
+            assertNull(recorder); // JFR classes are not loaded
+        } finally {
+            System.clearProperty(ThymeleafFlightRecorder.DISABLED_PROPERTY);
+        }
+    }
+}
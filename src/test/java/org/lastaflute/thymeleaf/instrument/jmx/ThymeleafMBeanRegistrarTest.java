@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.instrument.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.instrument.StatisticsCacheManager;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+/**
+ * @author jflute
+ */
+public class ThymeleafMBeanRegistrarTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                         Object Name
+    //                                                                         ===========
+    public void test_buildEngineObjectName_perContext() {
+        // ## Arrange ##
+        ThymeleafMBeanRegistrar registrar = new ThymeleafMBeanRegistrar();
+
+        // ## Act ##
+        String root = registrar.buildEngineObjectName("");
+        String harbor = registrar.buildEngineObjectName("/harbor");
+
+        // ## Assert ##
+        assertEquals("org.lastaflute.thymeleaf:type=TemplateEngine,context=\"/\"", root);
+        assertEquals("org.lastaflute.thymeleaf:type=TemplateEngine,context=\"/harbor\"", harbor);
+    }
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    public void test_register_engineStatistics() throws Exception {
+        // ## Arrange ##
+        StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setCacheable(true);
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        StatisticsCacheManager cacheManager = new StatisticsCacheManager(engine.getCacheManager());
+        engine.setCacheManager(cacheManager);
+        LastaThymeleafDialect dialect = new LastaThymeleafDialect();
+        engine.addDialect(dialect);
+        ThymeleafEngineStatistics statistics = new ThymeleafEngineStatistics(engine, cacheManager, dialect);
+        ThymeleafMBeanRegistrar registrar = new ThymeleafMBeanRegistrar();
+        String objectName = registrar.buildEngineObjectName("/registrartest");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(objectName);
+        String template = "<p th:text=\"${sea}\">dummy</p>";
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("sea", "mystic");
+        engine.process(template, context);
+        engine.process(template, context);
+
+        // ## Act ##
+        try {
+            assertTrue(registrar.register(statistics, objectName));
+            assertTrue(registrar.register(statistics, objectName)); // replaced e.g. redeploy
+
+            // ## Assert ##
+            assertEquals(1, server.getAttribute(name, "TemplateCacheSize"));
+            assertEquals(1L, server.getAttribute(name, "TemplateCacheHitCount"));
+            assertEquals(1L, server.getAttribute(name, "TemplateCacheMissCount"));
+            assertEquals(0.5, (Double) server.getAttribute(name, "TemplateCacheHitRatio"), 0.0001);
+            String[] templateNames = (String[]) server.getAttribute(name, "CachedTemplateNames");
+            assertEquals(1, templateNames.length);
+            assertEquals(template, templateNames[0]);
+            server.invoke(name, "clearAllCaches", new Object[0], new String[0]);
+            assertEquals(0, server.getAttribute(name, "TemplateCacheSize"));
+            server.invoke(name, "resetStatistics", new Object[0], new String[0]);
+            assertEquals(0L, server.getAttribute(name, "TemplateCacheHitCount"));
+        } finally {
+            registrar.unregister(objectName);
+        }
+        assertFalse(server.isRegistered(name));
+        registrar.unregister(objectName); // no exception if not registered
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.linter;
+
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LastaTemplateLinterTest extends PlainTestCase {
+
+    public void test_lint_problem() {
+        // ## Arrange ##
+        LastaTemplateLinter linter = new LastaTemplateLinter().determineClassification(name -> name.equals("MemberStatus"));
+        String template = "<input type=\"text\" th:property=\"memberName\"/>\n" // mistake
+                + "<form la:token=\"true\">\n<input type=\"text\" la:token=\"true\"/>\n</form>\n" // misplaced token
+                + "<select la:property=\"status\"><option la:optionCls=\"MemberStatas\"></option></select>\n" // unknown
+                + "<span la:errors=\"\"></span>"; // empty
+
+        // ## Act ##
+        List<String> problemList = linter.lint("sea.html", template);
+
+        // ## Assert ##
+        problemList.forEach(problem -> log(problem));
+        assertEquals(5, problemList.size());
+        assertContains(problemList.get(0), "use la:property");
+        assertContains(problemList.get(1), "except input tag");
+        assertContains(problemList.get(2), "except hidden type");
+        assertContains(problemList.get(3), "MemberStatas");
+        assertContains(problemList.get(4), "la:errors");
+    }
+
+    public void test_lint_noProblem() {
+        // ## Arrange ##
+        LastaTemplateLinter linter = new LastaTemplateLinter().determineClassification(name -> name.equals("MemberStatus"));
+        String template = "<input type=\"hidden\" la:token=\"true\"/>\n" // hidden token
+                + "<select la:property=\"status\"><option la:optionCls=\"MemberStatus\"></option></select>\n" // known
+                + "<select la:property=\"status\"><option la:optionCls=\"${clsName}\"></option></select>\n" // runtime
+                + "<meta property=\"og:title\" content=\"sea\"/>"; // not prefixed
+
+        // ## Act ##
+        List<String> problemList = linter.lint("sea.html", template);
+
+        // ## Assert ##
+        assertHasZeroElement(problemList);
+    }
+
+    public void test_lint_expandedTemplate() {
+        // ## Arrange ##
+        LastaTemplateLinter linter = new LastaTemplateLinter().prohibitLastaAttribute();
+        String template = "<input type=\"text\" th:name=\"memberName\" th:value=\"${memberName}\"/>\n" // expanded
+                + "<input type=\"hidden\" la:token=\"true\"/>\n" // needs runtime
+                + "<!--/* <span la:errors=\"sea\"></span> */-->"; // removed at runtime
+
+        // ## Act ##
+        List<String> problemList = linter.lint("sea.html", template);
+
+        // ## Assert ##
+        problemList.forEach(problem -> log(problem));
+        assertEquals(1, problemList.size());
+        assertContains(problemList.get(0), "la:token");
+        assertContains(problemList.get(0), "remains in expanded template");
+    }
+}
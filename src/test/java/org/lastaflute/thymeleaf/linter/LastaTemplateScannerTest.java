@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.linter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LastaTemplateScannerTest extends PlainTestCase {
+
+    public void test_scan_sameText() {
+        // ## Arrange ##
+        LastaTemplateScanner scanner = new LastaTemplateScanner();
+        String template = "<!DOCTYPE html>\n<html>\n<body class=sea>\n" // unquoted
+                + "  <input type=\"text\"\n    la:property='memberName'  />\n" // line break in tag
+                + "  <option selected>land</option><br>\n" // no value, void element
+                + "  <script>if (a <b) { x = '<span la:property=\"piari\">'; }</script>\n" // not markup
+                + "</body>\n</html>";
+
+        // ## Act ##
+        List<String> tagList = new ArrayList<String>();
+        String scanned = scanner.scan(template, (tag, parentTag) -> {
+            tagList.add(tag.toOriginalText());
+            return tag.toOriginalText();
+        });
+
+        // ## Assert ##
+        log(tagList);
+        assertEquals(template, scanned);
+        assertEquals(6, tagList.size());
+        assertEquals("<body class=sea>", tagList.get(1));
+        assertEquals("<input type=\"text\"\n    la:property='memberName'  />", tagList.get(2));
+        assertEquals("<option selected>", tagList.get(3));
+    }
+
+    public void test_scan_comment() {
+        // ## Arrange ##
+        LastaTemplateScanner scanner = new LastaTemplateScanner();
+        String template = "<div>\n<!-- <span la:property=\"sea\"></span> -->\n" // comment
+                + "<!--/* <span la:property=\"land\"></span> */-->\n" // parser-level comment (removed at runtime)
+                + "<!--/*-->\n<span la:property=\"bonvo\"></span>\n<!--*/-->\n" // parser-level comment block
+                + "<!--/*/ <span la:property=\"piari\"></span> /*/-->\n</div>"; // prototype-only comment (markup at runtime)
+
+        // ## Act ##
+        List<String> tagList = new ArrayList<String>();
+        String scanned = scanner.scan(template, (tag, parentTag) -> {
+            tagList.add(tag.findOriginalAttributeValue("la:property") + " in " + (parentTag != null ? parentTag.getLowerName() : null));
+            return tag.toOriginalText().replace("span", "p");
+        });
+
+        // ## Assert ##
+        log(scanned);
+        assertEquals(2, tagList.size());
+        assertEquals("null in null", tagList.get(0)); // div
+        assertEquals("piari in div", tagList.get(1));
+        assertContains(scanned, "<!-- <span la:property=\"sea\"></span> -->");
+        assertContains(scanned, "<!--/*/ <p la:property=\"piari\"></span> /*/-->");
+    }
+
+    public void test_scan_expandedText() {
+        // ## Arrange ##
+        LastaTemplateScanner scanner = new LastaTemplateScanner();
+        String template = "<select la:property=\"status\">\n  <option class=\"sea\" la:optionCls=\"MemberStatus\"></option>\n</select>";
+
+        // ## Act ##
+        String scanned = scanner.scan(template, (tag, parentTag) -> {
+            if (parentTag != null && "select".equals(parentTag.getLowerName())) {
+                tag.removeAttribute(tag.findLastaAttribute("la", "optionCls"));
+                tag.setAttribute("class", "land");
+                tag.setAttribute("th:text", "${\"sea\"}");
+            }
+            return tag.toExpandedText();
+        });
+
+        // ## Assert ##
+        assertContains(scanned, "<option class=\"land\" th:text='${\"sea\"}'></option>");
+    }
+
+    public void test_scan_duplicateAttribute() {
+        // ## Arrange ##
+        LastaTemplateScanner scanner = new LastaTemplateScanner();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> { // same as runtime parser
+            scanner.scan("<span la:property=\"sea\" la:property=\"land\"></span>", (tag, parentTag) -> tag.toOriginalText());
+        });
+    }
+}
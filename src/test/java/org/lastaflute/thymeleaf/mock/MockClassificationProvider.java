@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.mock;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.jdbc.Classification;
+import org.dbflute.jdbc.ClassificationMeta;
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
+import org.lastaflute.db.dbflute.exception.ProvidedClassificationNotFoundException;
+
+/**
+ * The mock of listed classification provider with generated-like classifications.
+ * <pre>
+ * MemberStatus: FML (Formalized, sister: formal), PRV (Provisional), WDL (Withdrawal)
+ *   sub-item 'aliasJa' for Japanese locale, except WDL (default alias)
+ * </pre>
+ * @author jflute
+ */
+public class MockClassificationProvider {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String MEMBER_STATUS = "MemberStatus";
+    public static final String JAPANESE_ALIAS_KEY = "aliasJa";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, ClassificationMeta> metaMap = new LinkedHashMap<String, ClassificationMeta>();
+    protected final List<Classification> memberStatusList = new ArrayList<Classification>();
+    protected final AtomicInteger provideCount = new AtomicInteger();
+    protected final AtomicInteger determineAliasCount = new AtomicInteger();
+    protected final ListedClassificationProvider provider;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public MockClassificationProvider() {
+        final ClassificationMeta meta = createMeta(MEMBER_STATUS, memberStatusList);
+        memberStatusList.add(createClassification(meta, "FML", "Formalized", "SeishikiKaiin", "formal"));
+        memberStatusList.add(createClassification(meta, "PRV", "Provisional", "KariKaiin"));
+        memberStatusList.add(createClassification(meta, "WDL", "Withdrawal", null));
+        metaMap.put(MEMBER_STATUS, meta);
+        provider = createProvider();
+    }
+
+    protected ClassificationMeta createMeta(String classificationName, List<Classification> clsList) {
+        return (ClassificationMeta) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ClassificationMeta.class },
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                    case "classificationName":
+                        return classificationName;
+                    case "listAll":
+                        return new ArrayList<Classification>(clsList); // mutable like generated one
+                    case "codeOf":
+                        final String code = String.valueOf(args[0]);
+                        return clsList.stream().filter(cls -> cls.code().equalsIgnoreCase(code)).findFirst().orElse(null);
+                    case "nameOf":
+                        return clsList.stream().filter(cls -> cls.name().equals(args[0])).findFirst().orElse(null);
+                    case "groupOf":
+                        return Collections.emptyList();
+                    default:
+                        return handleObjectMethod(self, method.getName(), args, classificationName);
+                    }
+                });
+    }
+
+    protected Classification createClassification(ClassificationMeta meta, String code, String alias, String japaneseAlias,
+            String... sisters) {
+        final Map<String, Object> subItemMap = new HashMap<String, Object>();
+        if (japaneseAlias != null) {
+            subItemMap.put(JAPANESE_ALIAS_KEY, japaneseAlias);
+        }
+        final Set<String> sisterSet = new LinkedHashSet<String>();
+        Collections.addAll(sisterSet, sisters);
+        return (Classification) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Classification.class },
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                    case "code":
+                        return code;
+                    case "name":
+                        return alias;
+                    case "alias":
+                        return alias;
+                    case "sisterSet":
+                        return Collections.unmodifiableSet(sisterSet);
+                    case "subItemMap":
+                        return Collections.unmodifiableMap(subItemMap);
+                    case "inGroup":
+                        return false;
+                    case "meta":
+                        return meta;
+                    default:
+                        return handleObjectMethod(self, method.getName(), args, code);
+                    }
+                });
+    }
+
+    protected ListedClassificationProvider createProvider() {
+        return (ListedClassificationProvider) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ListedClassificationProvider.class }, (self, method, args) -> {
+                    switch (method.getName()) {
+                    case "provide":
+                        provideCount.incrementAndGet();
+                        final ClassificationMeta meta = metaMap.get(args[0]);
+                        if (meta == null) {
+                            throw new ProvidedClassificationNotFoundException("Not found the classification: " + args[0]);
+                        }
+                        return meta;
+                    case "determineAlias":
+                        determineAliasCount.incrementAndGet();
+                        final Locale locale = (Locale) args[0];
+                        if (locale != null && Locale.JAPANESE.getLanguage().equals(locale.getLanguage())) {
+                            return OptionalThing.of(JAPANESE_ALIAS_KEY);
+                        }
+                        return OptionalThing.empty();
+                    default:
+                        return handleObjectMethod(self, method.getName(), args, "provider");
+                    }
+                });
+    }
+
+    protected Object handleObjectMethod(Object self, String methodName, Object[] args, String display) {
+        if ("equals".equals(methodName)) {
+            return self == args[0];
+        } else if ("hashCode".equals(methodName)) {
+            return System.identityHashCode(self);
+        } else if ("toString".equals(methodName)) {
+            return display;
+        }
+        throw new UnsupportedOperationException("Not mocked method: " + methodName);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ListedClassificationProvider getProvider() {
+        return provider;
+    }
+
+    public Classification codeOf(String code) {
+        return metaMap.get(MEMBER_STATUS).codeOf(code);
+    }
+
+    public List<Classification> getMemberStatusList() {
+        return Collections.unmodifiableList(memberStatusList);
+    }
+
+    public int getProvideCount() {
+        return provideCount.get();
+    }
+
+    public int getDetermineAliasCount() {
+        return determineAliasCount.get();
+    }
+}
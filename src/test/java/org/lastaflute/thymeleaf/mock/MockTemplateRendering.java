@@ -0,0 +1,121 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.mock;
+
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.lastaflute.core.message.MessageManager;
+import org.lastaflute.core.message.UserMessages;
+import org.lastaflute.db.dbflute.classification.ListedClassificationProvider;
+import org.lastaflute.thymeleaf.dialect.LastaThymeleafDialect;
+import org.lastaflute.thymeleaf.expression.ClassificationMetaIndex;
+import org.lastaflute.thymeleaf.message.ErrorMessages;
+import org.lastaflute.web.servlet.request.RequestManager;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+/**
+ * The rendering of template text by Lasta dialect without container, e.g. for comparing processor modes. <br>
+ * Classifications are from {@link MockClassificationProvider}, and messages are resolved from the specified map.
+ * @author jflute
+ */
+public class MockTemplateRendering {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final MockClassificationProvider classificationProvider = new MockClassificationProvider();
+    protected final ClassificationMetaIndex classificationMetaIndex = new ClassificationMetaIndex() {
+        @Override
+        public ListedClassificationProvider getProvider() {
+            return classificationProvider.getProvider();
+        }
+    };
+    protected final TemplateEngine engine;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param dialectSetupper The set-upper of Lasta dialect e.g. dialect.buildErrorsModelDirectly(). (NullAllowed: default dialect)
+     */
+    public MockTemplateRendering(Consumer<LastaThymeleafDialect> dialectSetupper) {
+        final LastaThymeleafDialect dialect = new LastaThymeleafDialect() {
+            @Override
+            protected ClassificationMetaIndex newClassificationMetaIndex() { // used by classification objects in rendering
+                return MockTemplateRendering.this.classificationMetaIndex;
+            }
+        };
+        if (dialectSetupper != null) {
+            dialectSetupper.accept(dialect);
+        }
+        engine = new TemplateEngine();
+        engine.setTemplateResolver(new StringTemplateResolver()); // template text as template name
+        engine.addDialect(dialect);
+    }
+
+    // ===================================================================================
+    //                                                                              Render
+    //                                                                              ======
+    /**
+     * @param templateText The text of HTML template. (NotNull)
+     * @param variableMap The map of variables e.g. form properties. (NotNull)
+     * @return The rendered HTML. (NotNull)
+     */
+    public String render(String templateText, Map<String, Object> variableMap) {
+        return engine.process(templateText, new Context(Locale.ENGLISH, variableMap));
+    }
+
+    // ===================================================================================
+    //                                                                     Error Messages
+    //                                                                     ==============
+    /**
+     * @param messages The user messages with message keys e.g. errors.required. (NotNull)
+     * @param messageMap The map of message text keyed by message key. (NotNull)
+     * @return The error messages for 'errors' variable, which resolves messages by the map. (NotNull)
+     */
+    public ErrorMessages createErrorMessages(UserMessages messages, Map<String, String> messageMap) {
+        final ClassLoader loader = getClass().getClassLoader();
+        final MessageManager messageManager = (MessageManager) Proxy.newProxyInstance(loader, new Class<?>[] { MessageManager.class },
+                (self, method, args) -> {
+                    if ("getMessage".equals(method.getName())) {
+                        return messageMap.get((String) args[1]); // (locale, key) or (locale, key, values)
+                    }
+                    throw new UnsupportedOperationException("Not mocked method: " + method.getName());
+                });
+        final RequestManager requestManager = (RequestManager) Proxy.newProxyInstance(loader, new Class<?>[] { RequestManager.class },
+                (self, method, args) -> {
+                    if ("getUserLocale".equals(method.getName())) {
+                        return Locale.ENGLISH;
+                    } else if ("getMessageManager".equals(method.getName())) {
+                        return messageManager;
+                    }
+                    throw new UnsupportedOperationException("Not mocked method: " + method.getName());
+                });
+        return new ErrorMessages(messages, requestManager);
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public MockClassificationProvider getClassificationProvider() {
+        return classificationProvider;
+    }
+}
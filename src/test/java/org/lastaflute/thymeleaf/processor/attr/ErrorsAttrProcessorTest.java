@@ -0,0 +1,121 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.message.UserMessage;
+import org.lastaflute.core.message.UserMessages;
+import org.lastaflute.thymeleaf.ThymeleafHtmlRenderer;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class ErrorsAttrProcessorTest extends PlainTestCase {
+
+    private static final String TEMPLATE = "<div>\n" // for direct building
+            + "  <span la:errors=\"sea\"/>\n" // standalone
+            + "  <p class=\"note\" la:errors=\"sea\">dummy</p>\n" // merged class, repeated white space
+            + "  <li class=\"errors\" th:title=\"${title}\" la:errors=\"land\"></li>\n" // other attribute
+            + "  <span la:errors=\"piari\"/>\n" // no message
+            + "  <ul th:with=\"sub=${title}\">\n    <li th:if=\"${sub != null}\" la:errors=\"all\">x</li>\n  </ul>\n" // with th:*
+            + "</div>";
+
+    public void test_directBuilding_sameAsRewriting() {
+        // ## Arrange ##
+        MockTemplateRendering rewriting = new MockTemplateRendering(null);
+        MockTemplateRendering direct = new MockTemplateRendering(dialect -> dialect.buildErrorsModelDirectly());
+        Map<String, Object> rewritingMap = prepareVariableMap(rewriting);
+        Map<String, Object> directMap = prepareVariableMap(direct);
+
+        // ## Act ##
+        String rewritingHtml = rewriting.render(TEMPLATE, rewritingMap);
+        String directHtml = direct.render(TEMPLATE, directMap);
+
+        // ## Assert ##
+        log(rewritingHtml);
+        assertEquals(rewritingHtml, directHtml);
+        assertContains(directHtml, "<span class=\"errors\">is &lt;required&gt; &amp; &quot;must&quot; &#39;be&#39;</span>");
+        assertContains(directHtml, "<p class=\"note errors\">is funny</p>");
+        assertContains(directHtml, "title=\"sea &amp; land\"");
+        assertNotContains(directHtml, "la:errors");
+        assertNotContains(directHtml, "dummy");
+    }
+
+    public void test_directBuilding_noErrors() {
+        // ## Arrange ##
+        MockTemplateRendering rewriting = new MockTemplateRendering(null);
+        MockTemplateRendering direct = new MockTemplateRendering(dialect -> dialect.buildErrorsModelDirectly());
+        Map<String, Object> rewritingMap = new HashMap<String, Object>();
+        rewritingMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, rewriting.createErrorMessages(new UserMessages(), new HashMap<>()));
+        Map<String, Object> directMap = new HashMap<String, Object>();
+        directMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, direct.createErrorMessages(new UserMessages(), new HashMap<>()));
+
+        // ## Act ##
+        String rewritingHtml = rewriting.render(TEMPLATE, rewritingMap);
+        String directHtml = direct.render(TEMPLATE, directMap);
+
+        // ## Assert ##
+        assertEquals(rewritingHtml, directHtml);
+        assertNotContains(directHtml, "<span");
+    }
+
+    public void test_directBuilding_messageNotProcessed() {
+        // ## Arrange ##
+        String template = "<div>\n  <span la:errors=\"sea\">[[${title}]]</span>\n</div>";
+        MockTemplateRendering rewriting = new MockTemplateRendering(null);
+        MockTemplateRendering direct = new MockTemplateRendering(dialect -> dialect.buildErrorsModelDirectly());
+        Map<String, String> messageMap = new HashMap<String, String>();
+        messageMap.put("errors.inlined", "is [[${title}]]"); // e.g. user input in message
+        UserMessages messages = new UserMessages();
+        messages.add("sea", new UserMessage("errors.inlined"));
+
+        // ## Act ##
+        String rewritingHtml = rewriting.render(template, prepareMessageVariableMap(rewriting, messages, messageMap));
+        String directHtml = direct.render(template, prepareMessageVariableMap(direct, messages, messageMap));
+
+        // ## Assert ##
+        log(directHtml);
+        assertEquals(rewritingHtml, directHtml);
+        assertContains(directHtml, "<span class=\"errors\">is [[${title}]]</span>"); // not inlined same as th:text
+    }
+
+    private Map<String, Object> prepareMessageVariableMap(MockTemplateRendering rendering, UserMessages messages,
+            Map<String, String> messageMap) {
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, rendering.createErrorMessages(messages, messageMap));
+        variableMap.put("title", "sea & land");
+        return variableMap;
+    }
+
+    private Map<String, Object> prepareVariableMap(MockTemplateRendering rendering) {
+        UserMessages messages = new UserMessages();
+        messages.add("sea", new UserMessage("errors.required"));
+        messages.add("sea", new UserMessage("errors.funny"));
+        messages.add("land", new UserMessage("errors.quoted"));
+        Map<String, String> messageMap = new HashMap<String, String>();
+        messageMap.put("errors.required", "is <required> & \"must\" 'be'");
+        messageMap.put("errors.funny", "is funny");
+        messageMap.put("errors.quoted", "\"land\" <b>bold</b>");
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, rendering.createErrorMessages(messages, messageMap));
+        variableMap.put("title", "sea & land");
+        return variableMap;
+    }
+}
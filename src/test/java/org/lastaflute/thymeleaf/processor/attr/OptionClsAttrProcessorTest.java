@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.mock.MockClassificationProvider;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class OptionClsAttrProcessorTest extends PlainTestCase {
+
+    private static final String TEMPLATE = "<form>\n" // for direct evaluation
+            + "  <select la:property=\"status\">\n" // single
+            + "    <option value=\"\">-</option>\n    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n"
+            + "  <select multiple=\"multiple\" la:property=\"statusList\">\n" // multiple by list
+            + "    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n"
+            + "  <select multiple=\"multiple\" la:property=\"noneList\">\n" // multiple by null
+            + "    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n"
+            + "</form>";
+
+    public void test_directEvaluation_sameAsRewriting() {
+        // ## Arrange ##
+        MockTemplateRendering rewriting = new MockTemplateRendering(null);
+        MockTemplateRendering direct = new MockTemplateRendering(dialect -> dialect.evaluateGeneratedExpressionDirectly());
+
+        // ## Act ##
+        String rewritingHtml = rewriting.render(TEMPLATE, prepareVariableMap(rewriting.getClassificationProvider()));
+        String directHtml = direct.render(TEMPLATE, prepareVariableMap(direct.getClassificationProvider()));
+
+        // ## Assert ##
+        log(rewritingHtml);
+        assertEquals(rewritingHtml, directHtml);
+        assertContains(directHtml, "<select name=\"status\">");
+        assertContains(directHtml, "<option value=\"FML\" selected=\"selected\">Formalized</option>");
+        assertContains(directHtml, "<option value=\"PRV\">Provisional</option>");
+        assertNotContains(directHtml, "la:optionCls");
+
+        String listPart = directHtml.substring(directHtml.indexOf("statusList"), directHtml.indexOf("noneList"));
+        assertContains(listPart, "<option value=\"PRV\" selected=\"selected\">Provisional</option>");
+        assertContains(listPart, "<option value=\"WDL\" selected=\"selected\">Withdrawal</option>");
+        assertContains(listPart, "<option value=\"FML\">Formalized</option>");
+        assertNotContains(directHtml.substring(directHtml.indexOf("noneList")), "selected");
+    }
+
+    private Map<String, Object> prepareVariableMap(MockClassificationProvider provider) {
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("status", provider.codeOf("FML"));
+        variableMap.put("statusList", Arrays.asList(provider.codeOf("PRV"), provider.codeOf("WDL")));
+        variableMap.put("noneList", null);
+        return variableMap;
+    }
+}
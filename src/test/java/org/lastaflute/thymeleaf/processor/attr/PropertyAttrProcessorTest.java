@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class PropertyAttrProcessorTest extends PlainTestCase {
+
+    private static final String TEMPLATE = "<form>\n" // for direct evaluation
+            + "  <input type=\"text\" la:property=\"sea\"/>\n" // text
+            + "  <input type=\"text\" value=\"dummy\" la:property=\"land\"/>\n" // existing value, null property
+            + "  <input type=\"text\" th:value=\"${piari}\" la:property=\"sea\"/>\n" // explicit th:value
+            + "  <input type=\"checkbox\" value=\"on\" la:property=\"bonvo\"/>\n" // checkbox
+            + "  <input type=\"radio\" value=\"dstore\" la:property=\"bonvo\"/>\n" // radio
+            + "  <textarea la:property=\"sea\">dummy</textarea>\n" // textarea
+            + "  <span la:property=\"sea\">dummy</span>\n" // text body
+            + "  <ul><li th:each=\"row : ${rowList}\" th:object=\"${row}\" la:property=\"row\"></li></ul>\n" // with th:*
+            + "</form>";
+
+    public void test_directEvaluation_sameAsRewriting() {
+        // ## Arrange ##
+        MockTemplateRendering rewriting = new MockTemplateRendering(null);
+        MockTemplateRendering direct = new MockTemplateRendering(dialect -> dialect.evaluateGeneratedExpressionDirectly());
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("sea", "<mystic> & \"hangar\" 'hall'");
+        variableMap.put("land", null);
+        variableMap.put("piari", "plaza");
+        variableMap.put("bonvo", "on");
+        variableMap.put("rowList", Arrays.asList("first", "second"));
+
+        // ## Act ##
+        String rewritingHtml = rewriting.render(TEMPLATE, variableMap);
+        String directHtml = direct.render(TEMPLATE, variableMap);
+
+        // ## Assert ##
+        log(rewritingHtml);
+        assertEquals(rewritingHtml, directHtml);
+        assertContains(directHtml, "name=\"sea\" value=\"&lt;mystic&gt; &amp; &quot;hangar&quot; &#39;hall&#39;\"");
+        assertContains(directHtml, "value=\"plaza\"");
+        assertContains(directHtml, "<textarea name=\"sea\">&lt;mystic&gt; &amp; &quot;hangar&quot; &#39;hall&#39;</textarea>");
+        assertContains(directHtml, "<li>first</li>");
+        assertContains(directHtml, "<li>second</li>");
+        assertNotContains(directHtml, "la:property");
+        assertNotContains(directHtml, "dummy");
+    }
+}
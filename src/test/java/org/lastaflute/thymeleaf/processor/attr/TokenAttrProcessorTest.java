@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.thymeleaf.processor.attr.option.ExpressionAttributeTagInitOption;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.WebContext;
+
+/**
+ * @author jflute
+ */
+public class TokenAttrProcessorTest extends PlainTestCase {
+
+    public void test_findRequestCachedToken_perRequestAndActionType() {
+        // ## Arrange ##
+        TokenAttrProcessor processor = new TokenAttrProcessor("la", new ExpressionAttributeTagInitOption());
+        AtomicInteger resolvedCount = new AtomicInteger();
+        Map<String, Object> firstAttributeMap = new HashMap<String, Object>();
+        WebContext firstRequest = createWebContext(firstAttributeMap);
+        WebContext secondRequest = createWebContext(new HashMap<String, Object>());
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("sea1", processor.findRequestCachedToken(firstRequest, String.class, () -> "sea" + resolvedCount.incrementAndGet()));
+        assertEquals("sea1", processor.findRequestCachedToken(firstRequest, String.class, () -> "sea" + resolvedCount.incrementAndGet()));
+        assertEquals(1, resolvedCount.get()); // second form in the page uses the cache
+        assertEquals("sea1", firstAttributeMap.get(TokenAttrProcessor.TOKEN_CACHE_KEY_PREFIX + String.class.getName()));
+
+        assertEquals("sea2", processor.findRequestCachedToken(firstRequest, Integer.class, () -> "sea" + resolvedCount.incrementAndGet()));
+        assertEquals("sea3", processor.findRequestCachedToken(secondRequest, String.class, () -> "sea" + resolvedCount.incrementAndGet()));
+        assertEquals(3, resolvedCount.get()); // per action type, per request
+
+        Context plain = new Context(Locale.ENGLISH); // no request, so no cache
+        assertEquals("sea4", processor.findRequestCachedToken(plain, String.class, () -> "sea" + resolvedCount.incrementAndGet()));
+        assertEquals("sea5", processor.findRequestCachedToken(plain, String.class, () -> "sea" + resolvedCount.incrementAndGet()));
+    }
+
+    private WebContext createWebContext(Map<String, Object> attributeMap) {
+        ClassLoader loader = getClass().getClassLoader();
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(loader, new Class<?>[] { HttpServletRequest.class },
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                    case "getAttribute":
+                        return attributeMap.get(args[0]);
+                    case "setAttribute":
+                        attributeMap.put((String) args[0], args[1]);
+                        return null;
+                    default:
+                        return null; // not used
+                    }
+                });
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(loader, new Class<?>[] { HttpServletResponse.class },
+                (self, method, args) -> null);
+        ServletContext servletContext = (ServletContext) Proxy.newProxyInstance(loader, new Class<?>[] { ServletContext.class },
+                (self, method, args) -> null);
+        return new WebContext(request, response, servletContext, Locale.ENGLISH);
+    }
+}
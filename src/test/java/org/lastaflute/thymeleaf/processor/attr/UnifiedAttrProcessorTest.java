@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.processor.attr;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.message.UserMessage;
+import org.lastaflute.core.message.UserMessages;
+import org.lastaflute.thymeleaf.ThymeleafHtmlRenderer;
+import org.lastaflute.thymeleaf.mock.MockTemplateRendering;
+
+/**
+ * @author jflute
+ */
+public class UnifiedAttrProcessorTest extends PlainTestCase {
+
+    private static final String TEMPLATE = "<form>\n" // for unified processors
+            + "  <input type=\"text\" la:property=\"sea\"/>\n" // property
+            + "  <span class=\"note\" la:errors=\"sea\"/>\n" // errors
+            + "  <select la:property=\"status\">\n    <option la:optionCls=\"MemberStatus\"></option>\n  </select>\n" // optionCls
+            + "  <ul><li th:each=\"row : ${rowList}\" th:if=\"${row != null}\" la:property=\"row\"></li></ul>\n" // with th:*
+            + "</form>";
+
+    public void test_unified_sameAsAttributeProcessors() {
+        assertSameRendering(new MockTemplateRendering(null), new MockTemplateRendering(dialect -> dialect.unifyLastaProcessors()));
+    }
+
+    public void test_unified_sameAsAttributeProcessors_direct() {
+        MockTemplateRendering direct = new MockTemplateRendering(dialect -> dialect.evaluateGeneratedExpressionDirectly());
+        MockTemplateRendering unified = new MockTemplateRendering(dialect -> {
+            dialect.evaluateGeneratedExpressionDirectly().unifyLastaProcessors();
+        });
+        assertSameRendering(direct, unified);
+    }
+
+    private void assertSameRendering(MockTemplateRendering separate, MockTemplateRendering unified) {
+        // ## Arrange ##
+        Map<String, Object> separateMap = prepareVariableMap(separate);
+        Map<String, Object> unifiedMap = prepareVariableMap(unified);
+
+        // ## Act ##
+        String separateHtml = separate.render(TEMPLATE, separateMap);
+        String unifiedHtml = unified.render(TEMPLATE, unifiedMap);
+
+        // ## Assert ##
+        log(unifiedHtml);
+        assertEquals(separateHtml, unifiedHtml);
+        assertContains(unifiedHtml, "<input type=\"text\" name=\"sea\" value=\"mystic\"/>");
+        assertContains(unifiedHtml, "<span class=\"note errors\">is required</span>");
+        assertContains(unifiedHtml, "<option value=\"FML\" selected=\"selected\">Formalized</option>");
+        assertContains(unifiedHtml, "<li>first</li>");
+        assertNotContains(unifiedHtml, "la:");
+    }
+
+    private Map<String, Object> prepareVariableMap(MockTemplateRendering rendering) {
+        UserMessages messages = new UserMessages();
+        messages.add("sea", new UserMessage("errors.required"));
+        Map<String, String> messageMap = new HashMap<String, String>();
+        messageMap.put("errors.required", "is required");
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put(ThymeleafHtmlRenderer.VARIABLE_ERRORS, rendering.createErrorMessages(messages, messageMap));
+        variableMap.put("sea", "mystic");
+        variableMap.put("status", rendering.getClassificationProvider().codeOf("FML"));
+        variableMap.put("rowList", Arrays.asList("first", "second"));
+        return variableMap;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.thymeleaf.warmup;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class HotTemplateStoreTest extends PlainTestCase {
+
+    public void test_writeRead_basic() throws Exception {
+        // ## Arrange ##
+        Path storeFile = File.createTempFile("hot-templates", ".tsv").toPath();
+        try {
+            HotTemplateStore store = new HotTemplateStore(storeFile);
+            List<HotTemplate> hotList = Arrays.asList(new HotTemplate("/member/member_list.html", Locale.JAPAN, 1234L),
+                    new HotTemplate("/product/product_list.html", Locale.ENGLISH, 567L));
+
+            // ## Act ##
+            store.write(hotList);
+            Files.write(storeFile, Arrays.asList("broken line", "x\ten\t/sea.html"), StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+            List<HotTemplate> readList = store.read();
+
+            // ## Assert ##
+            log(readList);
+            assertEquals(2, readList.size());
+            assertEquals("/member/member_list.html", readList.get(0).getTemplateName());
+            assertEquals(Locale.JAPAN, readList.get(0).getLocale());
+            assertEquals(1234L, readList.get(0).getCount());
+            assertEquals(Locale.ENGLISH, readList.get(1).getLocale());
+        } finally {
+            Files.deleteIfExists(storeFile);
+        }
+    }
+
+    public void test_read_noFile() {
+        // ## Arrange ##
+        HotTemplateStore store = new HotTemplateStore(new File("/tmp/no-such-dir/hot-templates.tsv").toPath());
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(store.read().isEmpty());
+    }
+}